@@ -0,0 +1,51 @@
+package com.fasterxml.uuid.perf;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all (or matching) benchmarks with 1, N/2 and N threads (where N is the
+ * number of available processors), with {@link GCProfiler} enabled so that
+ * allocation rate ({@code gc.alloc.rate.norm}, bytes per operation) is reported
+ * alongside throughput. Results are also written as JSON files
+ * ({@code jmh-result-<threads>t.json}) into the current directory.
+ *<p>
+ * Usage:
+ *<pre>
+ *  java -cp benchmarks/target/benchmarks.jar com.fasterxml.uuid.perf.BenchmarkRunner [regexp]
+ *</pre>
+ * where optional {@code regexp} limits benchmarks to run (like "GeneratorBenchmark.time");
+ * for full control use {@code java -jar benchmarks.jar -h} instead.
+ */
+public class BenchmarkRunner
+{
+    public static void main(String[] args) throws RunnerException
+    {
+        final String include = (args.length > 0) ? args[0] : "com\\.fasterxml\\.uuid\\.perf\\..*";
+        final int cpus = Runtime.getRuntime().availableProcessors();
+
+        // Use LinkedHashSet to drop duplicates (on 1- and 2-CPU systems)
+        Set<Integer> threadCounts = new LinkedHashSet<>();
+        threadCounts.add(1);
+        threadCounts.add(Math.max(1, cpus / 2));
+        threadCounts.add(cpus);
+
+        for (int threads : threadCounts) {
+            System.out.printf("=== Running with %d thread(s) (of %d CPUs) ===%n", threads, cpus);
+            ChainedOptionsBuilder opts = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("jmh-result-"+threads+"t.json");
+            new Runner(opts.build()).run();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.fasterxml.uuid.perf;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.collections.UUIDHashSet;
+
+/**
+ * Lookup throughput (and, with GC profiler, allocation) of
+ * {@link UUIDHashSet} compared to {@code HashSet<UUID>}, for time-based
+ * (version 7) UUIDs; half of the lookups are for UUIDs not in the set.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CollectionsBenchmark
+{
+    @Param({ "1000000" })
+    public int size;
+
+    private long[] probes;
+    private int mask;
+    private int index;
+
+    private UUIDHashSet uuidSet;
+    private HashSet<UUID> jdkSet;
+
+    @Setup
+    public void setup()
+    {
+        final long[] contained = new long[2 * size];
+        Generators.timeBasedEpochGenerator().generate(contained, 0, size);
+        uuidSet = new UUIDHashSet(size);
+        jdkSet = new HashSet<>(size * 2);
+        for (int i = 0; i < contained.length; i += 2) {
+            uuidSet.add(contained[i], contained[i+1]);
+            jdkSet.add(new UUID(contained[i], contained[i+1]));
+        }
+        // Probe with power-of-two sized mix of contained and new UUIDs
+        final int probeCount = Integer.highestOneBit(size);
+        probes = new long[2 * probeCount];
+        Generators.timeBasedEpochGenerator().generate(probes, 0, probeCount);
+        for (int i = 0; i < probes.length; i += 4) {
+            probes[i] = contained[i];
+            probes[i+1] = contained[i+1];
+        }
+        // and shuffle, so that lookups do not follow insertion (and allocation) order
+        final Random rnd = new Random(1);
+        for (int i = probeCount - 1; i > 0; --i) {
+            final int j = rnd.nextInt(i + 1);
+            long tmp = probes[2*i]; probes[2*i] = probes[2*j]; probes[2*j] = tmp;
+            tmp = probes[2*i+1]; probes[2*i+1] = probes[2*j+1]; probes[2*j+1] = tmp;
+        }
+        mask = probeCount - 1;
+    }
+
+    @Benchmark
+    public boolean containsUUIDHashSet() {
+        final int ix = (index = (index + 1) & mask) << 1;
+        return uuidSet.contains(probes[ix], probes[ix+1]);
+    }
+
+    @Benchmark
+    public boolean containsJdkHashSet() {
+        final int ix = (index = (index + 1) & mask) << 1;
+        return jdkSet.contains(new UUID(probes[ix], probes[ix+1]));
+    }
+}
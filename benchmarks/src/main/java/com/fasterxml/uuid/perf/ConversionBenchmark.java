@@ -0,0 +1,183 @@
+package com.fasterxml.uuid.perf;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.UUIDComparator;
+import com.fasterxml.uuid.impl.UUIDCodec;
+import com.fasterxml.uuid.impl.UUIDUtil;
+
+/**
+ * Throughput of conversions between {@link UUID} and its textual and binary
+ * representations, as well as comparison, for JUG and JDK implementations.
+ * Operates on a fixed set of UUIDs, cycled through, to avoid measuring
+ * just a single (constant-folded) value.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversionBenchmark
+{
+    private final static int COUNT = 1024;
+    private final static int MASK = COUNT - 1;
+
+    private UUID[] uuids;
+    private UUID[] sortedUuids;
+    private String[] strings;
+    private byte[][] bytes;
+    private byte[][] asciiBytes;
+
+    private final byte[] buffer = new byte[16];
+    private final long[] longs = new long[2];
+    private final char[] charBuffer = new char[36];
+    private final byte[] asciiBuffer = new byte[36];
+
+    private final UUIDCodec base32 = UUIDCodec.base32Crockford();
+    private final UUIDCodec base62 = UUIDCodec.base62();
+    private String[] base62Strings;
+
+    private int index;
+
+    @Setup
+    public void setup()
+    {
+        uuids = Generators.randomBasedGenerator().generate(COUNT);
+        // compare each random UUID against a different one, from sorted copy
+        sortedUuids = uuids.clone();
+        Arrays.sort(sortedUuids, new UUIDComparator());
+        strings = new String[COUNT];
+        bytes = new byte[COUNT][];
+        asciiBytes = new byte[COUNT][];
+        base62Strings = new String[COUNT];
+        for (int i = 0; i < COUNT; ++i) {
+            strings[i] = uuids[i].toString();
+            bytes[i] = UUIDUtil.asByteArray(uuids[i]);
+            asciiBytes[i] = strings[i].getBytes(StandardCharsets.US_ASCII);
+            base62Strings[i] = base62.encode(uuids[i]);
+        }
+    }
+
+    private int next() {
+        return (index = (index + 1) & MASK);
+    }
+
+    /*
+    /**********************************************************************
+    /* Parsing
+    /**********************************************************************
+     */
+
+    @Benchmark
+    public UUID parseStringJdk() {
+        return UUID.fromString(strings[next()]);
+    }
+
+    @Benchmark
+    public UUID parseStringJug() {
+        return UUIDUtil.uuid(strings[next()]);
+    }
+
+    @Benchmark
+    public UUID parseAsciiJug() {
+        return UUIDUtil.uuidFromAscii(asciiBytes[next()], 0);
+    }
+
+    @Benchmark
+    public long[] parseAsciiToLongsJug() {
+        UUIDUtil.parseAsciiUUID(asciiBytes[next()], 0, longs, 0);
+        return longs;
+    }
+
+    @Benchmark
+    public UUID fromBytes() {
+        return UUIDUtil.uuid(bytes[next()]);
+    }
+
+    /*
+    /**********************************************************************
+    /* Serialization
+    /**********************************************************************
+     */
+
+    @Benchmark
+    public String toStringJdk() {
+        return uuids[next()].toString();
+    }
+
+    @Benchmark
+    public String toStringJug() {
+        return UUIDUtil.toString(uuids[next()], UUIDUtil.TextFormat.LOWER_CASE);
+    }
+
+    @Benchmark
+    public char[] toCharsJug() {
+        UUIDUtil.toChars(uuids[next()], charBuffer, 0);
+        return charBuffer;
+    }
+
+    @Benchmark
+    public byte[] toAsciiJug() {
+        UUIDUtil.toAscii(uuids[next()], asciiBuffer, 0);
+        return asciiBuffer;
+    }
+
+    @Benchmark
+    public byte[] toStringUtf8Jdk() {
+        return uuids[next()].toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] toBase32Crockford() {
+        base32.encode(uuids[next()], asciiBuffer, 0);
+        return asciiBuffer;
+    }
+
+    @Benchmark
+    public byte[] toBase62() {
+        base62.encode(uuids[next()], asciiBuffer, 0);
+        return asciiBuffer;
+    }
+
+    @Benchmark
+    public long[] parseBase62() {
+        base62.decode(base62Strings[next()], longs, 0);
+        return longs;
+    }
+
+    @Benchmark
+    public byte[] asByteArray() {
+        return UUIDUtil.asByteArray(uuids[next()]);
+    }
+
+    @Benchmark
+    public byte[] toByteArray() {
+        UUIDUtil.toByteArray(uuids[next()], buffer);
+        return buffer;
+    }
+
+    /*
+    /**********************************************************************
+    /* Comparison
+    /**********************************************************************
+     */
+
+    @Benchmark
+    public int compareJdk() {
+        final int ix = next();
+        return uuids[ix].compareTo(sortedUuids[ix]);
+    }
+
+    @Benchmark
+    public int compareJug() {
+        final int ix = next();
+        return UUIDComparator.staticCompare(uuids[ix], sortedUuids[ix]);
+    }
+}
@@ -0,0 +1,105 @@
+package com.fasterxml.uuid.perf;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.NoArgGenerator;
+import com.fasterxml.uuid.UUIDClock;
+import com.fasterxml.uuid.impl.FastRandomSources;
+
+/**
+ * Throughput of version 4 and 7 generation using non-cryptographic random
+ * number sources (see {@link FastRandomSources}), compared to a shared
+ * {@link java.util.Random} (the usual non-secure alternative).
+ * Best run with multiple threads ({@code -t}), since the main difference
+ * is that fast sources share no state between threads.
+ *<p>
+ * Statistical quality of the sources (none of which are suitable when
+ * values need to be unpredictable):
+ *<ul>
+ * <li>{@code random}: {@link java.util.Random} is a 48-bit linear congruential
+ *   generator; known to fail several tests of the TestU01 "BigCrush" battery, and
+ *   every call does a CAS on shared seed.
+ *  </li>
+ * <li>{@code threadLocal}: {@link java.util.concurrent.ThreadLocalRandom} uses
+ *   SplitMix64-style mixing of a 64-bit per-thread state; passes BigCrush.
+ *  </li>
+ * <li>{@code splittable}: {@link java.util.SplittableRandom} (SplitMix64), one
+ *   instance per thread; passes BigCrush and DieHarder; period 2^64.
+ *  </li>
+ * <li>{@code lxm}: JDK 17+ {@code L64X128MixRandom} (LXM family), one instance
+ *   per thread; passes BigCrush and PractRand (to at least 32 TB); period
+ *   2^64 * (2^128 - 1), with 2^63 independent streams. Falls back to
+ *   {@code splittable} on older JDKs.
+ *  </li>
+ *</ul>
+ * Note that sources with 64 bits of state ({@code threadLocal}, {@code splittable})
+ * can only produce 2^64 distinct sequences, so collision resistance between
+ * independently seeded threads is lower than the 122 random bits of v4 would suggest.
+ *<p>
+ * Sample results (JDK 17, 2 threads on a single core; ops/us):
+ *<pre>
+ *   source       v4     v7
+ *   random       16.5    8.0
+ *   threadLocal 100.2   18.6
+ *   splittable   74.7   15.4
+ *   lxm          56.8   16.1
+ *</pre>
+ * (v7 throughput is dominated by reading system clock)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FastRandomBenchmark
+{
+    @Param({ "random", "threadLocal", "splittable", "lxm" })
+    public String source;
+
+    private NoArgGenerator v4Gen;
+
+    private NoArgGenerator v7Gen;
+
+    @Setup
+    public void setup()
+    {
+        switch (source) {
+        case "random":
+            final Random rnd = new Random();
+            v4Gen = Generators.randomBasedGenerator(rnd);
+            v7Gen = Generators.timeBasedEpochRandomGenerator(rnd);
+            return;
+        case "threadLocal":
+            v4Gen = Generators.fastRandomBasedGenerator(FastRandomSources.threadLocalRandom());
+            v7Gen = Generators.fastTimeBasedEpochRandomGenerator(FastRandomSources.threadLocalRandom(),
+                    UUIDClock.systemTimeClock());
+            return;
+        case "splittable":
+            v4Gen = Generators.fastRandomBasedGenerator(FastRandomSources.splittableRandom());
+            v7Gen = Generators.fastTimeBasedEpochRandomGenerator(FastRandomSources.splittableRandom(),
+                    UUIDClock.systemTimeClock());
+            return;
+        case "lxm":
+            v4Gen = Generators.fastRandomBasedGenerator();
+            v7Gen = Generators.fastTimeBasedEpochRandomGenerator();
+            return;
+        }
+        throw new IllegalArgumentException("Unknown source: "+source);
+    }
+
+    @Benchmark
+    public UUID v4() {
+        return v4Gen.generate();
+    }
+
+    @Benchmark
+    public UUID v7() {
+        return v7Gen.generate();
+    }
+}
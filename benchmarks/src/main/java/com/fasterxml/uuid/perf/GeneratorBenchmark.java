@@ -0,0 +1,224 @@
+package com.fasterxml.uuid.perf;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.uuid.*;
+import com.fasterxml.uuid.impl.*;
+
+/**
+ * Throughput of all no-argument UUID generators; both single-UUID and bulk
+ * methods. Generators are shared by all benchmark threads, so multi-threaded
+ * runs measure contention as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratorBenchmark
+{
+    private final static int BULK_COUNT = 256;
+
+    private RandomBasedGenerator secureRandomGen;
+    private RandomBasedGenerator utilRandomGen;
+    private PooledRandomBasedGenerator pooledRandomGen;
+
+    private TimeBasedGenerator timeGen;
+    private TimeBasedGenerator lockFreeTimeGen;
+    private TimeBasedGenerator nanoClockTimeGen;
+    private TimeBasedReorderedGenerator reorderedGen;
+    private PartitionedTimeBasedGenerator partitionedTimeGen;
+
+    private TimeBasedEpochGenerator epochGen;
+    private TimeBasedEpochGenerator epochCachedClockGen;
+    private CachedUUIDClock cachedClock;
+    private TimeBasedEpochRandomGenerator epochRandomGen;
+    private PooledTimeBasedEpochRandomGenerator epochPooledRandomGen;
+    private TimeBasedEpochStripedGenerator epochStripedGen;
+    private TimeBasedEpochFractionGenerator epochFractionGen;
+    private TimeBasedEpochCounterGenerator epochCounterGen;
+
+    @Setup
+    public void setup() throws IOException
+    {
+        // Bogus address is fine: performance is the same as with a real one
+        final EthernetAddress addr = EthernetAddress.constructMulticastAddress();
+
+        secureRandomGen = Generators.randomBasedGenerator();
+        utilRandomGen = Generators.randomBasedGenerator(new Random(123));
+        pooledRandomGen = Generators.pooledRandomBasedGenerator();
+
+        timeGen = Generators.timeBasedGenerator(addr);
+        lockFreeTimeGen = Generators.timeBasedGenerator(addr,
+                new LockFreeUUIDTimer(new Random(123), null));
+        nanoClockTimeGen = Generators.timeBasedGenerator(addr, UUIDClock.nanoTimeClock());
+        reorderedGen = Generators.timeBasedReorderedGenerator(addr);
+        partitionedTimeGen = Generators.partitionedTimeBasedGenerator(addr,
+                4 * Runtime.getRuntime().availableProcessors());
+
+        epochGen = Generators.timeBasedEpochGenerator();
+        cachedClock = new CachedUUIDClock();
+        epochCachedClockGen = Generators.timeBasedEpochGenerator(null, cachedClock);
+        epochRandomGen = Generators.timeBasedEpochRandomGenerator();
+        epochPooledRandomGen = Generators.pooledTimeBasedEpochRandomGenerator();
+        epochFractionGen = Generators.timeBasedEpochFractionGenerator();
+        epochCounterGen = Generators.timeBasedEpochCounterGenerator(26);
+        epochStripedGen = Generators.timeBasedEpochStripedGenerator(
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        cachedClock.close();
+    }
+
+    /**
+     * Per-thread buffers for bulk generation.
+     */
+    @State(Scope.Thread)
+    public static class Buffers
+    {
+        public final UUID[] uuids = new UUID[BULK_COUNT];
+        public final long[] longs = new long[2 * BULK_COUNT];
+    }
+
+    /*
+    /**********************************************************************
+    /* Version 4 (random)
+    /**********************************************************************
+     */
+
+    @Benchmark
+    public UUID jdkRandom() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    public UUID randomSecure() {
+        return secureRandomGen.generate();
+    }
+
+    @Benchmark
+    public UUID randomUtil() {
+        return utilRandomGen.generate();
+    }
+
+    @Benchmark
+    public UUID randomPooled() {
+        return pooledRandomGen.generate();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_COUNT)
+    public UUID[] randomSecureBulk(Buffers b) {
+        secureRandomGen.generate(b.uuids, 0, BULK_COUNT);
+        return b.uuids;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_COUNT)
+    public long[] randomPooledBulkLongs(Buffers b) {
+        pooledRandomGen.generate(b.longs, 0, BULK_COUNT);
+        return b.longs;
+    }
+
+    /*
+    /**********************************************************************
+    /* Versions 1, 6 (time+location based)
+    /**********************************************************************
+     */
+
+    @Benchmark
+    public UUID timeBased() {
+        return timeGen.generate();
+    }
+
+    @Benchmark
+    public UUID timeBasedLockFree() {
+        return lockFreeTimeGen.generate();
+    }
+
+    @Benchmark
+    public UUID timeBasedNanoClock() {
+        return nanoClockTimeGen.generate();
+    }
+
+    @Benchmark
+    public UUID timeBasedPartitioned() {
+        return partitionedTimeGen.generate();
+    }
+
+    @Benchmark
+    public UUID timeBasedReordered() {
+        return reorderedGen.generate();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_COUNT)
+    public UUID[] timeBasedBulk(Buffers b) {
+        timeGen.generate(b.uuids, 0, BULK_COUNT);
+        return b.uuids;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_COUNT)
+    public long[] timeBasedBulkLongs(Buffers b) {
+        timeGen.generate(b.longs, 0, BULK_COUNT);
+        return b.longs;
+    }
+
+    /*
+    /**********************************************************************
+    /* Version 7 (Unix epoch time+random)
+    /**********************************************************************
+     */
+
+    @Benchmark
+    public UUID epochBased() {
+        return epochGen.generate();
+    }
+
+    @Benchmark
+    public UUID epochBasedCachedClock() {
+        return epochCachedClockGen.generate();
+    }
+
+    @Benchmark
+    public UUID epochBasedRandom() {
+        return epochRandomGen.generate();
+    }
+
+    @Benchmark
+    public UUID epochBasedPooledRandom() {
+        return epochPooledRandomGen.generate();
+    }
+
+    @Benchmark
+    public UUID epochBasedFraction() {
+        return epochFractionGen.generate();
+    }
+
+    @Benchmark
+    public UUID epochBasedCounter() {
+        return epochCounterGen.generate();
+    }
+
+    @Benchmark
+    public UUID epochBasedStriped() {
+        return epochStripedGen.generate();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_COUNT)
+    public void epochBasedBulk(Buffers b, Blackhole bh) {
+        epochGen.generate(b.uuids, 0, BULK_COUNT);
+        bh.consume(b.uuids);
+    }
+}
@@ -0,0 +1,96 @@
+package com.fasterxml.uuid.perf;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.UUIDType;
+import com.fasterxml.uuid.impl.CachingNameBasedGenerator;
+import com.fasterxml.uuid.impl.NameBasedGenerator;
+
+/**
+ * Throughput of name-based (versions 3 and 5) generation, from both
+ * {@link String}s and raw byte arrays; compared to JDK's
+ * {@link UUID#nameUUIDFromBytes} (which does not use namespace).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NameBasedBenchmark
+{
+    @Param({ "http://www.cowtowncoder.com/blog/blog.html" })
+    public String name;
+
+    private byte[] nameBytes;
+
+    private NameBasedGenerator sha1Gen;
+    private NameBasedGenerator sha1NoNamespaceGen;
+    private NameBasedGenerator md5Gen;
+    private NameBasedGenerator sha1PooledGen;
+    private CachingNameBasedGenerator sha1CachingGen;
+
+    @Setup
+    public void setup() throws NoSuchAlgorithmException
+    {
+        nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        sha1Gen = Generators.nameBasedGenerator(NameBasedGenerator.NAMESPACE_URL);
+        sha1NoNamespaceGen = Generators.nameBasedGenerator(null);
+        md5Gen = new NameBasedGenerator(NameBasedGenerator.NAMESPACE_URL,
+                MessageDigest.getInstance("MD5"), UUIDType.NAME_BASED_MD5);
+        sha1PooledGen = Generators.pooledNameBasedGenerator(NameBasedGenerator.NAMESPACE_URL);
+        sha1CachingGen = Generators.cachingNameBasedGenerator(NameBasedGenerator.NAMESPACE_URL, 1000);
+    }
+
+    @Benchmark
+    public UUID jdkMd5Bytes() {
+        return UUID.nameUUIDFromBytes(nameBytes);
+    }
+
+    @Benchmark
+    public UUID md5String() {
+        return md5Gen.generate(name);
+    }
+
+    @Benchmark
+    public UUID md5Bytes() {
+        return md5Gen.generate(nameBytes);
+    }
+
+    @Benchmark
+    public UUID sha1String() {
+        return sha1Gen.generate(name);
+    }
+
+    @Benchmark
+    public UUID sha1Bytes() {
+        return sha1Gen.generate(nameBytes);
+    }
+
+    @Benchmark
+    public UUID sha1PooledString() {
+        return sha1PooledGen.generate(name);
+    }
+
+    @Benchmark
+    public UUID sha1CachedString() {
+        return sha1CachingGen.generate(name);
+    }
+
+    @Benchmark
+    public UUID sha1PooledBytes() {
+        return sha1PooledGen.generate(nameBytes);
+    }
+
+    @Benchmark
+    public UUID sha1NoNamespaceBytes() {
+        return sha1NoNamespaceGen.generate(nameBytes);
+    }
+}
@@ -0,0 +1,73 @@
+package com.fasterxml.uuid.perf;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.impl.NameBasedGenerator;
+
+/**
+ * Time to derive version 5 UUIDs for a batch of names: by calling
+ * {@link NameBasedGenerator#generate(String)} in a loop, compared to bulk
+ * methods that split work into fork-join tasks.
+ *<p>
+ * Since hashing is CPU-bound and bulk tasks share nothing but the output
+ * array, bulk methods are expected to scale nearly linearly with the number
+ * of cores available to the common fork-join pool: roughly 0.8 - 0.9 times N
+ * speedup for N cores, for batches of thousands of names or more (tasks process
+ * at least 512 names each, so smaller batches gain less).
+ * On a single core, bulk methods should be about as fast as the loop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NameBasedBulkBenchmark
+{
+    @Param({ "10000" })
+    public int count;
+
+    private String[] names;
+
+    private UUID[] uuids;
+
+    private long[] pairs;
+
+    private NameBasedGenerator gen;
+
+    @Setup
+    public void setup()
+    {
+        names = new String[count];
+        for (int i = 0; i < count; ++i) {
+            names[i] = "https://example.com/tenants/"+i+"/sku-"+(i * 7919);
+        }
+        uuids = new UUID[count];
+        pairs = new long[2 * count];
+        gen = Generators.pooledNameBasedGenerator(NameBasedGenerator.NAMESPACE_URL);
+    }
+
+    @Benchmark
+    public UUID[] loop() {
+        for (int i = 0; i < count; ++i) {
+            uuids[i] = gen.generate(names[i]);
+        }
+        return uuids;
+    }
+
+    @Benchmark
+    public UUID[] bulkUUIDs() {
+        gen.generate(names, uuids, 0);
+        return uuids;
+    }
+
+    @Benchmark
+    public long[] bulkPairs() {
+        gen.generate(names, pairs, 0);
+        return pairs;
+    }
+}
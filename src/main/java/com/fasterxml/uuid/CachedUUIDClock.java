@@ -0,0 +1,156 @@
+/* JUG Java Uuid Generator
+ *
+ * Copyright (c) 2002- Tatu Saloranta, tatu.saloranta@iki.fi
+ *
+ * Licensed under the License specified in the file LICENSE which is
+ * included with the source code.
+ * You may not use this file except in compliance with the License.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fasterxml.uuid;
+
+import java.io.Closeable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link UUIDClock} that does not read system clock on every call, but
+ * returns value updated by a background (daemon) thread every half a millisecond.
+ * This is useful at very high generation rates on systems where reading the
+ * clock is slow (like some virtualized hosts).
+ *<p>
+ * As a safeguard against ticker thread not getting to run (for example,
+ * when the system is overloaded), on average every {@code checkInterval}th call
+ * (chosen randomly, to avoid sharing a call counter between threads) reads
+ * the system clock: if it is ahead of cached value by more than a few
+ * milliseconds, the stall is counted.
+ *<p>
+ * Cached value is only ever moved forward, so values returned never go
+ * backwards (if system clock is set back, cached value stays the same until
+ * system clock catches up).
+ *<p>
+ * Ticker thread is started on construction and stopped by {@link #close()};
+ * after closing, system clock is read directly.
+ *
+ * @since 5.3
+ */
+public class CachedUUIDClock extends UUIDClock
+    implements Closeable
+{
+    public final static int DEFAULT_CHECK_INTERVAL = 1024;
+
+    private final static long TICK_NANOS = 500_000L;
+
+    /**
+     * Maximum lag (in milliseconds) of cached value compared to the system
+     * clock before ticker is considered stalled
+     */
+    private final static long MAX_LAG = 5L;
+
+    protected final int _checkInterval;
+
+    private final Thread _ticker;
+
+    private final AtomicLong _millis;
+
+    private final AtomicLong _stalls = new AtomicLong();
+
+    private volatile boolean _closed;
+
+    public CachedUUIDClock() {
+        this(DEFAULT_CHECK_INTERVAL);
+    }
+
+    /**
+     * @param checkInterval Average number of calls after which to compare cached time
+     *    to the system clock
+     */
+    public CachedUUIDClock(int checkInterval)
+    {
+        if (checkInterval < 1) {
+            throw new IllegalArgumentException("Invalid check interval ("+checkInterval+"): must be positive");
+        }
+        _checkInterval = checkInterval;
+        _millis = new AtomicLong(System.currentTimeMillis());
+        _ticker = new Thread(this::_tick, "UUID-clock-ticker");
+        _ticker.setDaemon(true);
+        _ticker.start();
+    }
+
+    @Override
+    public long currentTimeMillis()
+    {
+        if (_closed) {
+            return _advance(System.currentTimeMillis());
+        }
+        if (ThreadLocalRandom.current().nextInt(_checkInterval) == 0) {
+            return _check();
+        }
+        return _millis.get();
+    }
+
+    /**
+     * @return Number of times cached time was found to lag behind the system
+     *    clock
+     */
+    public long getStallCount() {
+        return _stalls.get();
+    }
+
+    public boolean isClosed() {
+        return _closed;
+    }
+
+    /**
+     * Method for stopping the ticker thread; does not wait for it to finish.
+     */
+    @Override
+    public void close()
+    {
+        _closed = true;
+        LockSupport.unpark(_ticker);
+    }
+
+    private long _check()
+    {
+        final long now = System.currentTimeMillis();
+        if (now - _millis.get() > MAX_LAG) {
+            _stalls.incrementAndGet();
+        }
+        return _advance(now);
+    }
+
+    /**
+     * Method for moving cached time forward to given time, unless it is
+     * already past it.
+     *
+     * @return Cached time after update
+     */
+    private long _advance(long now)
+    {
+        while (true) {
+            final long cached = _millis.get();
+            if (now <= cached) {
+                return cached;
+            }
+            if (_millis.compareAndSet(cached, now)) {
+                return now;
+            }
+        }
+    }
+
+    private void _tick()
+    {
+        while (!_closed) {
+            _advance(System.currentTimeMillis());
+            LockSupport.parkNanos(this, TICK_NANOS);
+        }
+    }
+}
@@ -19,11 +19,24 @@ import java.io.*;
 import java.security.NoSuchAlgorithmException;
 import java.security.MessageDigest;
 import java.util.*;
+import java.util.function.LongSupplier;
 
+import com.fasterxml.uuid.impl.CachingNameBasedGenerator;
+import com.fasterxml.uuid.impl.DigesterPool;
+import com.fasterxml.uuid.impl.EntropyPool;
+import com.fasterxml.uuid.impl.FastRandomBasedGenerator;
+import com.fasterxml.uuid.impl.FastRandomSources;
+import com.fasterxml.uuid.impl.FastTimeBasedEpochRandomGenerator;
 import com.fasterxml.uuid.impl.NameBasedGenerator;
+import com.fasterxml.uuid.impl.PartitionedTimeBasedGenerator;
+import com.fasterxml.uuid.impl.PooledRandomBasedGenerator;
+import com.fasterxml.uuid.impl.PooledTimeBasedEpochRandomGenerator;
 import com.fasterxml.uuid.impl.RandomBasedGenerator;
+import com.fasterxml.uuid.impl.TimeBasedEpochCounterGenerator;
+import com.fasterxml.uuid.impl.TimeBasedEpochFractionGenerator;
 import com.fasterxml.uuid.impl.TimeBasedEpochGenerator;
 import com.fasterxml.uuid.impl.TimeBasedEpochRandomGenerator;
+import com.fasterxml.uuid.impl.TimeBasedEpochStripedGenerator;
 import com.fasterxml.uuid.impl.TimeBasedReorderedGenerator;
 import com.fasterxml.uuid.impl.TimeBasedGenerator;
 
@@ -68,6 +81,53 @@ public class Generators
         return new RandomBasedGenerator(rnd);
     }
 
+    /**
+     * Factory method for constructing UUID generator that generates UUIDs according
+     * to standard version 4, using random bytes fetched in blocks from
+     * per-stripe {@link java.security.SecureRandom} instances
+     * (see {@link EntropyPool#secureRandomPool()}).
+     *
+     * @since 5.3
+     */
+    public static PooledRandomBasedGenerator pooledRandomBasedGenerator() {
+        return pooledRandomBasedGenerator(EntropyPool.secureRandomPool());
+    }
+
+    /**
+     * Factory method for constructing UUID generator that generates UUIDs according
+     * to standard version 4, using random bytes from specified {@link EntropyPool}.
+     *
+     * @since 5.3
+     */
+    public static PooledRandomBasedGenerator pooledRandomBasedGenerator(EntropyPool pool) {
+        return new PooledRandomBasedGenerator(pool);
+    }
+
+    /**
+     * Factory method for constructing UUID generator that generates UUIDs according
+     * to standard version 4, using a fast non-cryptographic random number generator
+     * per thread (see {@link FastRandomSources#bestAvailable()}).
+     *<p>
+     * NOTE: UUIDs generated are NOT unguessable; only use for identifiers where
+     * that does not matter.
+     *
+     * @since 5.3
+     */
+    public static FastRandomBasedGenerator fastRandomBasedGenerator() {
+        return fastRandomBasedGenerator(FastRandomSources.bestAvailable());
+    }
+
+    /**
+     * Factory method for constructing UUID generator that generates UUIDs according
+     * to standard version 4, using random bits from specified thread-safe source
+     * (usually one from {@link FastRandomSources}).
+     *
+     * @since 5.3
+     */
+    public static FastRandomBasedGenerator fastRandomBasedGenerator(LongSupplier random) {
+        return new FastRandomBasedGenerator(random);
+    }
+
     // // Name-based generation
 
     /**
@@ -120,6 +180,51 @@ public class Generators
         }
         return new NameBasedGenerator(namespace, digester, type);
     }
+
+    /**
+     * Factory method for constructing UUID generator that generates UUIDs according
+     * to standard version 5 (SHA-1), with specified namespace (or without one if null
+     * is specified), using a pool of digesters so that concurrent calls need not
+     * wait for each other.
+     *
+     * @param namespace UUID that represents namespace to use; see
+     *   {@link NameBasedGenerator} for 'standard' namespaces specified by
+     *   UUID specs
+     *
+     * @since 5.3
+     */
+    public static NameBasedGenerator pooledNameBasedGenerator(UUID namespace) {
+        return pooledNameBasedGenerator(namespace, DigesterPool.forAlgorithm("SHA-1"));
+    }
+
+    /**
+     * Factory method for constructing UUID generator that generates UUIDs according
+     * to standard version 3 or 5, with specified namespace (or without one if null
+     * is specified), using given pool of digesters (of which MD5 or SHA-1 ones are
+     * expected).
+     *
+     * @since 5.3
+     */
+    public static NameBasedGenerator pooledNameBasedGenerator(UUID namespace, DigesterPool pool) {
+        return new NameBasedGenerator(namespace, pool, null);
+    }
+
+    /**
+     * Factory method for constructing UUID generator that generates UUIDs according
+     * to standard version 5 (SHA-1), with specified namespace (or without one if null
+     * is specified), and keeps up to given number of most recently generated UUIDs
+     * cached, so that names used repeatedly need not be hashed again.
+     *
+     * @param namespace UUID that represents namespace to use; see
+     *   {@link NameBasedGenerator} for 'standard' namespaces specified by
+     *   UUID specs
+     * @param maxCacheSize Maximum number of name-to-UUID mappings to cache
+     *
+     * @since 5.3
+     */
+    public static CachingNameBasedGenerator cachingNameBasedGenerator(UUID namespace, int maxCacheSize) {
+        return new CachingNameBasedGenerator(pooledNameBasedGenerator(namespace), maxCacheSize);
+    }
     
     // // Epoch Time+random generation
 
@@ -225,6 +330,179 @@ public class Generators
         return new TimeBasedEpochRandomGenerator(random, clock);
     }
 
+    /**
+     * Factory method for constructing UUID generator that generates UUID using
+     * version 7 (Unix Epoch time+random based) with per-call randomness
+     * (like {@link #timeBasedEpochRandomGenerator()}), using random bytes fetched
+     * in blocks from per-stripe {@link java.security.SecureRandom} instances
+     * (see {@link EntropyPool#secureRandomPool()}), so that concurrent calls
+     * need not wait for each other.
+     *
+     * @since 5.3
+     */
+    public static PooledTimeBasedEpochRandomGenerator pooledTimeBasedEpochRandomGenerator()
+    {
+        return pooledTimeBasedEpochRandomGenerator(EntropyPool.secureRandomPool(),
+                UUIDClock.systemTimeClock());
+    }
+
+    /**
+     * Factory method for constructing UUID generator that generates UUID using
+     * version 7 (Unix Epoch time+random based) with per-call randomness,
+     * using random bytes from specified {@link EntropyPool}, and timestamps
+     * from specified {@link UUIDClock}.
+     *
+     * @since 5.3
+     */
+    public static PooledTimeBasedEpochRandomGenerator pooledTimeBasedEpochRandomGenerator(EntropyPool pool,
+            UUIDClock clock)
+    {
+        return new PooledTimeBasedEpochRandomGenerator(pool, clock);
+    }
+
+    /**
+     * Factory method for constructing UUID generator that generates UUID using
+     * version 7 (Unix Epoch time+random based) with per-call randomness,
+     * using a fast non-cryptographic random number generator per thread
+     * (see {@link FastRandomSources#bestAvailable()}).
+     *<p>
+     * NOTE: random part of UUIDs generated is NOT unguessable; only use for
+     * identifiers where that does not matter.
+     *
+     * @since 5.3
+     */
+    public static FastTimeBasedEpochRandomGenerator fastTimeBasedEpochRandomGenerator()
+    {
+        return fastTimeBasedEpochRandomGenerator(FastRandomSources.bestAvailable(),
+                UUIDClock.systemTimeClock());
+    }
+
+    /**
+     * Factory method for constructing UUID generator that generates UUID using
+     * version 7 (Unix Epoch time+random based) with per-call randomness,
+     * using random bits from specified thread-safe source (usually one from
+     * {@link FastRandomSources}), and timestamps from specified {@link UUIDClock}.
+     *
+     * @since 5.3
+     */
+    public static FastTimeBasedEpochRandomGenerator fastTimeBasedEpochRandomGenerator(LongSupplier random,
+            UUIDClock clock)
+    {
+        return new FastTimeBasedEpochRandomGenerator(random, clock);
+    }
+
+    // // Epoch Time+random generation, striped
+
+    /**
+     * Factory method for constructing UUID generator that generates UUID using
+     * version 7 (Unix Epoch time+random based), splitting generation state into
+     * specified number of stripes to reduce contention between threads.
+     * Each stripe uses its own {@link java.security.SecureRandom} instance.
+     *<p>
+     * Values generated by a single thread are monotonically increasing;
+     * values across threads are ordered to the millisecond.
+     *
+     * @param stripes Number of stripes to use (rounded up to the next power of two);
+     *    usually number of CPU cores is a good choice
+     *
+     * @since 5.3
+     */
+    public static TimeBasedEpochStripedGenerator timeBasedEpochStripedGenerator(int stripes)
+    {
+        return timeBasedEpochStripedGenerator(stripes, null, UUIDClock.systemTimeClock());
+    }
+
+    /**
+     * Factory method for constructing UUID generator that generates UUID using
+     * version 7 (Unix Epoch time+random based), splitting generation state into
+     * specified number of stripes to reduce contention between threads.
+     *
+     * @param stripes Number of stripes to use (rounded up to the next power of two)
+     * @param random Random number generator to use for all stripes; if {@code null},
+     *    a separate {@link java.security.SecureRandom} is used for each stripe
+     * @param clock Clock to use for accessing current time
+     *
+     * @since 5.3
+     */
+    public static TimeBasedEpochStripedGenerator timeBasedEpochStripedGenerator(int stripes,
+            Random random, UUIDClock clock)
+    {
+        return new TimeBasedEpochStripedGenerator(stripes, random, clock);
+    }
+
+    // // Epoch Time+sub-millisecond fraction generation
+
+    /**
+     * Factory method for constructing UUID generator that generates UUID using
+     * version 7 (Unix Epoch time+random based), with 12 bits of sub-millisecond
+     * timestamp fraction (RFC 9562 "Method 3"), using a clock with sub-millisecond
+     * resolution ({@link UUIDClock#nanoTimeClock()}) and random bits from
+     * {@link EntropyPool#secureRandomPool()}.
+     *<p>
+     * All values generated are monotonically increasing; at rates above 4096
+     * UUIDs per millisecond timestamps run ahead of the clock instead of failing.
+     *
+     * @since 5.3
+     */
+    public static TimeBasedEpochFractionGenerator timeBasedEpochFractionGenerator()
+    {
+        return timeBasedEpochFractionGenerator(EntropyPool.secureRandomPool()::nextLong,
+                UUIDClock.nanoTimeClock());
+    }
+
+    /**
+     * Factory method for constructing UUID generator that generates UUID using
+     * version 7 (Unix Epoch time+random based), with 12 bits of sub-millisecond
+     * timestamp fraction (RFC 9562 "Method 3"), using specified source of random bits
+     * and clock (which should have sub-millisecond resolution).
+     *
+     * @since 5.3
+     */
+    public static TimeBasedEpochFractionGenerator timeBasedEpochFractionGenerator(LongSupplier random,
+            UUIDClock clock)
+    {
+        return new TimeBasedEpochFractionGenerator(random, clock);
+    }
+
+    // // Epoch Time+dedicated counter generation
+
+    /**
+     * Factory method for constructing UUID generator that generates UUID using
+     * version 7 (Unix Epoch time+random based), with dedicated counter of specified
+     * width (RFC 9562 "Method 1") seeded randomly for every millisecond and
+     * incremented by one, using random bits from {@link EntropyPool#secureRandomPool()}.
+     *<p>
+     * All values generated are monotonically increasing; if counter is exhausted,
+     * generation continues with the next millisecond instead of failing.
+     *
+     * @param counterBits Width of counter in bits, between 12 and 42 (inclusive)
+     *
+     * @since 5.3
+     */
+    public static TimeBasedEpochCounterGenerator timeBasedEpochCounterGenerator(int counterBits)
+    {
+        return timeBasedEpochCounterGenerator(counterBits, 1L,
+                EntropyPool.secureRandomPool()::nextLong, UUIDClock.systemTimeClock());
+    }
+
+    /**
+     * Factory method for constructing UUID generator that generates UUID using
+     * version 7 (Unix Epoch time+random based), with dedicated counter of specified
+     * width (RFC 9562 "Method 1") seeded randomly for every millisecond and
+     * incremented by a random value between 1 and {@code maxIncrement} (or by one,
+     * if {@code maxIncrement} is 1), using specified source of random bits and clock.
+     *
+     * @param counterBits Width of counter in bits, between 12 and 42 (inclusive)
+     * @param maxIncrement Maximum value to increment counter by
+     *
+     * @since 5.3
+     */
+    public static TimeBasedEpochCounterGenerator timeBasedEpochCounterGenerator(int counterBits,
+            long maxIncrement, LongSupplier random, UUIDClock clock)
+    {
+        return new TimeBasedEpochCounterGenerator(counterBits, maxIncrement, random, clock);
+    }
+
     // // Time+location-based generation
 
     /**
@@ -296,6 +574,33 @@ public class Generators
         return timeBasedGenerator(ethernetAddress, timer);
     }
     
+    /**
+     * Factory method for constructing UUID generator that generates UUID using
+     * version 1 (time+location based), using specified Ethernet address
+     * as the location part of UUID, and a new {@link UUIDTimer} that uses
+     * specified clock. Using a clock with sub-millisecond resolution
+     * (like {@link UUIDClock#nanoTimeClock()}) makes timestamps more accurate,
+     * and timer overflows (and resulting slow-downs) less likely.
+     * No additional external synchronization is used.
+     *<p>
+     * NOTE: unlike generators created by {@link #timeBasedGenerator(EthernetAddress)},
+     * generators created by this method do not share timer state with each other (or
+     * with the shared default timer); instead, each timer starts with a clock sequence
+     * from {@link java.security.SecureRandom}, so that separate generators for the
+     * same address are unlikely (but not guaranteed) to produce same UUIDs.
+     *
+     * @param ethernetAddress (optional) MAC address to use; if null, a transient
+     *   random address is generated.
+     * @param clock Clock to use for timestamps
+     *
+     * @since 5.3
+     */
+    public static TimeBasedGenerator timeBasedGenerator(EthernetAddress ethernetAddress,
+            UUIDClock clock)
+    {
+        return timeBasedGenerator(ethernetAddress, _timerFor(clock));
+    }
+
     /**
      * Factory method for constructing UUID generator that generates UUID using
      * version 1 (time+location based), using specified Ethernet address
@@ -311,6 +616,28 @@ public class Generators
         return new TimeBasedGenerator(ethernetAddress, timer);
     }
 
+    /**
+     * Factory method for constructing UUID generator that generates UUID using
+     * version 1 (time+location based), using specified Ethernet address
+     * as the location part of UUID, and given number of partitions, each with
+     * its own {@link UUIDTimer} and clock sequence, so that concurrent calls from
+     * different threads need not wait for each other.
+     * See {@link PartitionedTimeBasedGenerator} for details.
+     *
+     * @param ethernetAddress (optional) MAC address to use; if null, a transient
+     *   random address is generated.
+     * @param partitions Number of partitions (usually at least the number of threads
+     *   generating UUIDs concurrently)
+     *
+     * @since 5.3
+     */
+    public static PartitionedTimeBasedGenerator partitionedTimeBasedGenerator(EthernetAddress ethernetAddress,
+            int partitions)
+    {
+        return new PartitionedTimeBasedGenerator(ethernetAddress, UUIDType.TIME_BASED,
+                partitions, UUIDClock.systemTimeClock());
+    }
+
     // // DB Locality Time+location-based generation
 
     /**
@@ -337,6 +664,22 @@ public class Generators
         return timeBasedReorderedGenerator(ethernetAddress, (UUIDTimer) null);
     }
 
+    /**
+     * Factory method for constructing UUID generator that generates UUID using
+     * version 6 (time+location based, reordered for DB locality), using specified
+     * Ethernet address as the location part of UUID, and a new {@link UUIDTimer}
+     * that uses specified clock (see {@link #timeBasedGenerator(EthernetAddress, UUIDClock)}).
+     * No additional external synchronization is used; and timer state is not shared
+     * with other generators (including ones using shared default timer).
+     *
+     * @since 5.3
+     */
+    public static TimeBasedReorderedGenerator timeBasedReorderedGenerator(EthernetAddress ethernetAddress,
+            UUIDClock clock)
+    {
+        return timeBasedReorderedGenerator(ethernetAddress, _timerFor(clock));
+    }
+
     /**
      * Factory method for constructing UUID generator that generates UUID using
      * version 6 (time+location based, reordered for DB locality), using specified
@@ -353,6 +696,20 @@ public class Generators
         return new TimeBasedReorderedGenerator(ethernetAddress, timer);
     }
 
+    /**
+     * Factory method for constructing UUID generator that generates UUID using
+     * version 6 (time+location based, reordered for DB locality), using given
+     * number of partitions (see {@link #partitionedTimeBasedGenerator(EthernetAddress, int)}).
+     *
+     * @since 5.3
+     */
+    public static PartitionedTimeBasedGenerator partitionedTimeBasedReorderedGenerator(EthernetAddress ethernetAddress,
+            int partitions)
+    {
+        return new PartitionedTimeBasedGenerator(ethernetAddress, UUIDType.TIME_BASED_REORDERED,
+                partitions, UUIDClock.systemTimeClock());
+    }
+
     /*
     /**********************************************************************
     /* Internal methods
@@ -371,6 +728,17 @@ public class Generators
         return _sharedTimer;
     }
 
+    private static UUIDTimer _timerFor(UUIDClock clock)
+    {
+        try {
+            // Not shared, so must not use time-based seed: timers created within
+            // same millisecond would get same clock sequence
+            return new UUIDTimer(new java.security.SecureRandom(), null, clock);
+        } catch (IOException e) { // can not happen without synchronizer
+            throw new IllegalArgumentException("Failed to create UUIDTimer: "+e.getMessage(), e);
+        }
+    }
+
     private static synchronized EthernetAddress preferredInterfaceAddress()
     {
     	  if (_preferredIfAddr == null) {
@@ -0,0 +1,74 @@
+/* JUG Java Uuid Generator
+ *
+ * Copyright (c) 2002- Tatu Saloranta, tatu.saloranta@iki.fi
+ *
+ * Licensed under the License specified in the file LICENSE which is
+ * included with the source code.
+ * You may not use this file except in compliance with the License.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fasterxml.uuid;
+
+import java.time.Instant;
+
+/**
+ * {@link UUIDClock} that reads the system clock using {@link Instant#now()}:
+ * on Java 8 resolution is same as with {@link System#currentTimeMillis()},
+ * but later versions typically offer microsecond (or better) resolution.
+ * Resolution is detected when the class is loaded.
+ *<p>
+ * Note that unlike {@link NanoTimeUUIDClock}, this clock follows system clock
+ * adjustments and may thereby go backwards; {@link UUIDTimer} handles this
+ * the same way as with the default clock.
+ *
+ * @since 5.3
+ */
+public class InstantUUIDClock extends UUIDClock
+{
+    private final static InstantUUIDClock INSTANCE = new InstantUUIDClock(_detectSubMillisecond());
+
+    protected final boolean _subMillisecond;
+
+    protected InstantUUIDClock(boolean subMillisecond) {
+        _subMillisecond = subMillisecond;
+    }
+
+    public static InstantUUIDClock instance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public long currentTimeNanos()
+    {
+        final Instant now = Instant.now();
+        return (now.getEpochSecond() * 1_000_000_000L) + now.getNano();
+    }
+
+    @Override
+    public boolean hasSubMillisecondResolution() {
+        return _subMillisecond;
+    }
+
+    private static boolean _detectSubMillisecond()
+    {
+        // Chance of getting exact milliseconds a few times in a row is tiny,
+        // unless that is all clock offers
+        for (int i = 0; i < 5; ++i) {
+            if ((Instant.now().getNano() % 1_000_000) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
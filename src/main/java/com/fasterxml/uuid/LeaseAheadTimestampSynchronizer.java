@@ -0,0 +1,249 @@
+/* JUG Java Uuid Generator
+ *
+ * Copyright (c) 2002- Tatu Saloranta, tatu.saloranta@iki.fi
+ *
+ * Licensed under the License specified in the file LICENSE which is
+ * included with the source code.
+ * You may not use this file except in compliance with the License.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fasterxml.uuid;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link TimestampSynchronizer} that wraps another synchronizer, and renews
+ * leases (timestamp ranges persisted by the wrapped synchronizer) on a background
+ * thread before they run out, so that {@link UUIDTimer} need not wait for
+ * I/O when getting timestamps.
+ *<p>
+ * Instead of the actual end of the lease ("hard horizon"), {@link UUIDTimer}
+ * is first given a point partway through the lease ("soft horizon"; by default
+ * half-way); when that is reached, renewal is started in the background and
+ * the hard horizon is returned. Only if timer gets past the hard horizon before
+ * renewal completes (or if renewal fails) does the caller have to wait; such
+ * stalls are counted and available from {@link #getStallCount()}.
+ *<p>
+ * Calls to the wrapped synchronizer are serialized, so it need not be thread-safe.
+ *
+ * @since 5.3
+ */
+public class LeaseAheadTimestampSynchronizer extends TimestampSynchronizer
+{
+    private static final Logger logger = LoggerFactory.getLogger(LeaseAheadTimestampSynchronizer.class);
+
+    public final static double DEFAULT_RENEWAL_RATIO = 0.5;
+
+    protected final TimestampSynchronizer _delegate;
+
+    /**
+     * Ratio of a lease that needs to be used before renewing it
+     */
+    protected final double _renewalRatio;
+
+    /**
+     * Lock held when calling methods of {@link #_delegate}
+     */
+    private final Object _delegateLock = new Object();
+
+    private final ExecutorService _executor;
+
+    // // // Lease state, guarded by 'this'
+
+    /**
+     * Timestamp at which the current lease was obtained
+     */
+    private long _leaseStart;
+
+    /**
+     * First timestamp NOT covered by the current lease
+     */
+    private long _hardHorizon;
+
+    /**
+     * Renewal in progress, if any
+     */
+    private Future<?> _renewal;
+
+    // // // Statistics
+
+    private volatile long _stalls, _renewals;
+
+    public LeaseAheadTimestampSynchronizer(TimestampSynchronizer delegate) {
+        this(delegate, DEFAULT_RENEWAL_RATIO);
+    }
+
+    /**
+     * @param delegate Synchronizer that actually persists timestamps
+     * @param renewalRatio Ratio of a lease to use before renewing it: greater than 0.0
+     *    and less than 1.0
+     */
+    public LeaseAheadTimestampSynchronizer(TimestampSynchronizer delegate, double renewalRatio)
+    {
+        if (!(renewalRatio > 0.0 && renewalRatio < 1.0)) {
+            throw new IllegalArgumentException("Invalid renewal ratio ("+renewalRatio
+                    +"): must be between 0.0 and 1.0 (exclusive)");
+        }
+        _delegate = Objects.requireNonNull(delegate);
+        _renewalRatio = renewalRatio;
+        _executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "UUID-lease-renewal");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /*
+    /**********************************************************************
+    /* Accessors
+    /**********************************************************************
+     */
+
+    public TimestampSynchronizer getDelegate() { return _delegate; }
+
+    /**
+     * @return Number of times caller had to wait for a lease to be renewed
+     *    (not including the initial lease)
+     */
+    public long getStallCount() { return _stalls; }
+
+    /**
+     * @return Number of leases renewed in the background
+     */
+    public long getRenewalCount() { return _renewals; }
+
+    /*
+    /**********************************************************************
+    /* Implementation of the API
+    /**********************************************************************
+     */
+
+    @Override
+    protected long initialize() throws IOException
+    {
+        synchronized (_delegateLock) {
+            return _delegate.initialize();
+        }
+    }
+
+    @Override
+    protected void deactivate() throws IOException
+    {
+        _executor.shutdown();
+        final Future<?> pending;
+        synchronized (this) {
+            pending = _renewal;
+        }
+        _await(pending);
+        synchronized (_delegateLock) {
+            _delegate.deactivate();
+        }
+    }
+
+    /**
+     * @return Soft horizon of the current lease, if not yet reached; otherwise
+     *    hard horizon of the current lease (or of the renewed one, if caller had
+     *    to wait)
+     */
+    @Override
+    protected long update(final long now) throws IOException
+    {
+        boolean stalled = false;
+        while (true) {
+            final Future<?> pending;
+            synchronized (this) {
+                if (now < _hardHorizon) {
+                    final long soft = _leaseStart + (long) ((_hardHorizon - _leaseStart) * _renewalRatio);
+                    if (now < soft) {
+                        return soft;
+                    }
+                    if (_renewal == null) {
+                        _renewal = _executor.submit(() -> _renewInBackground(now));
+                    }
+                    return _hardHorizon;
+                }
+                pending = _renewal;
+                if (!stalled) {
+                    stalled = true;
+                    if (_hardHorizon != 0L) {
+                        ++_stalls;
+                    }
+                }
+            }
+            // Past hard horizon: need to wait for background renewal, or renew
+            if (pending != null) {
+                _await(pending);
+            } else {
+                _renew(now);
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    private void _renew(long now) throws IOException
+    {
+        final long horizon;
+        synchronized (_delegateLock) {
+            horizon = _delegate.update(now);
+        }
+        synchronized (this) {
+            if (horizon > _hardHorizon) {
+                _leaseStart = now;
+                _hardHorizon = horizon;
+            }
+        }
+    }
+
+    private void _renewInBackground(long now)
+    {
+        boolean ok = false;
+        try {
+            _renew(now);
+            ok = true;
+        } catch (IOException e) {
+            // Caller will retry (and get the exception) once it needs new lease
+            logger.warn("Failed to renew timestamp lease: {}", e.toString());
+        } finally {
+            synchronized (this) {
+                _renewal = null;
+                if (ok) {
+                    ++_renewals;
+                }
+            }
+        }
+    }
+
+    private static void _await(Future<?> pending) throws IOException
+    {
+        if (pending != null) {
+            try {
+                pending.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for timestamp lease renewal");
+            } catch (ExecutionException e) { // can not occur, but just in case
+                throw new IOException("Failed to renew timestamp lease: "+e.getCause(), e.getCause());
+            }
+        }
+    }
+}
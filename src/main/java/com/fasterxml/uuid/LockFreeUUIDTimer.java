@@ -0,0 +1,244 @@
+/* JUG Java Uuid Generator
+ *
+ * Copyright (c) 2002- Tatu Saloranta, tatu.saloranta@iki.fi
+ *
+ * Licensed under the License specified in the file LICENSE which is
+ * included with the source code.
+ * You may not use this file except in compliance with the License.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fasterxml.uuid;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Alternative {@link UUIDTimer} implementation that does not synchronize
+ * calls to {@link #getTimestamp}: instead, last used millisecond and the
+ * clock counter are packed into a single {@code long} that is updated
+ * using compare-and-set. This avoids serializing all time-based generators
+ * that share a timer on a single monitor.
+ *<p>
+ * Semantics are the same as with the default implementation: counter
+ * overflow moves "virtual" time forward (re-seeding the counter),
+ * caller is slowed down if virtual time gets too far ahead of the
+ * system clock, and {@link TimestampSynchronizer} (if any) is called
+ * before any timestamp beyond last persisted one is returned.
+ * Only the last part requires locking, and it only affects threads
+ * that actually need a new timestamp range to be persisted.
+ *<p>
+ * NOTE: packing assumes that the clock returns non-negative values below
+ * 2^47 (that is, dates before year 6400 or so).
+ *
+ * @since 5.3
+ */
+public class LockFreeUUIDTimer extends UUIDTimer
+{
+    /**
+     * Number of lowest bits of state used for the clock counter: needs to
+     * be able to hold values up to {@link #kClockMultiplier} (inclusive).
+     */
+    private final static int COUNTER_BITS = 16;
+
+    private final static long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    /**
+     * Combination of last used timestamp (in milliseconds, upper 48 bits)
+     * and clock counter (lowest 16 bits).
+     */
+    private final AtomicLong _state;
+
+    /**
+     * Lock used when calling {@link TimestampSynchronizer#update}, since
+     * synchronizers are not expected to be thread-safe.
+     */
+    private final Object _syncLock = new Object();
+
+    /**
+     * Same as {@code _firstUnsafeTimestamp} of the base class, but volatile
+     * since it is read without holding a lock.
+     */
+    private volatile long _firstUnsafe;
+
+    private volatile long _lastSeenSystemTimestamp = 0L;
+
+    public LockFreeUUIDTimer(Random rnd, TimestampSynchronizer sync) throws IOException
+    {
+        this(rnd, sync, UUIDClock.systemTimeClock());
+    }
+
+    /**
+     * @param rnd Random-number generator to use
+     * @param sync Synchronizer needed for multi-threaded timestamp access
+     * @param clock Provider for milli-second resolution timestamp
+     *
+     * @throws IOException if initialization of {@code sync} fails due to problem related
+     *    to reading of persisted last-used timestamp
+     */
+    public LockFreeUUIDTimer(Random rnd, TimestampSynchronizer sync, UUIDClock clock) throws IOException
+    {
+        super(rnd, sync, clock);
+        // Base class has initialized counter and possibly read last used timestamp
+        _state = new AtomicLong((_lastUsedTimestamp << COUNTER_BITS) | _clockCounter);
+        _firstUnsafe = 0L; // ie. will always trigger sync.update()
+    }
+
+    /**
+     * Lock-free variant of {@link UUIDTimer#getTimestamp}: concurrent callers
+     * will get unique, monotonically increasing timestamps, and may only block
+     * when external synchronization (if any) needs to be updated, or when
+     * virtual clock has advanced too far ahead of the system clock.
+     *
+     * @return 64-bit timestamp to use for constructing UUID
+     */
+    @Override
+    public long getTimestamp()
+    {
+        final long nanos = _checkedTime();
+        final long reserved = _reserve(nanos / NANOS_PER_MILLI, _counterFloor(nanos), 1);
+        return ((reserved >>> COUNTER_BITS) * kClockMultiplierL) + kClockOffset
+                + (reserved & COUNTER_MASK);
+    }
+
+    /**
+     * Lock-free variant of {@link UUIDTimer#getTimestamps}: reserves consecutive
+     * ranges of the clock counter using a single compare-and-set per range.
+     */
+    @Override
+    public void getTimestamps(long[] buffer, int offset, int count)
+    {
+        long nanos = _checkedTime();
+        while (count > 0) {
+            final long reserved = _reserve(nanos / NANOS_PER_MILLI, _counterFloor(nanos), count);
+            final long counter = reserved & COUNTER_MASK;
+            final int reservedCount = (int) Math.min(count, kClockMultiplier - counter);
+            final long first = ((reserved >>> COUNTER_BITS) * kClockMultiplierL) + kClockOffset
+                    + counter;
+            for (int i = 0; i < reservedCount; ++i) {
+                buffer[offset++] = first + i;
+            }
+            count -= reservedCount;
+            if (count > 0) {
+                nanos = _currentTimeNanos();
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    /**
+     * @return Current time in nanoseconds (with millisecond resolution unless
+     *    clock has finer resolution)
+     */
+    private long _checkedTime()
+    {
+        final long nanos = _currentTimeNanos();
+        final long systime = nanos / NANOS_PER_MILLI;
+        // As with the base implementation, only report (no locking needed to do that)
+        final long lastSeen = _lastSeenSystemTimestamp;
+        if (systime < lastSeen) {
+            _logger.warn("System time going backwards! (got value %d, last %d)",
+                    systime, lastSeen);
+            _lastSeenSystemTimestamp = systime;
+        }
+        return nanos;
+    }
+
+    /**
+     * Method that reserves up to {@code count} consecutive values of the clock counter
+     * (at least one; fewer if counter would be exhausted) for the calling thread.
+     *
+     * @param systime Current time in milliseconds
+     * @param counterFloor Sub-millisecond part of current time in 100 nanosecond
+     *    units (0 if clock does not have sub-millisecond resolution)
+     * @param count Number of counter values to reserve
+     *
+     * @return Timestamp (in milliseconds) and the first reserved counter value, packed
+     *    same way as the internal state
+     */
+    private long _reserve(final long systime, final int counterFloor, final int count)
+    {
+        long timestamp, counter;
+        long actDiff = 0L;
+        int newClockSequence = 0;
+        boolean overrun;
+
+        while (true) {
+            final long state = _state.get();
+            final long lastUsed = state >>> COUNTER_BITS;
+            counter = state & COUNTER_MASK;
+            overrun = false;
+
+            if (systime <= lastUsed) {
+                if (counter < kClockMultiplier) { // still have room
+                    if (systime == lastUsed && counter < counterFloor) {
+                        counter = counterFloor;
+                    }
+                    timestamp = lastUsed;
+                } else { // roll over to next value, re-seed counter
+                    actDiff = lastUsed - systime;
+                    // Fail before changing state, if that is what we are to do
+                    if (actDiff >= kMaxClockAdvance
+                            && _overflowAction(actDiff) == OverflowPolicy.FAIL_FAST) {
+                        _failOverflow(actDiff);
+                    }
+                    timestamp = lastUsed + 1L;
+                    newClockSequence = _random.nextInt();
+                    counter = (newClockSequence >> 16) & 0xFF;
+                    overrun = true;
+                }
+            } else {
+                timestamp = systime;
+                counter = _subMillisecond ? counterFloor : (counter & 0xFF);
+            }
+            final long next = counter + Math.min(count, kClockMultiplier - counter);
+            if (_state.compareAndSet(state, (timestamp << COUNTER_BITS) | next)) {
+                break;
+            }
+        }
+
+        if (overrun) {
+            _logger.warn("Timestamp over-run: need to reinitialize random sequence");
+            _clockSequence = newClockSequence;
+            // Only this thread gets slowed down; others may proceed (so
+            // SLEEP and PARK policies work the same way)
+            if (actDiff >= kMaxClockAdvance) {
+                final OverflowPolicy policy = _overflowAction(actDiff);
+                _countOverflow(policy);
+                if (policy != OverflowPolicy.BORROW) {
+                    slowDown(systime, actDiff);
+                }
+            }
+        }
+
+        if (_syncer != null && timestamp >= _firstUnsafe) {
+            _synchronize(timestamp);
+        }
+        return (timestamp << COUNTER_BITS) | counter;
+    }
+
+    private void _synchronize(long timestamp)
+    {
+        synchronized (_syncLock) {
+            // Another thread may have already reserved range for us
+            if (timestamp >= _firstUnsafe) {
+                try {
+                    _firstUnsafe = _syncer.update(timestamp);
+                } catch (IOException ioe) {
+                    throw new RuntimeException("Failed to synchronize timestamp: "+ioe);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/* JUG Java Uuid Generator
+ *
+ * Copyright (c) 2002- Tatu Saloranta, tatu.saloranta@iki.fi
+ *
+ * Licensed under the License specified in the file LICENSE which is
+ * included with the source code.
+ * You may not use this file except in compliance with the License.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fasterxml.uuid;
+
+/**
+ * {@link UUIDClock} with sub-millisecond resolution: wall clock time is read
+ * once (as "anchor"), and current time calculated by adding elapsed time as
+ * measured by {@link System#nanoTime()}. Since {@code nanoTime()} is monotonic,
+ * so is this clock.
+ *<p>
+ * To keep clock from drifting away from the system clock, anchor is
+ * periodically re-checked: if system clock has moved ahead by more than
+ * a millisecond, clock jumps ahead to it; but if system clock is behind,
+ * clock is not moved back (to keep it monotonic).
+ *
+ * @since 5.3
+ */
+public class NanoTimeUUIDClock extends UUIDClock
+{
+    /**
+     * How often to check drift against system clock: once per second
+     */
+    private final static long RESYNC_INTERVAL_NANOS = 1_000_000_000L;
+
+    /**
+     * How much system clock may be ahead without re-anchoring
+     */
+    private final static long MAX_DRIFT_NANOS = 1_000_000L;
+
+    /**
+     * Immutable pair of wall clock time and matching {@code nanoTime()}
+     */
+    private final static class Anchor
+    {
+        final long epochNanos, nanoTime;
+
+        Anchor(long epochNanos, long nanoTime) {
+            this.epochNanos = epochNanos;
+            this.nanoTime = nanoTime;
+        }
+    }
+
+    private volatile Anchor _anchor;
+
+    public NanoTimeUUIDClock() {
+        _anchor = new Anchor(System.currentTimeMillis() * 1_000_000L, System.nanoTime());
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return currentTimeNanos() / 1_000_000L;
+    }
+
+    @Override
+    public long currentTimeNanos()
+    {
+        final long nanoTime = System.nanoTime();
+        final Anchor anchor = _anchor;
+        final long elapsed = nanoTime - anchor.nanoTime;
+        final long now = anchor.epochNanos + elapsed;
+        if (elapsed < RESYNC_INTERVAL_NANOS) {
+            return now;
+        }
+        return _resync(now, nanoTime);
+    }
+
+    @Override
+    public boolean hasSubMillisecondResolution() {
+        return true;
+    }
+
+    private synchronized long _resync(long now, long nanoTime)
+    {
+        // Another thread may have just re-anchored
+        final Anchor anchor = _anchor;
+        if (nanoTime - anchor.nanoTime < RESYNC_INTERVAL_NANOS) {
+            return Math.max(now, anchor.epochNanos + (nanoTime - anchor.nanoTime));
+        }
+        final long wall = System.currentTimeMillis() * 1_000_000L;
+        // Only ever move forward; if system clock is behind, just keep on with elapsed time
+        if (wall - now > MAX_DRIFT_NANOS) {
+            now = wall;
+        }
+        _anchor = new Anchor(now, nanoTime);
+        return now;
+    }
+}
@@ -2,18 +2,125 @@ package com.fasterxml.uuid;
 
 import java.util.UUID;
 
+import com.fasterxml.uuid.impl.UUIDUtil;
+
 /**
  * Intermediate base class for UUID generators that do not take arguments for individual
  * calls. This includes random and time-based versions, but not name-based ones.
- * 
+ *
  * @since 3.0
  */
 public abstract class NoArgGenerator extends UUIDGenerator
 {
+    /**
+     * Maximum number of UUIDs bulk generation methods process at a time,
+     * when they need temporary buffers.
+     *
+     * @since 5.3
+     */
+    protected final static int BULK_CHUNK_SIZE = 1024;
+
     /**
      * Method for generating a {@link UUID}.
      *
      * @return Newly generated {@link UUID}
      */
     public abstract UUID generate();
+
+    /**
+     * Method for generating specified number of {@link UUID}s.
+     *
+     * @param count Number of UUIDs to generate
+     *
+     * @return Array of newly generated {@link UUID}s, in generation order
+     *
+     * @since 5.3
+     */
+    public UUID[] generate(int count)
+    {
+        UUID[] result = new UUID[count];
+        generate(result, 0, count);
+        return result;
+    }
+
+    /**
+     * Method for generating specified number of {@link UUID}s into given array.
+     *<p>
+     * Default implementation simply calls {@link #generate()} repeatedly;
+     * sub-classes are encouraged to override it with more efficient implementation
+     * (one that, for example, does locking and clock access once per batch).
+     *
+     * @param buffer Array into which to add generated UUIDs
+     * @param offset Index of the first entry in {@code buffer} to fill
+     * @param count Number of UUIDs to generate
+     *
+     * @since 5.3
+     */
+    public void generate(UUID[] buffer, int offset, int count)
+    {
+        _checkBulkArguments(buffer.length, offset, count, 1);
+        for (int end = offset + count; offset < end; ++offset) {
+            buffer[offset] = generate();
+        }
+    }
+
+    /**
+     * Method for generating specified number of UUIDs into given array,
+     * without constructing {@link UUID} instances: each UUID is stored
+     * as two consecutive {@code long}s, most significant bits first.
+     *<p>
+     * Default implementation simply calls {@link #generate()} repeatedly;
+     * sub-classes are encouraged to override it with more efficient implementation.
+     *
+     * @param buffer Array into which to add generated UUIDs; needs to have
+     *    room for {@code 2 * count} entries starting at {@code offset}
+     * @param offset Index of the first entry in {@code buffer} to fill
+     * @param count Number of UUIDs to generate
+     *
+     * @since 5.3
+     */
+    public void generate(long[] buffer, int offset, int count)
+    {
+        _checkBulkArguments(buffer.length, offset, count, 2);
+        for (int i = 0; i < count; ++i) {
+            UUID uuid = generate();
+            buffer[offset++] = uuid.getMostSignificantBits();
+            buffer[offset++] = uuid.getLeastSignificantBits();
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods for implementations
+    /**********************************************************
+     */
+
+    /**
+     * Helper method sub-classes may use for implementing {@link #generate(UUID[], int, int)}
+     * when they have an efficient implementation of {@link #generate(long[], int, int)}.
+     *
+     * @since 5.3
+     */
+    protected final void _generateUsingPairs(UUID[] buffer, int offset, int count)
+    {
+        _checkBulkArguments(buffer.length, offset, count, 1);
+        final long[] pairs = new long[2 * Math.min(count, BULK_CHUNK_SIZE)];
+        while (count > 0) {
+            final int chunk = Math.min(count, BULK_CHUNK_SIZE);
+            generate(pairs, 0, chunk);
+            for (int i = 0; i < chunk; ++i) {
+                buffer[offset++] = new UUID(pairs[i+i], pairs[i+i+1]);
+            }
+            count -= chunk;
+        }
+    }
+
+    /**
+     * @since 5.3
+     */
+    protected final static void _checkBulkArguments(int bufferLength, int offset, int count,
+            int entriesPerUUID)
+    {
+        UUIDUtil.checkBulkArguments(bufferLength, offset, count, entriesPerUUID);
+    }
 }
@@ -35,6 +35,31 @@ public class UUIDClock
         return DEFAULT;
     }
 
+    /**
+     * Factory method for accessing a clock that has sub-millisecond resolution,
+     * based on {@link System#nanoTime()} anchored to the system clock, and that
+     * never goes backwards.
+     *
+     * @see NanoTimeUUIDClock
+     *
+     * @since 5.3
+     */
+    public static UUIDClock nanoTimeClock() {
+        return new NanoTimeUUIDClock();
+    }
+
+    /**
+     * Factory method for accessing a clock based on {@link java.time.Instant#now()},
+     * which has sub-millisecond (usually microsecond) resolution on Java 9 and later.
+     *
+     * @see InstantUUIDClock
+     *
+     * @since 5.3
+     */
+    public static UUIDClock instantClock() {
+        return InstantUUIDClock.instance();
+    }
+
     /**
      * Returns the current time in milliseconds.
      */
@@ -42,4 +67,28 @@ public class UUIDClock
     {
         return System.currentTimeMillis();
     }
+
+    /**
+     * Returns the current time in nanoseconds since Unix epoch; actual resolution
+     * depends on implementation, and is only finer than milliseconds if
+     * {@link #hasSubMillisecondResolution()} returns {@code true}.
+     * Default implementation simply scales {@link #currentTimeMillis()}.
+     *
+     * @since 5.3
+     */
+    public long currentTimeNanos()
+    {
+        return currentTimeMillis() * 1_000_000L;
+    }
+
+    /**
+     * Method that indicates whether {@link #currentTimeNanos()} has finer than
+     * millisecond resolution: if so, {@link UUIDTimer} uses it instead of
+     * {@link #currentTimeMillis()} to fill in sub-millisecond part of timestamps.
+     *
+     * @since 5.3
+     */
+    public boolean hasSubMillisecondResolution() {
+        return false;
+    }
 }
@@ -17,6 +17,7 @@ package com.fasterxml.uuid;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import com.fasterxml.uuid.impl.LoggerFacade;
 import com.fasterxml.uuid.impl.UUIDUtil;
@@ -69,11 +70,58 @@ import com.fasterxml.uuid.impl.UUIDUtil;
  *<p>
  * Note about synchronization: main synchronization point (as of version
  * 3.1.1 and above) is {@link #getTimestamp}, so caller need not
- * synchronize access explicitly.
+ * synchronize access explicitly. If contention on this monitor becomes
+ * a problem, {@link LockFreeUUIDTimer} offers same guarantees without locking.
  */
 public class UUIDTimer
 {
-    private final LoggerFacade _logger = LoggerFacade.getLogger(getClass());
+    /**
+     * Enumeration of ways to handle the case of "virtual" clock (time used
+     * for timestamps) getting too far ahead of the system clock (by more than
+     * 100 milliseconds), which happens when generating UUIDs faster than
+     * the clock counter allows (10000 per millisecond).
+     *
+     * @since 5.3
+     */
+    public enum OverflowPolicy
+    {
+        /**
+         * Calling thread sleeps (for a millisecond or more) while holding
+         * the timer lock, blocking all other callers as well: this was the
+         * only behavior before 5.3, and is the default.
+         */
+        SLEEP,
+
+        /**
+         * Calling thread gets an {@link IllegalStateException}, and no
+         * timestamp is used.
+         */
+        FAIL_FAST,
+
+        /**
+         * Virtual clock is allowed to advance further into the future, up to
+         * the borrow budget (see {@link UUIDTimer#setBorrowBudget}); beyond
+         * that, same as {@link #PARK}.
+         */
+        BORROW,
+
+        /**
+         * Calling thread sleeps after releasing the timer lock, so that
+         * other callers are not blocked.
+         */
+        PARK
+    }
+
+    /**
+     * Default number of milliseconds virtual clock may get ahead of the
+     * system clock (in addition to the usual 100 milliseconds) with
+     * {@link OverflowPolicy#BORROW}.
+     *
+     * @since 5.3
+     */
+    public final static long DEFAULT_BORROW_BUDGET = 1000L;
+
+    final LoggerFacade _logger = LoggerFacade.getLogger(getClass());
 
     // // // Constants
 
@@ -82,20 +130,22 @@ public class UUIDTimer
      * and UUIDs need time from the beginning of gregorian calendar
      * (15-oct-1582), need to apply the offset:
      */
-    private final static long kClockOffset = 0x01b21dd213814000L;
+    final static long kClockOffset = 0x01b21dd213814000L;
     /**
      * Also, instead of getting time in units of 100nsecs, we get something
      * with max resolution of 1 msec... and need the multiplier as well
      */
-    private final static int kClockMultiplier = 10000;
+    final static int kClockMultiplier = 10000;
 
-    private final static long kClockMultiplierL = 10000L;
+    final static long kClockMultiplierL = 10000L;
+
+    final static long NANOS_PER_MILLI = 1_000_000L;
 
     /**
      * Let's allow "virtual" system time to advance at most 100 milliseconds
      * beyond actual physical system time, before adding delays.
      */
-    private final static long kMaxClockAdvance = 100L;
+    final static long kMaxClockAdvance = 100L;
 
     // // // Configuration
 
@@ -123,6 +173,29 @@ public class UUIDTimer
      */
     protected final UUIDClock _clock;
 
+    /**
+     * Whether {@link #_clock} has sub-millisecond resolution: if so, sub-millisecond
+     * part of the time is used as the lowest allowed clock counter value.
+     *
+     * @since 5.3
+     */
+    protected final boolean _subMillisecond;
+
+    /**
+     * @since 5.3
+     */
+    protected volatile OverflowPolicy _overflowPolicy = OverflowPolicy.SLEEP;
+
+    /**
+     * @since 5.3
+     */
+    protected volatile long _borrowBudget = DEFAULT_BORROW_BUDGET;
+
+    /**
+     * Number of times each overflow policy was applied, indexed by ordinal
+     */
+    private final AtomicLongArray _overflowCounts = new AtomicLongArray(OverflowPolicy.values().length);
+
     // // // Clock state:
 
     /**
@@ -132,7 +205,7 @@ public class UUIDTimer
      * overflow.
      * Note that only lowermost 16 bits are actually used as sequence
      */
-    private int _clockSequence;
+    int _clockSequence;
 
     /**
      * Last physical timestamp value <code>System.currentTimeMillis()</code>
@@ -151,7 +224,7 @@ public class UUIDTimer
      * monotonically increasing; that is, at given absolute time points
      * t1 and t2 (where t2 is after t1), t1 <= t2 will always hold true.
      */
-    private long _lastUsedTimestamp = 0L;
+    long _lastUsedTimestamp = 0L;
 
     /**
      * First timestamp that can NOT be used without synchronizing
@@ -161,11 +234,18 @@ public class UUIDTimer
      */
     private long _firstUnsafeTimestamp = Long.MAX_VALUE;
 
+    /**
+     * With {@link OverflowPolicy#PARK}, amount of time (in milliseconds) the current
+     * caller needs to wait after releasing the lock (and the time it was
+     * needed at); 0 if no waiting is needed.
+     */
+    private long _deferredWaitDiff, _deferredWaitStart;
+
     /**
      * Counter used to compensate inadequate resolution of JDK system
      * timer.
      */
-    private int _clockCounter = 0;
+    int _clockCounter = 0;
 
     public UUIDTimer(Random rnd, TimestampSynchronizer sync) throws IOException
     {
@@ -187,6 +267,7 @@ public class UUIDTimer
         _random = rnd;
         _syncer = sync;
         _clock = clock;
+        _subMillisecond = clock.hasSubMillisecondResolution();
         initCounters(rnd);
         _lastSystemTimestamp = 0L;
         // This may get overwritten by the synchronizer
@@ -229,6 +310,49 @@ public class UUIDTimer
     public int getClockSequence() {
         return (_clockSequence & 0xFFFF);
     }
+
+    /**
+     * Method for changing how the timer handles virtual clock getting too far
+     * ahead of the system clock.
+     *
+     * @since 5.3
+     */
+    public void setOverflowPolicy(OverflowPolicy policy) {
+        _overflowPolicy = Objects.requireNonNull(policy);
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return _overflowPolicy;
+    }
+
+    /**
+     * Method for changing how many milliseconds virtual clock may advance beyond
+     * usual limit when using {@link OverflowPolicy#BORROW}.
+     *
+     * @since 5.3
+     */
+    public void setBorrowBudget(long millis)
+    {
+        if (millis < 0L) {
+            throw new IllegalArgumentException("Invalid borrow budget ("+millis+"): can not be negative");
+        }
+        _borrowBudget = millis;
+    }
+
+    public long getBorrowBudget() {
+        return _borrowBudget;
+    }
+
+    /**
+     * Method for checking how many times given overflow policy has been applied.
+     * Note that when {@link OverflowPolicy#BORROW} runs out of budget, application
+     * of {@link OverflowPolicy#PARK} is counted instead.
+     *
+     * @since 5.3
+     */
+    public long getOverflowCount(OverflowPolicy policy) {
+        return _overflowCounts.get(policy.ordinal());
+    }
     
     /**
      * Method that constructs unique timestamp suitable for use for
@@ -239,9 +363,94 @@ public class UUIDTimer
      *
      * @return 64-bit timestamp to use for constructing UUID
      */
-    public synchronized long getTimestamp()
+    public long getTimestamp()
+    {
+        final long timestamp;
+        final long waitStart, waitDiff;
+        synchronized (this) {
+            final long nanos = _currentTimeNanos();
+            timestamp = _nextTimestamp(nanos / NANOS_PER_MILLI, _counterFloor(nanos));
+            waitDiff = _deferredWaitDiff;
+            if (waitDiff == 0L) {
+                return timestamp;
+            }
+            waitStart = _deferredWaitStart;
+            _deferredWaitDiff = 0L;
+        }
+        slowDown(waitStart, waitDiff);
+        return timestamp;
+    }
+
+    /**
+     * Method that constructs specified number of unique timestamps, same as
+     * calling {@link #getTimestamp} repeatedly, but only acquiring lock once
+     * and only reading current time once per clock counter range (up to
+     * 10000 timestamps).
+     * Timestamps are stored in ascending order.
+     *
+     * @param buffer Array into which to store timestamps
+     * @param offset Index of the first entry to fill
+     * @param count Number of timestamps to construct
+     *
+     * @since 5.3
+     */
+    public void getTimestamps(long[] buffer, int offset, int count)
+    {
+        final long waitStart, waitDiff;
+        synchronized (this) {
+            long nanos = _currentTimeNanos();
+            for (final int end = offset + count; offset < end; ++offset) {
+                // Only need to re-check time if we are about to run out of counter
+                if (_clockCounter >= kClockMultiplier) {
+                    nanos = _currentTimeNanos();
+                }
+                buffer[offset] = _nextTimestamp(nanos / NANOS_PER_MILLI, _counterFloor(nanos));
+            }
+            waitDiff = _deferredWaitDiff;
+            if (waitDiff == 0L) {
+                return;
+            }
+            waitStart = _deferredWaitStart;
+            _deferredWaitDiff = 0L;
+        }
+        slowDown(waitStart, waitDiff);
+    }
+
+    /**
+     * Helper method for reading current time from the clock, using sub-millisecond
+     * resolution if the clock has it.
+     *
+     * @return Current time in nanoseconds; only millisecond resolution if clock
+     *    does not support finer resolution
+     *
+     * @since 5.3
+     */
+    protected final long _currentTimeNanos() {
+        return _subMillisecond ? _clock.currentTimeNanos()
+                : (_clock.currentTimeMillis() * NANOS_PER_MILLI);
+    }
+
+    /**
+     * @return Sub-millisecond part of given time, in 100 nanosecond units: can be
+     *    used as the lowest clock counter value for the millisecond
+     *
+     * @since 5.3
+     */
+    protected final static int _counterFloor(long nanos) {
+        return (int) ((nanos % NANOS_PER_MILLI) / 100L);
+    }
+
+    /**
+     * Helper method that does actual work of {@link #getTimestamp}, for
+     * given system time: caller must hold the lock.
+     *
+     * @param systime Current time in milliseconds
+     * @param counterFloor Sub-millisecond part of current time in 100 nanosecond
+     *    units (0 if clock does not have sub-millisecond resolution), to use as the
+     *    minimum clock counter value
+     */
+    private long _nextTimestamp(long systime, int counterFloor)
     {
-        long systime = _clock.currentTimeMillis();
         /* Let's first verify that the system time is not going backwards;
          * independent of whether we can use it:
          */
@@ -261,10 +470,20 @@ public class UUIDTimer
              * hasn't hit max yet)
              */
             if (_clockCounter < kClockMultiplier) { // yup, still have room
+                // ... and if clock has sub-millisecond resolution, skip unused part
+                if (systime == _lastUsedTimestamp && _clockCounter < counterFloor) {
+                    _clockCounter = counterFloor;
+                }
                 systime = _lastUsedTimestamp;
             } else { // nope, have to roll over to next value and maybe wait
                 long actDiff = _lastUsedTimestamp - systime;
                 long origTime = systime;
+                // Need to check before changing state, in case we are to fail
+                final OverflowPolicy policy = (actDiff >= kMaxClockAdvance)
+                        ? _overflowAction(actDiff) : null;
+                if (policy == OverflowPolicy.FAIL_FAST) {
+                    _failOverflow(actDiff);
+                }
                 systime = _lastUsedTimestamp + 1L;
 
                 _logger.warn("Timestamp over-run: need to reinitialize random sequence");
@@ -281,16 +500,26 @@ public class UUIDTimer
                  * clock resolution has forced us to advance virtual timer
                  * too far)
                  */
-                if (actDiff >= kMaxClockAdvance) {
-                    slowDown(origTime, actDiff);
+                if (policy != null) {
+                    _countOverflow(policy);
+                    if (policy == OverflowPolicy.SLEEP) {
+                        slowDown(origTime, actDiff);
+                    } else if (policy == OverflowPolicy.PARK) {
+                        // to be done by caller after releasing lock
+                        if (actDiff > _deferredWaitDiff) {
+                            _deferredWaitDiff = actDiff;
+                            _deferredWaitStart = origTime;
+                        }
+                    }
                 }
             }
         } else {
             /* Clock has advanced normally; just need to make sure counter is
              * reset to a low value (need not be 0; good to leave a small
-             * residual to further decrease collisions)
+             * residual to further decrease collisions); or, with sub-millisecond
+             * clock, start from actual sub-millisecond time
              */
-            _clockCounter &= 0xFF;
+            _clockCounter = _subMillisecond ? counterFloor : (_clockCounter & 0xFF);
         }
 
         _lastUsedTimestamp = systime;
@@ -374,6 +603,39 @@ public class UUIDTimer
 
     private static final int MAX_WAIT_COUNT = 50;
 
+    /**
+     * Method for determining which overflow policy to apply, when virtual clock is
+     * given number of milliseconds ahead of the system clock.
+     *
+     * @since 5.3
+     */
+    protected final OverflowPolicy _overflowAction(long actDiff)
+    {
+        final OverflowPolicy policy = _overflowPolicy;
+        if (policy == OverflowPolicy.BORROW
+                && (actDiff - kMaxClockAdvance) >= _borrowBudget) {
+            return OverflowPolicy.PARK;
+        }
+        return policy;
+    }
+
+    /**
+     * @since 5.3
+     */
+    protected final void _countOverflow(OverflowPolicy policy) {
+        _overflowCounts.incrementAndGet(policy.ordinal());
+    }
+
+    /**
+     * @since 5.3
+     */
+    protected final void _failOverflow(long actDiff)
+    {
+        _countOverflow(OverflowPolicy.FAIL_FAST);
+        throw new IllegalStateException("Virtual clock advanced too far ("+actDiff
+                +" milliseconds) ahead of the system clock: UUIDs generated too fast");
+    }
+
     /**
      * Simple utility method to use to wait for couple of milliseconds,
      * to let system clock hopefully advance closer to the virtual
@@ -0,0 +1,13 @@
+package com.fasterxml.uuid.collections;
+
+/**
+ * Callback for iterating over UUIDs as their most and least significant bits,
+ * without constructing {@link java.util.UUID} instances.
+ *
+ * @since 5.3
+ */
+@FunctionalInterface
+public interface LongPairConsumer
+{
+    void accept(long msb, long lsb);
+}
@@ -0,0 +1,625 @@
+package com.fasterxml.uuid.collections;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Set of UUIDs stored off-heap, in memory-mapped files, for de-duplicating
+ * more UUIDs than would fit in heap: memory used is managed by the OS page
+ * cache and causes no GC overhead regardless of number of entries.
+ *<p>
+ * Set is split into a fixed number of segments (selected by hash code of UUID),
+ * each stored in a file of its own as an open-addressing (linear probing) hash
+ * table with 16-byte slots. Concurrency is handled per segment:
+ *<ul>
+ * <li>Lookups ({@link #contains}) are optimistic and lock-free unless they race
+ *   with a modification of the same segment (in which case lookup is retried
+ *   while holding read lock)
+ *  </li>
+ * <li>Additions ({@link #add}) hold write lock of the segment
+ *  </li>
+ * <li>Segments grow independently of each other: when a segment reaches its maximum
+ *   load, contents are rehashed into a new file (twice the size) which then
+ *   replaces the old one; other segments remain accessible during resizing.
+ *  </li>
+ *</ul>
+ * Contents survive restarts of the process: re-opening the same directory
+ * will find all UUIDs added earlier. Data is written to the storage by the OS
+ * at its discretion; {@link #flush} (and {@link #close}) may be called to force
+ * writes, to protect against losing recent additions on OS crash or power loss.
+ * Only one instance (in one process) may have the directory open at a time.
+ *<p>
+ * Removal of entries is not supported.
+ *
+ * @since 5.3
+ */
+public class MappedUUIDHashSet implements Closeable
+{
+    public final static int DEFAULT_SEGMENT_COUNT = 64;
+
+    public final static int DEFAULT_SEGMENT_CAPACITY = 1 << 16;
+
+    /**
+     * Maximum number of slots in a segment: limited by maximum size of mapped
+     * buffer (2 GB)
+     */
+    public final static int MAX_SEGMENT_CAPACITY = 1 << 26;
+
+    public final static int MAX_SEGMENT_COUNT = 1 << 12;
+
+    private final static float LOAD_FACTOR = 0.75f;
+
+    private final static String LOCK_FILE_NAME = "uuid-set.lock";
+
+    private final static String SEGMENT_FILE_PREFIX = "segment-";
+
+    // // Segment file header layout (slots follow header):
+
+    private final static long MAGIC = 0x4A55475555534554L; // "JUGUUSET"
+
+    private final static int VERSION = 1;
+
+    private final static int HEADER_SIZE = 64;
+
+    private final static int OFFSET_MAGIC = 0;
+    private final static int OFFSET_VERSION = 8;
+    private final static int OFFSET_SEGMENT_INDEX = 12;
+    private final static int OFFSET_SEGMENT_COUNT = 16;
+    private final static int OFFSET_CAPACITY = 20;
+    private final static int OFFSET_FLAGS = 24;
+
+    private final static int FLAG_CONTAINS_NIL = 1;
+
+    protected final File _directory;
+
+    protected final Segment[] _segments;
+
+    protected final int _segmentMask;
+
+    private final RandomAccessFile _lockFile;
+
+    private final FileLock _lock;
+
+    /*
+    /**********************************************************************
+    /* Construction
+    /**********************************************************************
+     */
+
+    protected MappedUUIDHashSet(File directory, Segment[] segments,
+            RandomAccessFile lockFile, FileLock lock)
+    {
+        _directory = directory;
+        _segments = segments;
+        _segmentMask = segments.length - 1;
+        _lockFile = lockFile;
+        _lock = lock;
+    }
+
+    /**
+     * Method for opening set stored in given directory, creating one with default
+     * settings if the directory does not yet contain one.
+     */
+    public static MappedUUIDHashSet open(File directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_COUNT, DEFAULT_SEGMENT_CAPACITY);
+    }
+
+    /**
+     * Method for opening set stored in given directory, creating one if the directory
+     * does not yet contain one.
+     *
+     * @param directory Directory in which to store segment files
+     * @param segmentCount Number of segments to use for a new set (rounded up to a power
+     *    of two); ignored if set already exists
+     * @param initialSegmentCapacity Initial number of slots in each segment of a new set
+     *    (rounded up to a power of two); ignored if set already exists
+     */
+    public static MappedUUIDHashSet open(File directory, int segmentCount, int initialSegmentCapacity)
+        throws IOException
+    {
+        if (segmentCount < 1 || segmentCount > MAX_SEGMENT_COUNT) {
+            throw new IllegalArgumentException("Invalid segment count ("+segmentCount
+                    +"): must be between 1 and "+MAX_SEGMENT_COUNT);
+        }
+        if (initialSegmentCapacity < 1 || initialSegmentCapacity > MAX_SEGMENT_CAPACITY) {
+            throw new IllegalArgumentException("Invalid segment capacity ("+initialSegmentCapacity
+                    +"): must be between 1 and "+MAX_SEGMENT_CAPACITY);
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Failed to create directory '"+directory.getAbsolutePath()+"'");
+        }
+        RandomAccessFile lockFile = new RandomAccessFile(new File(directory, LOCK_FILE_NAME), "rw");
+        FileLock lock = null;
+        try {
+            lock = lockFile.getChannel().tryLock();
+            if (lock == null) {
+                throw new IOException("UUID set in directory '"+directory.getAbsolutePath()
+                        +"' already opened by another process");
+            }
+            Segment[] segments = _openSegments(directory);
+            if (segments == null) {
+                segments = _createSegments(directory, _powerOf2(segmentCount),
+                        Math.max(8, _powerOf2(initialSegmentCapacity)));
+            }
+            return new MappedUUIDHashSet(directory, segments, lockFile, lock);
+        } catch (IOException | RuntimeException e) {
+            if (lock != null) {
+                lock.release();
+            }
+            lockFile.close();
+            throw e;
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    public boolean contains(UUID uuid) {
+        return contains(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    public boolean contains(long msb, long lsb)
+    {
+        final long hash = UUIDHashBase.hash(msb, lsb);
+        final Segment segment = _segment(hash);
+        final StampedLock lock = segment.lock;
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            final boolean found = segment.table.contains(msb, lsb, hash);
+            if (lock.validate(stamp)) {
+                return found;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return segment.table.contains(msb, lsb, hash);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return True if UUID was added; false if it was already contained
+     *
+     * @throws UncheckedIOException If segment needed to be resized, and the
+     *    resizing failed due to an I/O problem
+     */
+    public boolean add(UUID uuid) {
+        return add(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * @return True if UUID was added; false if it was already contained
+     *
+     * @throws UncheckedIOException If segment needed to be resized, and the
+     *    resizing failed due to an I/O problem
+     */
+    public boolean add(long msb, long lsb)
+    {
+        final long hash = UUIDHashBase.hash(msb, lsb);
+        final Segment segment = _segment(hash);
+        final long stamp = segment.lock.writeLock();
+        try {
+            return segment.add(msb, lsb, hash);
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return Number of UUIDs contained; not necessarily accurate if
+     *    UUIDs are being concurrently added
+     */
+    public long size()
+    {
+        long total = 0L;
+        for (Segment segment : _segments) {
+            total += segment.size;
+        }
+        return total;
+    }
+
+    public int getSegmentCount() { return _segments.length; }
+
+    /**
+     * @return Total number of slots in all segments
+     */
+    public long capacity()
+    {
+        long total = 0L;
+        for (Segment segment : _segments) {
+            total += segment.table.mask + 1;
+        }
+        return total;
+    }
+
+    /**
+     * Method for forcing all changes to be written to the storage device.
+     */
+    public void flush()
+    {
+        for (Segment segment : _segments) {
+            final long stamp = segment.lock.readLock();
+            try {
+                segment.table.buffer.force();
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    /**
+     * Method that flushes all changes to the storage device, and releases the
+     * directory lock. Instance must not be used after closing.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        try {
+            flush();
+        } finally {
+            try {
+                _lock.release();
+            } finally {
+                _lockFile.close();
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, file handling
+    /**********************************************************************
+     */
+
+    private Segment _segment(long hash) {
+        return _segments[(int) (hash >>> 40) & _segmentMask];
+    }
+
+    private static Segment[] _openSegments(File directory) throws IOException
+    {
+        // Find the latest generation of each segment: older ones may be left
+        // if process died during resizing
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(SEGMENT_FILE_PREFIX));
+        if (files == null || files.length == 0) {
+            return null;
+        }
+        Arrays.sort(files);
+        Segment[] segments = null;
+        for (File file : files) {
+            final Table table = Table.open(file);
+            if (table == null) { // partially written, or otherwise invalid, file
+                _delete(file);
+                continue;
+            }
+            if (segments == null) {
+                segments = new Segment[table.segmentCount];
+            } else if (segments.length != table.segmentCount) {
+                throw new IOException("Inconsistent segment count in '"+file+"': "+table.segmentCount
+                        +" (expected "+segments.length+")");
+            }
+            Segment old = segments[table.segmentIndex];
+            if (old == null || old.table.generation < table.generation) {
+                if (old != null) {
+                    _delete(old.table.file);
+                }
+                segments[table.segmentIndex] = new Segment(directory, table.segmentIndex, table);
+            } else {
+                _delete(file);
+            }
+        }
+        if (segments != null) {
+            // Segments may only be missing if process died while creating the set
+            // (resizing keeps the old file until the new one is complete): if so, create
+            int capacity = MAX_SEGMENT_CAPACITY;
+            for (Segment segment : segments) {
+                if (segment != null) {
+                    capacity = Math.min(capacity, segment.table.mask + 1);
+                }
+            }
+            for (int i = 0; i < segments.length; ++i) {
+                if (segments[i] == null) {
+                    Table table = Table.create(_segmentFile(directory, i, 0), i, segments.length, 0, capacity);
+                    table.commit();
+                    segments[i] = new Segment(directory, i, table);
+                }
+            }
+        }
+        return segments;
+    }
+
+    private static Segment[] _createSegments(File directory, int segmentCount, int capacity)
+        throws IOException
+    {
+        Segment[] segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; ++i) {
+            Table table = Table.create(_segmentFile(directory, i, 0), i, segmentCount, 0, capacity);
+            table.commit();
+            segments[i] = new Segment(directory, i, table);
+        }
+        return segments;
+    }
+
+    static File _segmentFile(File directory, int index, int generation) {
+        return new File(directory, String.format("%s%04d.%08d", SEGMENT_FILE_PREFIX, index, generation));
+    }
+
+    static void _delete(File file) {
+        // May fail on some platforms while file is still mapped; will then be
+        // cleaned up when set is opened next time
+        if (!file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+
+    private static int _powerOf2(int value) {
+        return (value <= 1) ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper classes
+    /**********************************************************************
+     */
+
+    /**
+     * Mutable per-segment state; all modifications done while holding write lock.
+     */
+    protected final static class Segment
+    {
+        final File directory;
+
+        final int index;
+
+        final StampedLock lock = new StampedLock();
+
+        volatile Table table;
+
+        volatile int size;
+
+        Segment(File directory, int index, Table table) {
+            this.directory = directory;
+            this.index = index;
+            this.table = table;
+            size = table.countEntries();
+        }
+
+        boolean add(long msb, long lsb, long hash)
+        {
+            Table t = table;
+            if ((msb | lsb) == 0L) {
+                if (t.containsNil()) {
+                    return false;
+                }
+                t.setContainsNil();
+                ++size;
+                return true;
+            }
+            int ix = t.insertionSlot(msb, lsb, hash);
+            if (ix >= 0) {
+                return false;
+            }
+            final int entries = size - (t.containsNil() ? 1 : 0);
+            if (entries >= t.resizeAt) {
+                if (t.mask + 1 == MAX_SEGMENT_CAPACITY) {
+                    throw new IllegalStateException("Segment #"+index
+                            +" of UUID set can not grow beyond maximum capacity ("+MAX_SEGMENT_CAPACITY+")");
+                }
+                t = _resize(t);
+                ix = t.insertionSlot(msb, lsb, hash);
+            }
+            t.set(~ix, msb, lsb);
+            ++size;
+            return true;
+        }
+
+        private Table _resize(Table old)
+        {
+            final int generation = old.generation + 1;
+            final File file = _segmentFile(directory, index, generation);
+            final Table t;
+            try {
+                t = Table.create(file, index, old.segmentCount, generation, (old.mask + 1) << 1);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to resize segment #"+index+" of UUID set: "
+                        +e.getMessage(), e);
+            }
+            old.copyTo(t);
+            // Make sure new file is complete before old one is removed
+            t.commit();
+            table = t;
+            _delete(old.file);
+            return t;
+        }
+    }
+
+    /**
+     * Immutable reference to a mapped segment file (contents of which are mutable).
+     */
+    protected final static class Table
+    {
+        final File file;
+
+        final MappedByteBuffer buffer;
+
+        final int segmentIndex, segmentCount, generation;
+
+        final int mask;
+
+        final int resizeAt;
+
+        private Table(File file, MappedByteBuffer buffer, int segmentIndex, int segmentCount,
+                int generation, int capacity)
+        {
+            this.file = file;
+            this.buffer = buffer;
+            this.segmentIndex = segmentIndex;
+            this.segmentCount = segmentCount;
+            this.generation = generation;
+            mask = capacity - 1;
+            resizeAt = Math.min(capacity - 1, (int) (capacity * LOAD_FACTOR));
+        }
+
+        static Table create(File file, int segmentIndex, int segmentCount, int generation,
+                int capacity) throws IOException
+        {
+            MappedByteBuffer buffer = _map(file, HEADER_SIZE + ((long) capacity << 4));
+            // Magic only written by commit(), once contents are complete
+            buffer.putInt(OFFSET_VERSION, VERSION);
+            buffer.putInt(OFFSET_SEGMENT_INDEX, segmentIndex);
+            buffer.putInt(OFFSET_SEGMENT_COUNT, segmentCount);
+            buffer.putInt(OFFSET_CAPACITY, capacity);
+            buffer.putInt(OFFSET_FLAGS, 0);
+            return new Table(file, buffer, segmentIndex, segmentCount, generation, capacity);
+        }
+
+        /**
+         * @return Table for given file, if it is a valid segment file; null if not
+         */
+        static Table open(File file) throws IOException
+        {
+            final String name = file.getName();
+            final int generation;
+            try {
+                generation = Integer.parseInt(name.substring(name.lastIndexOf('.') + 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            final long length = file.length();
+            if (length < HEADER_SIZE) {
+                return null;
+            }
+            MappedByteBuffer buffer = _map(file, length);
+            final int capacity = buffer.getInt(OFFSET_CAPACITY);
+            final int segmentCount = buffer.getInt(OFFSET_SEGMENT_COUNT);
+            final int segmentIndex = buffer.getInt(OFFSET_SEGMENT_INDEX);
+            if (buffer.getLong(OFFSET_MAGIC) != MAGIC
+                    || buffer.getInt(OFFSET_VERSION) != VERSION
+                    || capacity < 1 || capacity > MAX_SEGMENT_CAPACITY
+                    || Integer.bitCount(capacity) != 1
+                    || length != HEADER_SIZE + ((long) capacity << 4)
+                    || segmentCount < 1 || segmentCount > MAX_SEGMENT_COUNT
+                    || segmentIndex < 0 || segmentIndex >= segmentCount) {
+                return null;
+            }
+            return new Table(file, buffer, segmentIndex, segmentCount, generation, capacity);
+        }
+
+        private static MappedByteBuffer _map(File file, long length) throws IOException
+        {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                // mapping remains valid after channel is closed
+                return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0L, length);
+            }
+        }
+
+        /**
+         * Method called once contents of a newly created table are complete: marks
+         * the file valid, and forces all contents to the storage device.
+         */
+        void commit()
+        {
+            buffer.force();
+            buffer.putLong(OFFSET_MAGIC, MAGIC);
+            buffer.force();
+        }
+
+        boolean containsNil() {
+            return (buffer.getInt(OFFSET_FLAGS) & FLAG_CONTAINS_NIL) != 0;
+        }
+
+        void setContainsNil() {
+            buffer.putInt(OFFSET_FLAGS, buffer.getInt(OFFSET_FLAGS) | FLAG_CONTAINS_NIL);
+        }
+
+        /**
+         * Lookup method that may be called without holding a lock: may return wrong
+         * answer in that case (caller must validate), but will not fail or loop forever.
+         */
+        boolean contains(long msb, long lsb, long hash)
+        {
+            if ((msb | lsb) == 0L) {
+                return containsNil();
+            }
+            final MappedByteBuffer buf = buffer;
+            int ix = (int) hash & mask;
+            for (int probes = 0; probes <= mask; ++probes) {
+                final int offset = HEADER_SIZE + (ix << 4);
+                final long m = buf.getLong(offset);
+                final long l = buf.getLong(offset + 8);
+                if (m == msb && l == lsb) {
+                    return true;
+                }
+                if ((m | l) == 0L) {
+                    break;
+                }
+                ix = (ix + 1) & mask;
+            }
+            return false;
+        }
+
+        /**
+         * @return Index of the slot with given key (if found), or complement of the
+         *    first empty slot at which to insert it
+         */
+        int insertionSlot(long msb, long lsb, long hash)
+        {
+            final MappedByteBuffer buf = buffer;
+            int ix = (int) hash & mask;
+            while (true) {
+                final int offset = HEADER_SIZE + (ix << 4);
+                final long m = buf.getLong(offset);
+                final long l = buf.getLong(offset + 8);
+                if (m == msb && l == lsb) {
+                    return ix;
+                }
+                if ((m | l) == 0L) {
+                    return ~ix;
+                }
+                ix = (ix + 1) & mask;
+            }
+        }
+
+        void set(int ix, long msb, long lsb)
+        {
+            final int offset = HEADER_SIZE + (ix << 4);
+            buffer.putLong(offset, msb);
+            buffer.putLong(offset + 8, lsb);
+        }
+
+        int countEntries()
+        {
+            int count = containsNil() ? 1 : 0;
+            for (int ix = 0; ix <= mask; ++ix) {
+                final int offset = HEADER_SIZE + (ix << 4);
+                if ((buffer.getLong(offset) | buffer.getLong(offset + 8)) != 0L) {
+                    ++count;
+                }
+            }
+            return count;
+        }
+
+        void copyTo(Table dst)
+        {
+            for (int ix = 0; ix <= mask; ++ix) {
+                final int offset = HEADER_SIZE + (ix << 4);
+                final long m = buffer.getLong(offset);
+                final long l = buffer.getLong(offset + 8);
+                if ((m | l) != 0L) {
+                    dst.set(~dst.insertionSlot(m, l, UUIDHashBase.hash(m, l)), m, l);
+                }
+            }
+            if (containsNil()) {
+                dst.setContainsNil();
+            }
+        }
+    }
+}
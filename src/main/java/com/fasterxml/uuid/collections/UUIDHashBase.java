@@ -0,0 +1,334 @@
+package com.fasterxml.uuid.collections;
+
+import java.util.Arrays;
+
+/**
+ * Base class for open-addressing hash containers keyed by UUIDs, stored as
+ * their two 64-bit halves in parallel {@code long[]} arrays (instead of
+ * {@link java.util.UUID} instances), using linear probing.
+ *<p>
+ * Slot with both halves zero denotes an empty slot; Nil UUID (all zeroes)
+ * is instead tracked with a separate flag, and its value (if any) is stored
+ * in an extra slot at the end of value arrays.
+ *<p>
+ * Hash codes need to be mixed well, since for time-based UUIDs many bits
+ * (most of the timestamp, for example) barely vary: both halves are combined
+ * and then mixed using the 64-bit finalizer of MurmurHash3.
+ *<p>
+ * Instances are not thread-safe.
+ *
+ * @since 5.3
+ */
+public abstract class UUIDHashBase
+{
+    public final static float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    public final static int DEFAULT_EXPECTED_SIZE = 16;
+
+    protected final static int MAX_CAPACITY = 1 << 30;
+
+    protected final float _loadFactor;
+
+    protected long[] _msbs, _lsbs;
+
+    /**
+     * Values of entries, for maps with {@code Object} values; null for other containers
+     */
+    protected Object[] _objectValues;
+
+    /**
+     * Values of entries, for maps with {@code long} values; null for other containers
+     */
+    protected long[] _longValues;
+
+    /**
+     * Bit mask for calculating slot from hash code; capacity of key arrays minus 1
+     * (and index of the Nil UUID slot in value arrays)
+     */
+    protected int _mask;
+
+    /**
+     * Number of entries, including Nil UUID if contained
+     */
+    protected int _size;
+
+    /**
+     * Number of entries (excluding Nil UUID) at which key arrays need to grow
+     */
+    protected int _resizeAt;
+
+    protected boolean _containsNil;
+
+    private final boolean _hasObjectValues, _hasLongValues;
+
+    /**
+     * @param expectedSize Number of entries container should be able to hold without resizing
+     * @param loadFactor Maximum ratio of entries to slots before resizing: between 0 and 1 (exclusive)
+     */
+    protected UUIDHashBase(int expectedSize, float loadFactor,
+            boolean objectValues, boolean longValues)
+    {
+        if (!(loadFactor > 0f && loadFactor < 1f)) {
+            throw new IllegalArgumentException("Invalid load factor ("+loadFactor
+                    +"): must be between 0.0 and 1.0 (exclusive)");
+        }
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Invalid expected size ("+expectedSize+"): can not be negative");
+        }
+        _loadFactor = loadFactor;
+        _hasObjectValues = objectValues;
+        _hasLongValues = longValues;
+        _allocate(_capacityFor(expectedSize, loadFactor));
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API, common
+    /**********************************************************************
+     */
+
+    public int size() { return _size; }
+
+    public boolean isEmpty() { return _size == 0; }
+
+    /**
+     * @return Number of key slots currently allocated
+     */
+    public int capacity() { return _mask + 1; }
+
+    public void clear()
+    {
+        if (_size > 0) {
+            Arrays.fill(_msbs, 0L);
+            Arrays.fill(_lsbs, 0L);
+            if (_objectValues != null) {
+                Arrays.fill(_objectValues, null);
+            }
+            _size = 0;
+            _containsNil = false;
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods for sub-classes
+    /**********************************************************************
+     */
+
+    /**
+     * Hash function used for UUIDs, exposed for testing and for callers
+     * that need compatible hashing (like partitioning).
+     */
+    public static long hash(long msb, long lsb)
+    {
+        // Combine halves so that all bits affect result, then mix (MurmurHash3 fmix64)
+        long h = (msb * 0x9E3779B97F4A7C15L) + lsb;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * @return Index of slot that contains given key, if any; -1 if none
+     */
+    protected final int _find(long msb, long lsb)
+    {
+        if ((msb | lsb) == 0L) {
+            return _containsNil ? (_mask + 1) : -1;
+        }
+        final long[] msbs = _msbs;
+        final long[] lsbs = _lsbs;
+        final int mask = _mask;
+        int ix = (int) hash(msb, lsb) & mask;
+        while (true) {
+            final long m = msbs[ix];
+            final long l = lsbs[ix];
+            if (m == msb && l == lsb) {
+                return ix;
+            }
+            if ((m | l) == 0L) {
+                return -1;
+            }
+            ix = (ix + 1) & mask;
+        }
+    }
+
+    /**
+     * Method that finds slot of given key, adding it if not yet contained.
+     *
+     * @return Index of slot of the key, if it was already contained; or, if it
+     *    was added, complement ({@code ~index}) of the slot index
+     */
+    protected final int _insert(long msb, long lsb)
+    {
+        if ((msb | lsb) == 0L) {
+            if (_containsNil) {
+                return _mask + 1;
+            }
+            _containsNil = true;
+            ++_size;
+            return ~(_mask + 1);
+        }
+        int ix = _insertionSlot(msb, lsb);
+        if (ix >= 0) {
+            return ix;
+        }
+        // Need to add; but resize first if necessary
+        if ((_size - (_containsNil ? 1 : 0)) >= _resizeAt) {
+            _resize();
+            ix = _insertionSlot(msb, lsb);
+        }
+        ix = ~ix;
+        _msbs[ix] = msb;
+        _lsbs[ix] = lsb;
+        ++_size;
+        return ~ix;
+    }
+
+    /**
+     * Method for removing entry at given slot; value (if any) needs to have
+     * been read before calling.
+     */
+    protected final void _removeAt(int ix)
+    {
+        --_size;
+        final int mask = _mask;
+        if (ix > mask) { // Nil UUID
+            _containsNil = false;
+            if (_objectValues != null) {
+                _objectValues[ix] = null;
+            }
+            return;
+        }
+        // Backward-shift deletion: move entries that would no longer be reachable
+        // (ones probed past removed slot) back; no tombstones needed
+        final long[] msbs = _msbs;
+        final long[] lsbs = _lsbs;
+        int gap = ix;
+        for (int curr = (gap + 1) & mask; ; curr = (curr + 1) & mask) {
+            final long m = msbs[curr];
+            final long l = lsbs[curr];
+            if ((m | l) == 0L) {
+                break;
+            }
+            final int ideal = (int) hash(m, l) & mask;
+            // Can move if ideal slot is not in cyclic range (gap, curr]
+            if (((curr - ideal) & mask) >= ((curr - gap) & mask)) {
+                msbs[gap] = m;
+                lsbs[gap] = l;
+                if (_objectValues != null) {
+                    _objectValues[gap] = _objectValues[curr];
+                }
+                if (_longValues != null) {
+                    _longValues[gap] = _longValues[curr];
+                }
+                gap = curr;
+            }
+        }
+        msbs[gap] = 0L;
+        lsbs[gap] = 0L;
+        if (_objectValues != null) {
+            _objectValues[gap] = null;
+        }
+    }
+
+    /**
+     * @return Whether slot at given index (of key arrays) contains an entry
+     */
+    protected final boolean _isUsed(int ix) {
+        return (_msbs[ix] | _lsbs[ix]) != 0L;
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, other
+    /**********************************************************************
+     */
+
+    /**
+     * @return Index of the slot with given key (if found), or complement of the
+     *    first empty slot at which to insert it
+     */
+    private int _insertionSlot(long msb, long lsb)
+    {
+        final long[] msbs = _msbs;
+        final long[] lsbs = _lsbs;
+        final int mask = _mask;
+        int ix = (int) hash(msb, lsb) & mask;
+        while (true) {
+            final long m = msbs[ix];
+            final long l = lsbs[ix];
+            if (m == msb && l == lsb) {
+                return ix;
+            }
+            if ((m | l) == 0L) {
+                return ~ix;
+            }
+            ix = (ix + 1) & mask;
+        }
+    }
+
+    private void _allocate(int capacity)
+    {
+        _msbs = new long[capacity];
+        _lsbs = new long[capacity];
+        // Value arrays have one more slot, for Nil UUID
+        if (_hasObjectValues) {
+            _objectValues = new Object[capacity + 1];
+        }
+        if (_hasLongValues) {
+            _longValues = new long[capacity + 1];
+        }
+        _mask = capacity - 1;
+        _resizeAt = (capacity == MAX_CAPACITY) ? (capacity - 1)
+                : Math.min(capacity - 1, (int) Math.ceil(capacity * _loadFactor));
+    }
+
+    private void _resize()
+    {
+        final int oldCapacity = _mask + 1;
+        if (oldCapacity == MAX_CAPACITY) {
+            throw new IllegalStateException("Can not grow beyond maximum capacity ("+MAX_CAPACITY+")");
+        }
+        final long[] oldMsbs = _msbs;
+        final long[] oldLsbs = _lsbs;
+        final Object[] oldObjects = _objectValues;
+        final long[] oldLongs = _longValues;
+        _allocate(oldCapacity << 1);
+
+        for (int i = 0; i < oldCapacity; ++i) {
+            final long m = oldMsbs[i];
+            final long l = oldLsbs[i];
+            if ((m | l) != 0L) {
+                final int ix = ~_insertionSlot(m, l);
+                _msbs[ix] = m;
+                _lsbs[ix] = l;
+                if (oldObjects != null) {
+                    _objectValues[ix] = oldObjects[i];
+                }
+                if (oldLongs != null) {
+                    _longValues[ix] = oldLongs[i];
+                }
+            }
+        }
+        // and Nil UUID value, if any
+        if (oldObjects != null) {
+            _objectValues[_mask + 1] = oldObjects[oldCapacity];
+        }
+        if (oldLongs != null) {
+            _longValues[_mask + 1] = oldLongs[oldCapacity];
+        }
+    }
+
+    private static int _capacityFor(int expectedSize, float loadFactor)
+    {
+        final long needed = (long) Math.ceil(expectedSize / (double) loadFactor) + 1L;
+        if (needed >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return Math.max(4, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+}
@@ -0,0 +1,118 @@
+package com.fasterxml.uuid.collections;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Set of UUIDs that stores them as pairs of {@code long}s in open-addressing
+ * hash table, instead of as {@link UUID} instances in a {@link java.util.HashSet}:
+ * this uses about 16 bytes per slot (about 21 bytes per entry with the default load factor),
+ * compared to 80 or more for {@code HashSet<UUID>}. Entries can be accessed
+ * using either {@link UUID}s or their most and least significant bits, so that
+ * callers can avoid constructing {@link UUID} instances altogether.
+ *<p>
+ * Instances are not thread-safe.
+ *
+ * @since 5.3
+ */
+public class UUIDHashSet extends UUIDHashBase
+{
+    public UUIDHashSet() {
+        this(DEFAULT_EXPECTED_SIZE, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @param expectedSize Number of entries set should be able to hold without resizing
+     */
+    public UUIDHashSet(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @param expectedSize Number of entries set should be able to hold without resizing
+     * @param loadFactor Maximum ratio of entries to slots before resizing: between 0 and 1 (exclusive)
+     */
+    public UUIDHashSet(int expectedSize, float loadFactor) {
+        super(expectedSize, loadFactor, false, false);
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    public boolean contains(UUID uuid) {
+        return _find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()) >= 0;
+    }
+
+    public boolean contains(long msb, long lsb) {
+        return _find(msb, lsb) >= 0;
+    }
+
+    /**
+     * @return True if UUID was added; false if it was already contained
+     */
+    public boolean add(UUID uuid) {
+        return _insert(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()) < 0;
+    }
+
+    /**
+     * @return True if UUID was added; false if it was already contained
+     */
+    public boolean add(long msb, long lsb) {
+        return _insert(msb, lsb) < 0;
+    }
+
+    /**
+     * @return True if UUID was removed; false if it was not contained
+     */
+    public boolean remove(UUID uuid) {
+        return remove(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * @return True if UUID was removed; false if it was not contained
+     */
+    public boolean remove(long msb, long lsb)
+    {
+        final int ix = _find(msb, lsb);
+        if (ix < 0) {
+            return false;
+        }
+        _removeAt(ix);
+        return true;
+    }
+
+    /**
+     * Method for iterating over all UUIDs in the set, in no particular order;
+     * set must not be modified during iteration.
+     */
+    public void forEach(Consumer<? super UUID> action)
+    {
+        for (int i = 0, end = _mask; i <= end; ++i) {
+            if (_isUsed(i)) {
+                action.accept(new UUID(_msbs[i], _lsbs[i]));
+            }
+        }
+        if (_containsNil) {
+            action.accept(new UUID(0L, 0L));
+        }
+    }
+
+    /**
+     * Method for iterating over all UUIDs in the set, in no particular order,
+     * without constructing {@link UUID} instances; set must not be modified during iteration.
+     */
+    public void forEach(LongPairConsumer action)
+    {
+        for (int i = 0, end = _mask; i <= end; ++i) {
+            if (_isUsed(i)) {
+                action.accept(_msbs[i], _lsbs[i]);
+            }
+        }
+        if (_containsNil) {
+            action.accept(0L, 0L);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.fasterxml.uuid.collections;
+
+import java.util.UUID;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Map from UUIDs to {@code long} values (like counters or offsets), that stores
+ * both keys and values as primitives in open-addressing hash table (see
+ * {@link UUIDHashSet} for details). Since values can not be null, a configurable
+ * "missing value" (by default, 0) is returned by accessors when there is no entry.
+ *<p>
+ * Instances are not thread-safe.
+ *
+ * @since 5.3
+ */
+public class UUIDLongMap extends UUIDHashBase
+{
+    protected final long _missingValue;
+
+    public UUIDLongMap() {
+        this(DEFAULT_EXPECTED_SIZE, DEFAULT_LOAD_FACTOR, 0L);
+    }
+
+    /**
+     * @param expectedSize Number of entries map should be able to hold without resizing
+     */
+    public UUIDLongMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR, 0L);
+    }
+
+    /**
+     * @param expectedSize Number of entries map should be able to hold without resizing
+     * @param loadFactor Maximum ratio of entries to slots before resizing: between 0 and 1 (exclusive)
+     * @param missingValue Value to return from accessors when there is no entry for key
+     */
+    public UUIDLongMap(int expectedSize, float loadFactor, long missingValue) {
+        super(expectedSize, loadFactor, false, true);
+        _missingValue = missingValue;
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    public long getMissingValue() { return _missingValue; }
+
+    public boolean containsKey(UUID key) {
+        return _find(key.getMostSignificantBits(), key.getLeastSignificantBits()) >= 0;
+    }
+
+    public boolean containsKey(long msb, long lsb) {
+        return _find(msb, lsb) >= 0;
+    }
+
+    /**
+     * @return Value for the key, if any; "missing value" if none
+     */
+    public long get(UUID key) {
+        return get(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    /**
+     * @return Value for the key, if any; "missing value" if none
+     */
+    public long get(long msb, long lsb)
+    {
+        final int ix = _find(msb, lsb);
+        return (ix < 0) ? _missingValue : _longValues[ix];
+    }
+
+    /**
+     * @return Previous value for the key, if any; "missing value" if none
+     */
+    public long put(UUID key, long value) {
+        return put(key.getMostSignificantBits(), key.getLeastSignificantBits(), value);
+    }
+
+    /**
+     * @return Previous value for the key, if any; "missing value" if none
+     */
+    public long put(long msb, long lsb, long value)
+    {
+        int ix = _insert(msb, lsb);
+        if (ix < 0) {
+            _longValues[~ix] = value;
+            return _missingValue;
+        }
+        final long old = _longValues[ix];
+        _longValues[ix] = value;
+        return old;
+    }
+
+    /**
+     * Method for adding given amount to the value of the key; if there is no entry
+     * for the key, one is added with value of {@code missingValue + delta}.
+     *
+     * @return New value for the key
+     */
+    public long addTo(long msb, long lsb, long delta)
+    {
+        int ix = _insert(msb, lsb);
+        if (ix < 0) {
+            return (_longValues[~ix] = _missingValue + delta);
+        }
+        return (_longValues[ix] += delta);
+    }
+
+    public long addTo(UUID key, long delta) {
+        return addTo(key.getMostSignificantBits(), key.getLeastSignificantBits(), delta);
+    }
+
+    /**
+     * @return Value of the removed entry, if any; "missing value" if none
+     */
+    public long remove(UUID key) {
+        return remove(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    /**
+     * @return Value of the removed entry, if any; "missing value" if none
+     */
+    public long remove(long msb, long lsb)
+    {
+        final int ix = _find(msb, lsb);
+        if (ix < 0) {
+            return _missingValue;
+        }
+        final long old = _longValues[ix];
+        _removeAt(ix);
+        return old;
+    }
+
+    /**
+     * Method for iterating over all entries in the map, in no particular order;
+     * map must not be modified during iteration.
+     */
+    public void forEach(ObjLongConsumer<? super UUID> action)
+    {
+        for (int i = 0, end = _mask; i <= end; ++i) {
+            if (_isUsed(i)) {
+                action.accept(new UUID(_msbs[i], _lsbs[i]), _longValues[i]);
+            }
+        }
+        if (_containsNil) {
+            action.accept(new UUID(0L, 0L), _longValues[_mask + 1]);
+        }
+    }
+}
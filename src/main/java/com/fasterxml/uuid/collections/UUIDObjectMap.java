@@ -0,0 +1,125 @@
+package com.fasterxml.uuid.collections;
+
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Map from UUIDs to arbitrary values, that stores keys as pairs of {@code long}s
+ * in open-addressing hash table (see {@link UUIDHashSet} for details).
+ * Null values are allowed, so {@link #get} returning null does not necessarily
+ * mean that there is no entry for the key: use {@link #containsKey} if distinction matters.
+ *<p>
+ * Instances are not thread-safe.
+ *
+ * @param <V> Type of values
+ *
+ * @since 5.3
+ */
+public class UUIDObjectMap<V> extends UUIDHashBase
+{
+    public UUIDObjectMap() {
+        this(DEFAULT_EXPECTED_SIZE, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @param expectedSize Number of entries map should be able to hold without resizing
+     */
+    public UUIDObjectMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @param expectedSize Number of entries map should be able to hold without resizing
+     * @param loadFactor Maximum ratio of entries to slots before resizing: between 0 and 1 (exclusive)
+     */
+    public UUIDObjectMap(int expectedSize, float loadFactor) {
+        super(expectedSize, loadFactor, true, false);
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    public boolean containsKey(UUID key) {
+        return _find(key.getMostSignificantBits(), key.getLeastSignificantBits()) >= 0;
+    }
+
+    public boolean containsKey(long msb, long lsb) {
+        return _find(msb, lsb) >= 0;
+    }
+
+    public V get(UUID key) {
+        return get(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long msb, long lsb)
+    {
+        final int ix = _find(msb, lsb);
+        return (ix < 0) ? null : (V) _objectValues[ix];
+    }
+
+    /**
+     * @return Previous value for the key, if any; null if none
+     */
+    public V put(UUID key, V value) {
+        return put(key.getMostSignificantBits(), key.getLeastSignificantBits(), value);
+    }
+
+    /**
+     * @return Previous value for the key, if any; null if none
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long msb, long lsb, V value)
+    {
+        int ix = _insert(msb, lsb);
+        if (ix < 0) {
+            _objectValues[~ix] = value;
+            return null;
+        }
+        V old = (V) _objectValues[ix];
+        _objectValues[ix] = value;
+        return old;
+    }
+
+    /**
+     * @return Value of the removed entry, if any; null if none
+     */
+    public V remove(UUID key) {
+        return remove(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    /**
+     * @return Value of the removed entry, if any; null if none
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long msb, long lsb)
+    {
+        final int ix = _find(msb, lsb);
+        if (ix < 0) {
+            return null;
+        }
+        V old = (V) _objectValues[ix];
+        _removeAt(ix);
+        return old;
+    }
+
+    /**
+     * Method for iterating over all entries in the map, in no particular order;
+     * map must not be modified during iteration.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super UUID, ? super V> action)
+    {
+        for (int i = 0, end = _mask; i <= end; ++i) {
+            if (_isUsed(i)) {
+                action.accept(new UUID(_msbs[i], _lsbs[i]), (V) _objectValues[i]);
+            }
+        }
+        if (_containsNil) {
+            action.accept(new UUID(0L, 0L), (V) _objectValues[_mask + 1]);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+/**
+Package that contains specialized collection types for UUIDs, which store
+them as primitive {@code long} pairs to reduce memory usage and avoid
+constructing {@link java.util.UUID} instances; including
+{@link com.fasterxml.uuid.collections.MappedUUIDHashSet} which stores
+UUIDs off-heap, in memory-mapped files.
+
+@since 5.3
+*/
+package com.fasterxml.uuid.collections;
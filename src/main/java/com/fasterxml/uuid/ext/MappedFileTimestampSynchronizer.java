@@ -0,0 +1,415 @@
+/* JUG Java Uuid Generator
+ *
+ * Copyright (c) 2002- Tatu Saloranta, tatu.saloranta@iki.fi
+ *
+ * Licensed under the License specified in the file LICENSE which is
+ * included with the source code.
+ * You may not use this file except in compliance with the License.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fasterxml.uuid.ext;
+
+import java.io.*;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.uuid.TimestampSynchronizer;
+
+/**
+ * Alternative to {@link FileBasedTimestampSynchronizer} that stores the "safe"
+ * timestamp in a single memory-mapped file, and does not make the caller wait
+ * for the value to be written to disk under normal operation.
+ *<p>
+ * File contains two slots (to always have one intact slot, even if the process
+ * dies while writing), each with a sequence number, timestamp and CRC-32 checksum:
+ * slot with the higher sequence number and valid checksum is the current one.
+ *<p>
+ * Persisted timestamp is kept up to {@code leaseCount} intervals ahead of
+ * the current time; {@link #update} only returns horizons up to the timestamp
+ * that is already durably stored (so crash safety is same as with
+ * {@link FileBasedTimestampSynchronizer}), but only a single interval ahead,
+ * and asks a background thread to extend the persisted timestamp.
+ * As a result caller only blocks on disk I/O if it gets past the persisted
+ * timestamp before the background thread has extended it (like on the very
+ * first call, or after system clock jumps forward); number of such blocking
+ * writes is available from {@link #getBlockingWriteCount()}.
+ *<p>
+ * Like with other synchronizers, caller is expected to serialize calls to
+ * {@link #update}.
+ *
+ * @since 5.3
+ */
+public final class MappedFileTimestampSynchronizer
+    extends TimestampSynchronizer
+{
+    private static final Logger logger = LoggerFactory.getLogger(MappedFileTimestampSynchronizer.class);
+
+    /**
+     * Default update interval is 10 seconds, same as with {@link FileBasedTimestampSynchronizer}
+     */
+    public final static long DEFAULT_UPDATE_INTERVAL = FileBasedTimestampSynchronizer.DEFAULT_UPDATE_INTERVAL;
+
+    /**
+     * By default, persisted timestamp is kept 3 intervals ahead of current time
+     */
+    public final static int DEFAULT_LEASE_COUNT = 3;
+
+    protected final static String DEFAULT_FILE_NAME = "uuid.stamp";
+
+    // // // File layout: header, followed by 2 slots
+
+    private final static long MAGIC = 0x4A55475354414D50L; // "JUGSTAMP"
+
+    private final static int VERSION = 1;
+
+    private final static int HEADER_SIZE = 16;
+
+    private final static int SLOT_SIZE = 24;
+
+    private final static int FILE_SIZE = HEADER_SIZE + 2 * SLOT_SIZE;
+
+    // Offsets within slots
+    private final static int SLOT_SEQUENCE = 0;
+    private final static int SLOT_TIMESTAMP = 8;
+    private final static int SLOT_CHECKSUM = 16;
+
+    // // // Configuration
+
+    protected final File _file;
+
+    protected final long _interval;
+
+    protected final int _leaseCount;
+
+    // // // File state
+
+    private final RandomAccessFile _raFile;
+
+    private final FileLock _lock;
+
+    private final MappedByteBuffer _buffer;
+
+    private final CRC32 _crc = new CRC32();
+
+    // // // Persistence state
+
+    /**
+     * Lock held while writing to the file; separate from the monitor of
+     * this object (used for requesting writes) so that requesting a
+     * background write never waits for one in progress
+     */
+    private final Object _writeLock = new Object();
+
+    /**
+     * Sequence number of the most recently written slot; guarded by {@link #_writeLock}
+     */
+    private long _sequence;
+
+    /**
+     * Timestamp read from the file on initialization: never write anything lower,
+     * even if system clock is behind it; guarded by {@link #_writeLock}
+     */
+    private long _initialTimestamp;
+
+    /**
+     * Timestamp (exclusive) up to which timestamps are durably reserved
+     */
+    private volatile long _persistedTimestamp;
+
+    /**
+     * Timestamp background thread has been asked to persist; guarded by 'this'
+     */
+    private long _requestedTimestamp;
+
+    private boolean _closed;
+
+    private Thread _flusher;
+
+    // // // Statistics
+
+    private volatile long _blockingWrites, _backgroundWrites;
+
+    /**
+     * Constructor that uses default values for the file name (file created in
+     * the current working directory), update interval and lease count.
+     */
+    public MappedFileTimestampSynchronizer() throws IOException {
+        this(new File(DEFAULT_FILE_NAME));
+    }
+
+    public MappedFileTimestampSynchronizer(File file) throws IOException {
+        this(file, DEFAULT_UPDATE_INTERVAL, DEFAULT_LEASE_COUNT);
+    }
+
+    /**
+     * @param file File to store the timestamp in
+     * @param interval Length of time (in milliseconds) reserved by each call to {@link #update}
+     * @param leaseCount How many intervals ahead of current time to persist timestamp;
+     *    at least 2
+     */
+    public MappedFileTimestampSynchronizer(File file, long interval, int leaseCount)
+        throws IOException
+    {
+        if (interval < 1L) {
+            throw new IllegalArgumentException("Illegal interval ("+interval+"); has to be a positive integer value");
+        }
+        if (leaseCount < 2) {
+            throw new IllegalArgumentException("Illegal lease count ("+leaseCount+"); has to be at least 2");
+        }
+        _file = file;
+        _interval = interval;
+        _leaseCount = leaseCount;
+
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        boolean ok = false;
+        try {
+            _lock = raf.getChannel().tryLock();
+            if (_lock == null) {
+                throw new IOException("Failed to lock '"+file+"' (another JVM running UUIDGenerator?)");
+            }
+            _buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0L, FILE_SIZE);
+            ok = true;
+        } finally {
+            if (!ok) {
+                raf.close();
+            }
+        }
+        _raFile = raf;
+    }
+
+    /*
+    /**********************************************************************
+    /* Accessors
+    /**********************************************************************
+     */
+
+    public long getUpdateInterval() { return _interval; }
+
+    public int getLeaseCount() { return _leaseCount; }
+
+    /**
+     * @return Timestamp (exclusive) up to which timestamps have been durably reserved
+     */
+    public long getPersistedTimestamp() { return _persistedTimestamp; }
+
+    /**
+     * @return Number of times caller of {@link #update} had to wait for the timestamp
+     *    to be written
+     */
+    public long getBlockingWriteCount() { return _blockingWrites; }
+
+    /**
+     * @return Number of times timestamp was written by the background thread
+     */
+    public long getBackgroundWriteCount() { return _backgroundWrites; }
+
+    /*
+    /**********************************************************************
+    /* Implementation of the API
+    /**********************************************************************
+     */
+
+    @Override
+    protected long initialize() throws IOException
+    {
+        synchronized (_writeLock) {
+            return _initialize();
+        }
+    }
+
+    private long _initialize()
+    {
+        long result = 0L;
+        if (_buffer.getLong(0) == MAGIC && _buffer.getInt(8) == VERSION) {
+            final int first = HEADER_SIZE;
+            final int second = HEADER_SIZE + SLOT_SIZE;
+            final boolean firstValid = _isValidSlot(first);
+            final boolean secondValid = _isValidSlot(second);
+            int slot = -1;
+            if (firstValid && secondValid) {
+                slot = (_buffer.getLong(first + SLOT_SEQUENCE) > _buffer.getLong(second + SLOT_SEQUENCE))
+                        ? first : second;
+            } else if (firstValid) {
+                slot = first;
+            } else if (secondValid) {
+                slot = second;
+            }
+            if (slot > 0) {
+                _sequence = _buffer.getLong(slot + SLOT_SEQUENCE);
+                result = _buffer.getLong(slot + SLOT_TIMESTAMP);
+            }
+        } else {
+            _buffer.putLong(0, MAGIC);
+            _buffer.putInt(8, VERSION);
+        }
+        if (result <= 0L) {
+            logger.warn("Could not determine safe timer starting point: assuming current system time is acceptable");
+            result = 0L;
+        } else {
+            final long now = System.currentTimeMillis();
+            if ((now + _interval * _leaseCount) < result) {
+                logger.warn("Safe timestamp read is {} milliseconds in future, and is greater than the reserved period ({})",
+                        (result - now), _interval * _leaseCount);
+            }
+        }
+        // Nothing reserved by this instance yet: first update() needs to write
+        _initialTimestamp = result;
+        _persistedTimestamp = 0L;
+        return result;
+    }
+
+    @Override
+    public void deactivate() throws IOException
+    {
+        final Thread flusher;
+        synchronized (this) {
+            if (_closed) {
+                return;
+            }
+            _closed = true;
+            flusher = _flusher;
+            notifyAll();
+        }
+        if (flusher != null) {
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            synchronized (_writeLock) {
+                _buffer.force();
+            }
+        } finally {
+            try {
+                _lock.release();
+            } finally {
+                _raFile.close();
+            }
+        }
+    }
+
+    /**
+     * @return Timestamp value that the caller can NOT use; at most one interval
+     *   ahead of {@code now}, and never beyond persisted timestamp
+     */
+    @Override
+    public long update(long now) throws IOException
+    {
+        final long wanted = now + _interval;
+        long persisted = _persistedTimestamp;
+        if (persisted <= now) { // out of reserved timestamps: must wait
+            synchronized (_writeLock) {
+                persisted = _persistedTimestamp;
+                if (persisted <= now) {
+                    persisted = _write(now + _interval * _leaseCount);
+                    ++_blockingWrites;
+                }
+            }
+        } else if (persisted - now < _interval * (_leaseCount - 1)) {
+            // still have room, but start extending
+            _requestWrite(now + _interval * _leaseCount);
+        }
+        return Math.min(wanted, persisted);
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    private synchronized void _requestWrite(long timestamp) throws IOException
+    {
+        if (_closed) {
+            throw new IOException("Synchronizer for '"+_file+"' has been deactivated");
+        }
+        if (timestamp > _requestedTimestamp) {
+            _requestedTimestamp = timestamp;
+            if (_flusher == null) {
+                _flusher = new Thread(this::_flushLoop, "UUID-timestamp-flusher");
+                _flusher.setDaemon(true);
+                _flusher.start();
+            } else {
+                notifyAll();
+            }
+        }
+    }
+
+    private void _flushLoop()
+    {
+        while (true) {
+            final long timestamp;
+            synchronized (this) {
+                while (!_closed && _requestedTimestamp <= _persistedTimestamp) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (_closed) {
+                    return;
+                }
+                timestamp = _requestedTimestamp;
+            }
+            synchronized (_writeLock) {
+                if (timestamp > _persistedTimestamp) {
+                    _write(timestamp);
+                    ++_backgroundWrites;
+                }
+            }
+        }
+    }
+
+    /**
+     * Method for writing given timestamp into the older slot and forcing it
+     * to disk; must be called while holding {@link #_writeLock}.
+     *
+     * @return Timestamp persisted
+     */
+    private long _write(long timestamp)
+    {
+        timestamp = Math.max(timestamp, _initialTimestamp);
+        final long seq = _sequence + 1;
+        final int slot = HEADER_SIZE + (int) (seq & 1) * SLOT_SIZE;
+        _buffer.putLong(slot + SLOT_SEQUENCE, seq);
+        _buffer.putLong(slot + SLOT_TIMESTAMP, timestamp);
+        _buffer.putInt(slot + SLOT_CHECKSUM, _checksum(slot));
+        _buffer.force();
+        _sequence = seq;
+        if (timestamp > _persistedTimestamp) {
+            _persistedTimestamp = timestamp;
+        }
+        return _persistedTimestamp;
+    }
+
+    private boolean _isValidSlot(int slot) {
+        return _buffer.getInt(slot + SLOT_CHECKSUM) == _checksum(slot);
+    }
+
+    private int _checksum(int slot)
+    {
+        // Casts needed to link against Java 8 signatures (JDK 9+ has covariant overrides)
+        ByteBuffer bb = ((ByteBuffer) _buffer).duplicate();
+        ((Buffer) bb).position(slot);
+        ((Buffer) bb).limit(slot + SLOT_CHECKSUM);
+        _crc.reset();
+        _crc.update(bb);
+        return (int) _crc.getValue();
+    }
+}
@@ -0,0 +1,172 @@
+package com.fasterxml.uuid.impl;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.uuid.StringArgGenerator;
+import com.fasterxml.uuid.UUIDType;
+
+/**
+ * Wrapper for {@link NameBasedGenerator} that keeps a bounded cache of
+ * recently generated UUIDs, so that repeated names need not be hashed again.
+ * Useful when a relatively small set of names is used very frequently.
+ *<p>
+ * Each instance wraps a generator for one namespace, and has its own cache;
+ * so separate instances are needed (and cached entries kept separately)
+ * for different namespaces.
+ * Names passed as {@code String} and as {@code byte[]} are cached separately,
+ * although they result in same UUIDs.
+ *
+ * @since 5.3
+ */
+public class CachingNameBasedGenerator extends StringArgGenerator
+{
+    /**
+     * Enumeration of policies for choosing entries to evict when cache is full.
+     */
+    public enum EvictionPolicy
+    {
+        /**
+         * Evict least recently used entry.
+         */
+        LRU,
+
+        /**
+         * Use "Window TinyLFU" policy: recently added entries are kept in a small
+         * LRU window, from which they are only admitted to the main cache area if
+         * they are used more frequently than entries that would be evicted.
+         * Better than {@link #LRU} at keeping hot names cached when there are also
+         * lots of names that are only used once.
+         */
+        TINY_LFU;
+    }
+
+    public final static EvictionPolicy DEFAULT_EVICTION_POLICY = EvictionPolicy.LRU;
+
+    protected final NameBasedGenerator _generator;
+
+    protected final NameCache _cache;
+
+    protected final EvictionPolicy _evictionPolicy;
+
+    protected final int _maxSize;
+
+    protected final LongAdder _hits = new LongAdder();
+
+    protected final LongAdder _misses = new LongAdder();
+
+    /*
+    /**********************************************************************
+    /* Construction
+    /**********************************************************************
+     */
+
+    /**
+     * @param generator Generator to use for names not found in cache
+     * @param maxSize Maximum number of entries to keep in cache
+     */
+    public CachingNameBasedGenerator(NameBasedGenerator generator, int maxSize) {
+        this(generator, DEFAULT_EVICTION_POLICY, maxSize);
+    }
+
+    /**
+     * @param generator Generator to use for names not found in cache
+     * @param policy Policy for choosing entries to evict when cache is full
+     * @param maxSize Maximum number of entries to keep in cache
+     */
+    public CachingNameBasedGenerator(NameBasedGenerator generator, EvictionPolicy policy,
+            int maxSize)
+    {
+        _generator = Objects.requireNonNull(generator);
+        _evictionPolicy = Objects.requireNonNull(policy);
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Invalid cache size ("+maxSize+"): must be positive");
+        }
+        _maxSize = maxSize;
+        _cache = NameCache.construct(policy, maxSize);
+    }
+
+    /*
+    /**********************************************************************
+    /* Access to config, statistics
+    /**********************************************************************
+     */
+
+    @Override
+    public UUIDType getType() { return _generator.getType(); }
+
+    public UUID getNamespace() { return _generator.getNamespace(); }
+
+    /**
+     * @return Generator used for names that are not found in cache
+     */
+    public NameBasedGenerator getGenerator() { return _generator; }
+
+    public EvictionPolicy getEvictionPolicy() { return _evictionPolicy; }
+
+    public int getMaxSize() { return _maxSize; }
+
+    /**
+     * @return Number of entries currently cached
+     */
+    public int size() { return _cache.size(); }
+
+    /**
+     * @return Number of calls for which UUID was found in cache
+     */
+    public long getHitCount() { return _hits.sum(); }
+
+    /**
+     * @return Number of calls for which UUID had to be generated
+     */
+    public long getMissCount() { return _misses.sum(); }
+
+    /**
+     * @return Number of entries evicted (or not admitted, for
+     *    {@link EvictionPolicy#TINY_LFU}) due to cache being full
+     */
+    public long getEvictionCount() { return _cache.getEvictionCount(); }
+
+    /**
+     * Method for removing all cached entries; statistics are not reset.
+     */
+    public void clear() {
+        _cache.clear();
+    }
+
+    /*
+    /**********************************************************************
+    /* UUID generation
+    /**********************************************************************
+     */
+
+    @Override
+    public UUID generate(String name)
+    {
+        UUID uuid = _cache.get(name);
+        if (uuid != null) {
+            _hits.increment();
+            return uuid;
+        }
+        _misses.increment();
+        uuid = _generator.generate(name);
+        _cache.put(name, uuid);
+        return uuid;
+    }
+
+    @Override
+    public UUID generate(byte[] nameBytes)
+    {
+        UUID uuid = _cache.get(new NameCache.BytesKey(nameBytes));
+        if (uuid != null) {
+            _hits.increment();
+            return uuid;
+        }
+        _misses.increment();
+        uuid = _generator.generate(nameBytes);
+        // must copy, since caller may modify array afterwards
+        _cache.put(new NameCache.BytesKey(nameBytes.clone()), uuid);
+        return uuid;
+    }
+}
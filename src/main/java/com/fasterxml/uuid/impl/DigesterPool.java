@@ -0,0 +1,165 @@
+package com.fasterxml.uuid.impl;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free pool of {@link MessageDigest} instances (along with
+ * reusable buffers for digest output) used by {@link NameBasedGenerator}
+ * to allow concurrent hashing, instead of serializing all calls on a single
+ * digester.
+ *<p>
+ * Pool does not use {@link ThreadLocal}s, so it works well with large numbers
+ * of short-lived (or virtual) threads: callers {@link #acquire} an entry,
+ * and {@link #release} it after use. If the pool is empty, a new entry is created
+ * (by cloning the prototype digester); if the pool is full on release, the
+ * entry is simply dropped.
+ *
+ * @since 5.3
+ */
+public class DigesterPool
+{
+    /**
+     * Digester, with buffer for output (and other scratch use) that
+     * may be used by the caller who acquired it.
+     */
+    public final static class Entry
+    {
+        public final MessageDigest digester;
+
+        /**
+         * Buffer at least as long as digest length (and at least {@link #MIN_BUFFER_LENGTH}
+         * bytes)
+         */
+        public final byte[] buffer;
+
+        Entry(MessageDigest digester, int bufferLength) {
+            this.digester = digester;
+            buffer = new byte[Math.max(bufferLength, digester.getDigestLength())];
+        }
+    }
+
+    public final static int MIN_BUFFER_LENGTH = 256;
+
+    /**
+     * Digester all entries are copies of; never used for hashing itself
+     */
+    protected final MessageDigest _prototype;
+
+    protected final AtomicReferenceArray<Entry> _entries;
+
+    protected final int _mask;
+
+    /**
+     * @param prototype Digester to create copies of
+     * @param maxSize Maximum number of idle digesters to keep; rounded up to the
+     *    next power of two
+     */
+    public DigesterPool(MessageDigest prototype, int maxSize)
+    {
+        _prototype = Objects.requireNonNull(prototype);
+        if (maxSize < 1 || maxSize > (1 << 16)) {
+            throw new IllegalArgumentException("Invalid pool size ("+maxSize
+                    +"): must be between 1 and 65536");
+        }
+        final int size = Striping.roundToPowerOfTwo(maxSize);
+        _entries = new AtomicReferenceArray<>(size);
+        _mask = size - 1;
+        // Need to ensure we can create copies
+        _entries.set(0, _createEntry());
+    }
+
+    /**
+     * Factory method for constructing pool for digesters of given algorithm,
+     * sized based on number of available processors.
+     */
+    public static DigesterPool forAlgorithm(String algorithm)
+    {
+        try {
+            return new DigesterPool(MessageDigest.getInstance(algorithm), defaultSize());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Couldn't instantiate "+algorithm
+                    +" MessageDigest instance: "+e.toString());
+        }
+    }
+
+    /**
+     * @return Default pool size: twice the number of available processors
+     */
+    public static int defaultSize() {
+        return 2 * Runtime.getRuntime().availableProcessors();
+    }
+
+    public String getAlgorithm() { return _prototype.getAlgorithm(); }
+
+    public int getMaxSize() { return _mask + 1; }
+
+    /*
+    /**********************************************************************
+    /* Pool access
+    /**********************************************************************
+     */
+
+    /**
+     * Method for getting a digester (in reset state) to use; needs to be
+     * returned using {@link #release} once caller is done with it.
+     */
+    public Entry acquire()
+    {
+        final int mask = _mask;
+        final int start = Striping.threadIndex(mask);
+        for (int i = 0; i <= mask; ++i) {
+            final int ix = (start + i) & mask;
+            if (_entries.get(ix) != null) {
+                final Entry entry = _entries.getAndSet(ix, null);
+                if (entry != null) {
+                    return entry;
+                }
+            }
+        }
+        return _createEntry();
+    }
+
+    /**
+     * Method for returning a digester acquired using {@link #acquire}; after
+     * calling this caller must not use the entry any more.
+     */
+    public void release(Entry entry)
+    {
+        entry.digester.reset();
+        final int mask = _mask;
+        final int start = Striping.threadIndex(mask);
+        for (int i = 0; i <= mask; ++i) {
+            final int ix = (start + i) & mask;
+            if (_entries.get(ix) == null && _entries.compareAndSet(ix, null, entry)) {
+                return;
+            }
+        }
+        // Pool full: just let it be GC'd
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    protected Entry _createEntry()
+    {
+        MessageDigest digester;
+        try {
+            digester = (MessageDigest) _prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            try {
+                digester = MessageDigest.getInstance(_prototype.getAlgorithm(), _prototype.getProvider());
+            } catch (NoSuchAlgorithmException e2) {
+                throw new IllegalStateException("Couldn't create copy of "+_prototype.getAlgorithm()
+                        +" MessageDigest: "+e2, e2);
+            }
+        }
+        digester.reset();
+        return new Entry(digester, MIN_BUFFER_LENGTH);
+    }
+}
@@ -0,0 +1,197 @@
+package com.fasterxml.uuid.impl;
+
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Helper class that fetches random bytes from a (secure) random number generator
+ * in large blocks, and hands them out in smaller pieces, to amortize
+ * per-call overhead of {@link SecureRandom#nextBytes} (which is synchronized
+ * and has significant fixed cost).
+ *<p>
+ * Blocks are held in a number of "stripes", selected based on the calling thread,
+ * to reduce contention between threads. Refill policy is defined by two settings:
+ *<ul>
+ * <li>Block size: number of bytes each stripe fetches when it runs out of bytes
+ *  (bigger blocks mean fewer calls to the random number generator, but more
+ *  random data held in memory)
+ *  </li>
+ * <li>Source: either a single random number generator shared by all stripes,
+ *  or (if none is passed) separate {@link SecureRandom} for each stripe,
+ *  in which case refills of different stripes do not contend with each other.
+ *  </li>
+ *</ul>
+ * Instances are fully thread-safe.
+ *
+ * @since 5.3
+ */
+public class EntropyPool
+{
+    /**
+     * Default block size: 16 kB
+     */
+    public final static int DEFAULT_BLOCK_SIZE = 16 * 1024;
+
+    public final static int MIN_BLOCK_SIZE = 64;
+
+    public final static int MAX_BLOCK_SIZE = 1024 * 1024;
+
+    private final Stripe[] _stripes;
+
+    private final int _stripeMask;
+
+    private final int _blockSize;
+
+    /*
+    /**********************************************************************
+    /* Construction
+    /**********************************************************************
+     */
+
+    /**
+     * @param source Random number generator to fetch bytes from; if null,
+     *   a new {@link SecureRandom} is created for each stripe
+     * @param blockSize Number of bytes to fetch at a time: must be a multiple of
+     *   8 between {@link #MIN_BLOCK_SIZE} and {@link #MAX_BLOCK_SIZE}
+     * @param stripes Number of stripes to use; rounded up to the next power of two
+     */
+    public EntropyPool(Random source, int blockSize, int stripes)
+    {
+        if (blockSize < MIN_BLOCK_SIZE || blockSize > MAX_BLOCK_SIZE || (blockSize & 7) != 0) {
+            throw new IllegalArgumentException("Invalid block size ("+blockSize+"): must be a multiple of 8 between "
+                    +MIN_BLOCK_SIZE+" and "+MAX_BLOCK_SIZE);
+        }
+        if (stripes < 1 || stripes > (1 << 16)) {
+            throw new IllegalArgumentException("Invalid number of stripes ("+stripes
+                    +"): must be between 1 and 65536");
+        }
+        stripes = Striping.roundToPowerOfTwo(stripes);
+        _blockSize = blockSize;
+        _stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; ++i) {
+            _stripes[i] = new Stripe((source == null) ? new SecureRandom()::nextBytes : source::nextBytes,
+                    blockSize);
+        }
+        _stripeMask = stripes - 1;
+    }
+
+    /**
+     * Factory method for constructing pool that uses default block size,
+     * one stripe per available processor, and separate {@link SecureRandom}
+     * instance for each stripe.
+     */
+    public static EntropyPool secureRandomPool() {
+        return new EntropyPool(null, DEFAULT_BLOCK_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    /*
+    /**********************************************************************
+    /* Access to config, statistics
+    /**********************************************************************
+     */
+
+    public int getBlockSize() { return _blockSize; }
+
+    public int getStripeCount() { return _stripes.length; }
+
+    /**
+     * @return Total number of random bytes fetched from the underlying random
+     *    number generator(s) so far
+     */
+    public long getBytesFetched() {
+        long total = 0L;
+        for (Stripe stripe : _stripes) {
+            synchronized (stripe) {
+                total += stripe.fetched;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @return Total number of random bytes handed out to callers so far
+     */
+    public long getBytesConsumed() {
+        long total = 0L;
+        for (Stripe stripe : _stripes) {
+            synchronized (stripe) {
+                total += stripe.consumed;
+            }
+        }
+        return total;
+    }
+
+    /*
+    /**********************************************************************
+    /* Access to random data
+    /**********************************************************************
+     */
+
+    /**
+     * @return Next 64 random bits from the stripe of the calling thread
+     */
+    public long nextLong()
+    {
+        final Stripe stripe = _stripe();
+        synchronized (stripe) {
+            return stripe.nextLong();
+        }
+    }
+
+    /**
+     * Method for filling given array with random values, taken from the stripe
+     * of the calling thread.
+     */
+    public void nextLongs(long[] buffer, int offset, int count)
+    {
+        final Stripe stripe = _stripe();
+        synchronized (stripe) {
+            for (final int end = offset + count; offset < end; ++offset) {
+                buffer[offset] = stripe.nextLong();
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    private Stripe _stripe() {
+        return _stripes[Striping.threadIndex(_stripeMask)];
+    }
+
+    /**
+     * Per-stripe state; accessed while holding lock on the instance.
+     */
+    private final static class Stripe
+    {
+        private final Consumer<byte[]> _source;
+
+        private final byte[] _block;
+
+        private int _offset;
+
+        long fetched, consumed;
+
+        Stripe(Consumer<byte[]> source, int blockSize) {
+            _source = source;
+            _block = new byte[blockSize];
+            _offset = blockSize; // fetch lazily
+        }
+
+        long nextLong() {
+            if (_offset == _block.length) {
+                _source.accept(_block);
+                _offset = 0;
+                fetched += _block.length;
+            }
+            final long l = UUIDUtil.gatherLong(_block, _offset);
+            _offset += 8;
+            consumed += 8;
+            return l;
+        }
+    }
+}
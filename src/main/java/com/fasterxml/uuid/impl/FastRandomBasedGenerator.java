@@ -0,0 +1,76 @@
+package com.fasterxml.uuid.impl;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+import com.fasterxml.uuid.NoArgGenerator;
+import com.fasterxml.uuid.UUIDType;
+
+/**
+ * Implementation of UUID generator that uses generation method 4, with random
+ * bits from a fast, non-cryptographic source (see {@link FastRandomSources}).
+ * Unlike {@link RandomBasedGenerator} with a {@link java.util.Random}, calls
+ * from different threads do not contend on shared random number generator state.
+ *<p>
+ * NOTE: UUIDs generated are not unguessable; use {@link RandomBasedGenerator}
+ * (with {@link java.security.SecureRandom}) if that matters.
+ *
+ * @since 5.3
+ */
+public class FastRandomBasedGenerator extends NoArgGenerator
+{
+    /**
+     * Thread-safe source of random bits.
+     */
+    protected final LongSupplier _random;
+
+    /**
+     * @param random Thread-safe source of random bits, usually one from
+     *    {@link FastRandomSources}
+     */
+    public FastRandomBasedGenerator(LongSupplier random)
+    {
+        _random = Objects.requireNonNull(random);
+    }
+
+    /*
+    /**********************************************************************
+    /* Access to config
+    /**********************************************************************
+     */
+
+    @Override
+    public UUIDType getType() { return UUIDType.RANDOM_BASED; }
+
+    /*
+    /**********************************************************************
+    /* UUID generation
+    /**********************************************************************
+     */
+
+    @Override
+    public UUID generate()
+    {
+        final long r1 = _random.getAsLong();
+        final long r2 = _random.getAsLong();
+        return UUIDUtil.constructUUID(UUIDType.RANDOM_BASED, r1, r2);
+    }
+
+    @Override
+    public void generate(UUID[] buffer, int offset, int count)
+    {
+        _generateUsingPairs(buffer, offset, count);
+    }
+
+    @Override
+    public void generate(long[] buffer, int offset, int count)
+    {
+        _checkBulkArguments(buffer.length, offset, count, 2);
+        final LongSupplier random = _random;
+        for (int i = 0; i < count; ++i) {
+            buffer[offset++] = UUIDUtil.initUUIDFirstLong(random.getAsLong(), UUIDType.RANDOM_BASED);
+            buffer[offset++] = UUIDUtil.initUUIDSecondLong(random.getAsLong());
+        }
+    }
+}
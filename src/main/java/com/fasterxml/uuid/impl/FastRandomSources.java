@@ -0,0 +1,150 @@
+package com.fasterxml.uuid.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Factory for thread-safe, non-cryptographic sources of random {@code long}s
+ * used by {@link FastRandomBasedGenerator} and {@link FastTimeBasedEpochRandomGenerator}.
+ * None of the sources share mutable state between threads: each thread uses
+ * a generator instance of its own.
+ *<p>
+ * Sources are fast and have good statistical quality, but their output is
+ * predictable for anyone who sees enough of it: they should NOT be used for
+ * UUIDs that need to be unguessable.
+ *<p>
+ * JDK 17 {@code java.util.random.RandomGenerator} algorithms are accessed
+ * dynamically, so that this library still runs on Java 8; on older JDKs
+ * {@link #bestAvailable()} falls back to {@link SplittableRandom}.
+ *
+ * @since 5.3
+ */
+public final class FastRandomSources
+{
+    /**
+     * Name of the JDK 17+ random number generator algorithm {@link #bestAvailable()}
+     * uses, if available.
+     */
+    public final static String DEFAULT_ALGORITHM = "L64X128MixRandom";
+
+    private final static MethodHandle RANDOM_GENERATOR_OF;
+
+    private final static MethodHandle RANDOM_GENERATOR_NEXT_LONG;
+
+    static {
+        MethodHandle of = null, nextLong = null;
+        try {
+            final Class<?> cls = Class.forName("java.util.random.RandomGenerator");
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            of = lookup.findStatic(cls, "of", MethodType.methodType(cls, String.class))
+                    .asType(MethodType.methodType(Object.class, String.class));
+            nextLong = lookup.findVirtual(cls, "nextLong", MethodType.methodType(long.class))
+                    .asType(MethodType.methodType(long.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            // Pre-17 JDK: not available
+            of = null;
+            nextLong = null;
+        }
+        RANDOM_GENERATOR_OF = of;
+        RANDOM_GENERATOR_NEXT_LONG = nextLong;
+    }
+
+    private FastRandomSources() { }
+
+    /**
+     * @return Source that uses {@link ThreadLocalRandom} of the calling thread
+     */
+    public static LongSupplier threadLocalRandom() {
+        return () -> ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * @return Source that uses a {@link SplittableRandom} per thread, each split
+     *    from a common root seeded using {@link SecureRandom}
+     */
+    public static LongSupplier splittableRandom()
+    {
+        final SplittableRandom root = new SplittableRandom(new SecureRandom().nextLong());
+        final ThreadLocal<SplittableRandom> local = ThreadLocal.withInitial(() -> {
+            // root itself is not thread-safe, but splitting is rare
+            synchronized (root) {
+                return root.split();
+            }
+        });
+        return () -> local.get().nextLong();
+    }
+
+    /**
+     * @param algorithm Name of JDK 17 {@code RandomGenerator} algorithm
+     *    (like {@link #DEFAULT_ALGORITHM}).
+     *
+     * @return True if running on JDK 17 or later and named algorithm is available
+     */
+    public static boolean isAvailable(String algorithm)
+    {
+        if (RANDOM_GENERATOR_OF == null) {
+            return false;
+        }
+        try {
+            return RANDOM_GENERATOR_OF.invokeExact(algorithm) != null;
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    /**
+     * @param algorithm Name of JDK 17 {@code RandomGenerator} algorithm
+     *    (like {@link #DEFAULT_ALGORITHM}).
+     *
+     * @return Source that uses an instance of named algorithm per thread
+     *
+     * @throws IllegalArgumentException If algorithm is not available
+     *    (see {@link #isAvailable})
+     */
+    public static LongSupplier randomGenerator(final String algorithm)
+    {
+        if (!isAvailable(algorithm)) {
+            throw new IllegalArgumentException("Random generator algorithm '"+algorithm
+                    +"' not available (requires JDK 17 or later)");
+        }
+        final ThreadLocal<Object> local = ThreadLocal.withInitial(() -> _create(algorithm));
+        return () -> _nextLong(local.get());
+    }
+
+    /**
+     * @return Source that uses {@link #DEFAULT_ALGORITHM} if available (see
+     *    {@link #randomGenerator}); otherwise {@link #splittableRandom()}
+     */
+    public static LongSupplier bestAvailable()
+    {
+        if (isAvailable(DEFAULT_ALGORITHM)) {
+            return randomGenerator(DEFAULT_ALGORITHM);
+        }
+        return splittableRandom();
+    }
+
+    private static Object _create(String algorithm)
+    {
+        try {
+            return RANDOM_GENERATOR_OF.invokeExact(algorithm);
+        } catch (Throwable t) { // already verified to be available
+            throw new IllegalStateException("Failed to create '"+algorithm+"' generator: "+t, t);
+        }
+    }
+
+    private static long _nextLong(Object generator)
+    {
+        try {
+            return (long) RANDOM_GENERATOR_NEXT_LONG.invokeExact(generator);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) { // cannot occur, nextLong() declares no checked exceptions
+            throw new IllegalStateException(t);
+        }
+    }
+}
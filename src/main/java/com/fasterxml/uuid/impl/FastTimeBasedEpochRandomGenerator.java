@@ -0,0 +1,105 @@
+package com.fasterxml.uuid.impl;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+import com.fasterxml.uuid.NoArgGenerator;
+import com.fasterxml.uuid.UUIDClock;
+import com.fasterxml.uuid.UUIDType;
+
+/**
+ * Implementation of UUID generator that uses Unix Epoch timestamp
+ * ("Version 7") with all 74 remaining bits random for every call
+ * (like {@link TimeBasedEpochRandomGenerator}), taken from a fast,
+ * non-cryptographic source (see {@link FastRandomSources}).
+ * Generator keeps no mutable state, so concurrent calls do not contend
+ * with each other.
+ *<p>
+ * NOTE: as with {@link TimeBasedEpochRandomGenerator}, values generated within
+ * same millisecond are not ordered; and random part is not unguessable.
+ *
+ * @since 5.3
+ */
+public class FastTimeBasedEpochRandomGenerator extends NoArgGenerator
+{
+    /**
+     * Thread-safe source of random bits.
+     */
+    protected final LongSupplier _random;
+
+    /**
+     * Underlying {@link UUIDClock} used for accessing current time, to use for
+     * generation.
+     */
+    protected final UUIDClock _clock;
+
+    /**
+     * @param random Thread-safe source of random bits, usually one from
+     *    {@link FastRandomSources}
+     * @param clock Object used for accessing current time to use for generation
+     */
+    public FastTimeBasedEpochRandomGenerator(LongSupplier random, UUIDClock clock)
+    {
+        _random = Objects.requireNonNull(random);
+        _clock = Objects.requireNonNull(clock);
+    }
+
+    /*
+    /**********************************************************************
+    /* Access to config
+    /**********************************************************************
+     */
+
+    @Override
+    public UUIDType getType() { return UUIDType.TIME_BASED_EPOCH; }
+
+    /*
+    /**********************************************************************
+    /* UUID generation
+    /**********************************************************************
+     */
+
+    @Override
+    public UUID generate()
+    {
+        return construct(_clock.currentTimeMillis());
+    }
+
+    /**
+     * Method that will construct actual {@link UUID} instance for given
+     * unix epoch timestamp, with random bits from source.
+     *
+     * @param rawTimestamp unix epoch millis
+     *
+     * @return unix epoch time based UUID
+     */
+    public UUID construct(long rawTimestamp)
+    {
+        final long r1 = _random.getAsLong();
+        final long r2 = _random.getAsLong();
+        return new UUID(UUIDUtil.epochFirstLong(rawTimestamp, r1),
+                UUIDUtil.initUUIDSecondLong(r2));
+    }
+
+    @Override
+    public void generate(UUID[] buffer, int offset, int count)
+    {
+        _generateUsingPairs(buffer, offset, count);
+    }
+
+    /**
+     * Bulk generation method that reads clock once per call.
+     */
+    @Override
+    public void generate(long[] buffer, int offset, int count)
+    {
+        _checkBulkArguments(buffer.length, offset, count, 2);
+        final long timestamp = _clock.currentTimeMillis();
+        final LongSupplier random = _random;
+        for (int i = 0; i < count; ++i) {
+            buffer[offset++] = UUIDUtil.epochFirstLong(timestamp, random.getAsLong());
+            buffer[offset++] = UUIDUtil.initUUIDSecondLong(random.getAsLong());
+        }
+    }
+}
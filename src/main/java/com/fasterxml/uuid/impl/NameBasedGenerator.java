@@ -2,8 +2,15 @@ package com.fasterxml.uuid.impl;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
 import java.util.UUID;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
 
 import com.fasterxml.uuid.StringArgGenerator;
 import com.fasterxml.uuid.UUIDType;
@@ -13,7 +20,8 @@ import com.fasterxml.uuid.UUIDType;
  * (versions 3 (MD5) and 5 (SHA1)).
  *<p>
  * As all JUG provided implementations, this generator is fully thread-safe; access
- * to digester is synchronized as necessary.
+ * to digester is synchronized as necessary. Alternatively generator may be constructed
+ * with a {@link DigesterPool}, in which case concurrent calls use separate digesters.
  * 
  * @since 3.0
  */
@@ -51,13 +59,51 @@ public class NameBasedGenerator extends StringArgGenerator
      * Namespace to use as prefix.
      */
     protected final UUID _namespace;
+
+    /**
+     * Serialized {@link #_namespace}, if any (null if none), to feed to digester
+     * before name.
+     *<p>
+     * Note that digest state is not precomputed (as namespace is only 16 bytes,
+     * no hash block gets processed before name), just the bytes.
+     *
+     * @since 5.3
+     */
+    protected final byte[] _namespaceBytes;
     
     /**
-     * Message digesster to use for hash calculation
+     * Message digesster to use for hash calculation; null if {@link #_digesterPool}
+     * is used instead
      */
     protected final MessageDigest _digester;
 
+    /**
+     * Scratch buffer used for encoding names and for digest output when
+     * using {@link #_digester}; access guarded by synchronizing on digester.
+     * Null if {@link #_digesterPool} is used (pool entries have their own buffers).
+     *
+     * @since 5.3
+     */
+    protected final byte[] _scratchBuffer;
+
+    /**
+     * Pool of digesters to use for hash calculation, if any; null if single
+     * {@link #_digester} is used
+     *
+     * @since 5.3
+     */
+    protected final DigesterPool _digesterPool;
+
     protected final UUIDType _type;
+
+    /**
+     * Minimum number of names for each fork-join task bulk generation methods
+     * split work into (unless there are fewer names in total): ranges are only
+     * split if both halves have at least this many names.
+     *
+     * @since 5.3
+     */
+    protected final static int BULK_SPLIT_THRESHOLD = 512;
     
     /*
     /**********************************************************************
@@ -76,24 +122,52 @@ public class NameBasedGenerator extends StringArgGenerator
     public NameBasedGenerator(UUID namespace, MessageDigest digester, UUIDType type)
     {
         _namespace = namespace;
+        _namespaceBytes = (namespace == null) ? null : UUIDUtil.asByteArray(namespace);
         // And default digester SHA-1
         if (digester == null) {
             throw new IllegalArgumentException("Digester not optional: cannot pass `null`");
         }
-        if (type == null) {
-            String typeStr = digester.getAlgorithm();
-            if (typeStr.startsWith("MD5")) {
-                type = UUIDType.NAME_BASED_MD5;
-            } else if (typeStr.startsWith("SHA")) {
-                type = UUIDType.NAME_BASED_SHA1;
-            } else {
-                // Hmmh... error out? Let's default to SHA-1, but log a warning
-                type = UUIDType.NAME_BASED_SHA1;
-                _logger.warn("Could not determine type of Digester from '%s'; assuming 'SHA-1' type", typeStr);
-            }
-        }
         _digester = digester;
-        _type = type;
+        _scratchBuffer = new byte[Math.max(DigesterPool.MIN_BUFFER_LENGTH,
+                digester.getDigestLength())];
+        _digesterPool = null;
+        _type = (type == null) ? _typeFor(digester.getAlgorithm()) : type;
+    }
+
+    /**
+     * Constructor for generator that uses digesters from given pool, so that
+     * concurrent calls need not wait for each other.
+     *
+     * @param namespace of the namespace (see {@link #NameBasedGenerator(UUID, MessageDigest, UUIDType)})
+     * @param digesterPool Pool of digesters for the hashing algorithm to use
+     * @param type (optional) Type of UUIDs to generate; if null, determined from
+     *    digester algorithm
+     *
+     * @since 5.3
+     */
+    public NameBasedGenerator(UUID namespace, DigesterPool digesterPool, UUIDType type)
+    {
+        _namespace = namespace;
+        _namespaceBytes = (namespace == null) ? null : UUIDUtil.asByteArray(namespace);
+        if (digesterPool == null) {
+            throw new IllegalArgumentException("Digester pool not optional: cannot pass `null`");
+        }
+        _digester = null;
+        _scratchBuffer = null;
+        _digesterPool = digesterPool;
+        _type = (type == null) ? _typeFor(digesterPool.getAlgorithm()) : type;
+    }
+
+    private UUIDType _typeFor(String typeStr)
+    {
+        if (typeStr.startsWith("MD5")) {
+            return UUIDType.NAME_BASED_MD5;
+        }
+        if (!typeStr.startsWith("SHA")) {
+            // Hmmh... error out? Let's default to SHA-1, but log a warning
+            _logger.warn("Could not determine type of Digester from '%s'; assuming 'SHA-1' type", typeStr);
+        }
+        return UUIDType.NAME_BASED_SHA1;
     }
 
     /*
@@ -106,6 +180,14 @@ public class NameBasedGenerator extends StringArgGenerator
     public UUIDType getType() { return _type; }
     
     public UUID getNamespace() { return _namespace; }
+
+    /**
+     * @return Digester pool used, if any; null if generator uses a single
+     *    (synchronized) digester
+     *
+     * @since 5.3
+     */
+    public DigesterPool getDigesterPool() { return _digesterPool; }
     
     /*
     /**********************************************************************
@@ -113,25 +195,342 @@ public class NameBasedGenerator extends StringArgGenerator
     /**********************************************************************
      */
 
+    /**
+     * Method for generating name-based UUID for given name, using its UTF-8
+     * encoding. Name is encoded directly into digester, without allocating
+     * intermediate byte array; result is identical to calling
+     * {@link #generate(byte[])} with {@code name.getBytes(StandardCharsets.UTF_8)}.
+     */
     @Override
     public UUID generate(String name)
     {
-        // !!! TODO: 14-Oct-2010, tatu: could re-purpose faster UTF-8 encoding from Jackson
-        return generate(name.getBytes(_utf8));
+        if (_digesterPool != null) {
+            return _generatePooled(_digesterPool, name);
+        }
+        synchronized (_digester) {
+            _digester.reset();
+            if (_namespaceBytes != null) {
+                _digester.update(_namespaceBytes);
+            }
+            updateUTF8(_digester, name, _scratchBuffer);
+            return _constructUUID(_digester, _scratchBuffer);
+        }
     }
-    
+
     @Override
     public UUID generate(byte[] nameBytes)
     {
-        byte[] digest;
+        if (_digesterPool != null) {
+            final DigesterPool.Entry entry = _digesterPool.acquire();
+            try {
+                final MessageDigest digester = entry.digester;
+                if (_namespaceBytes != null) {
+                    digester.update(_namespaceBytes);
+                }
+                digester.update(nameBytes);
+                return _constructUUID(digester, entry.buffer);
+            } finally {
+                _digesterPool.release(entry);
+            }
+        }
         synchronized (_digester) {
             _digester.reset();
-            if (_namespace != null) {
-                _digester.update(UUIDUtil.asByteArray(_namespace));
+            if (_namespaceBytes != null) {
+                _digester.update(_namespaceBytes);
             }
             _digester.update(nameBytes);
-            digest = _digester.digest();
+            return _constructUUID(_digester, _scratchBuffer);
+        }
+    }
+
+    private UUID _generatePooled(DigesterPool pool, String name)
+    {
+        final DigesterPool.Entry entry = pool.acquire();
+        try {
+            final MessageDigest digester = entry.digester;
+            if (_namespaceBytes != null) {
+                digester.update(_namespaceBytes);
+            }
+            updateUTF8(digester, name, entry.buffer);
+            return _constructUUID(digester, entry.buffer);
+        } finally {
+            pool.release(entry);
+        }
+    }
+
+    private UUID _constructUUID(MessageDigest digester, byte[] buffer)
+    {
+        _digest(digester, buffer);
+        return UUIDUtil.constructUUID(_type, UUIDUtil.gatherLong(buffer, 0),
+                UUIDUtil.gatherLong(buffer, 8));
+    }
+
+    private static void _digest(MessageDigest digester, byte[] buffer)
+    {
+        try {
+            digester.digest(buffer, 0, buffer.length);
+        } catch (DigestException e) { // can not occur, buffer is big enough
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Bulk generation
+    /**********************************************************************
+     */
+
+    /**
+     * Method for generating UUIDs for all given names, in parallel (see
+     * {@link #generate(String[], UUID[], int)}).
+     *
+     * @return Array of generated UUIDs, in the same order as names
+     *
+     * @since 5.3
+     */
+    public UUID[] generate(String[] names)
+    {
+        UUID[] result = new UUID[names.length];
+        generate(names, result, 0);
+        return result;
+    }
+
+    /**
+     * Method for generating UUIDs for all given names, splitting work
+     * into fork-join tasks (running in the common pool, unless called from
+     * within another {@link java.util.concurrent.ForkJoinPool}) when there
+     * are enough names. Each task uses a digester of its own (from
+     * {@link #getDigesterPool()} if generator has one; otherwise from a
+     * temporary pool), so tasks do not contend with each other.
+     *
+     * @param names Names to generate UUIDs for
+     * @param buffer Array into which to add generated UUIDs, in the same order as names
+     * @param offset Index of the first entry in {@code buffer} to fill
+     *
+     * @since 5.3
+     */
+    public void generate(String[] names, UUID[] buffer, int offset)
+    {
+        UUIDUtil.checkBulkArguments(buffer.length, offset, names.length, 1);
+        new BulkTask(_bulkDigesterPool(), names, null, buffer, null, offset,
+                0, names.length).invoke();
+    }
+
+    /**
+     * Method for generating UUIDs for all given names in parallel (see
+     * {@link #generate(String[], UUID[], int)}), without constructing
+     * {@link UUID} instances: each UUID is stored as two consecutive {@code long}s,
+     * most significant bits first.
+     *
+     * @param names Names to generate UUIDs for
+     * @param buffer Array into which to add generated UUIDs; needs to have
+     *    room for {@code 2 * names.length} entries starting at {@code offset}
+     * @param offset Index of the first entry in {@code buffer} to fill
+     *
+     * @since 5.3
+     */
+    public void generate(String[] names, long[] buffer, int offset)
+    {
+        UUIDUtil.checkBulkArguments(buffer.length, offset, names.length, 2);
+        new BulkTask(_bulkDigesterPool(), names, null, null, buffer, offset,
+                0, names.length).invoke();
+    }
+
+    /**
+     * Method for generating UUIDs for all given byte-serialized names in parallel
+     * (see {@link #generate(String[], UUID[], int)}).
+     *
+     * @since 5.3
+     */
+    public void generate(List<byte[]> names, UUID[] buffer, int offset)
+    {
+        names = _randomAccess(names);
+        UUIDUtil.checkBulkArguments(buffer.length, offset, names.size(), 1);
+        new BulkTask(_bulkDigesterPool(), null, names, buffer, null, offset,
+                0, names.size()).invoke();
+    }
+
+    /**
+     * Method for generating UUIDs for all given byte-serialized names in parallel
+     * (see {@link #generate(String[], long[], int)}).
+     *
+     * @since 5.3
+     */
+    public void generate(List<byte[]> names, long[] buffer, int offset)
+    {
+        names = _randomAccess(names);
+        UUIDUtil.checkBulkArguments(buffer.length, offset, names.size(), 2);
+        new BulkTask(_bulkDigesterPool(), null, names, null, buffer, offset,
+                0, names.size()).invoke();
+    }
+
+    /**
+     * Method for lazily generating UUIDs for names of given stream. Returned
+     * stream is parallel if (and only if) given stream is; and in that case
+     * each worker uses a digester of its own (as with
+     * {@link #generate(String[], UUID[], int)}).
+     *
+     * @since 5.3
+     */
+    public Stream<UUID> generate(Stream<String> names)
+    {
+        final DigesterPool pool = _bulkDigesterPool();
+        return names.map(name -> _generatePooled(pool, name));
+    }
+
+    private DigesterPool _bulkDigesterPool()
+    {
+        if (_digesterPool != null) {
+            return _digesterPool;
+        }
+        // Cannot use our digester as prototype, since it may be used concurrently
+        try {
+            return new DigesterPool(MessageDigest.getInstance(_digester.getAlgorithm(),
+                    _digester.getProvider()), DigesterPool.defaultSize());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Couldn't create copy of "+_digester.getAlgorithm()
+                    +" MessageDigest: "+e, e);
+        }
+    }
+
+    private static List<byte[]> _randomAccess(List<byte[]> names)
+    {
+        // Tasks access names by index, so need efficient access
+        if (names instanceof RandomAccess) {
+            return names;
+        }
+        return Arrays.asList(names.toArray(new byte[0][]));
+    }
+
+    /*
+    /**********************************************************************
+    /* UTF-8 encoding
+    /**********************************************************************
+     */
+
+    /**
+     * Helper method for feeding UTF-8 encoding of given String to the digester,
+     * using given scratch buffer (which must be at least 4 bytes long) for
+     * encoded chunks. Encoding is identical to that of
+     * {@code String.getBytes(StandardCharsets.UTF_8)}, including replacement
+     * of unpaired surrogates with question mark.
+     *
+     * @since 5.3
+     */
+    public static void updateUTF8(MessageDigest digester, String str, byte[] buffer)
+    {
+        final int len = str.length();
+        final int bufLen = buffer.length;
+        int outPtr = 0;
+        int i = 0;
+
+        while (i < len) {
+            // ASCII fast path: copy as many as fit in buffer
+            final int asciiEnd = Math.min(len, i + (bufLen - outPtr));
+            char c;
+            while ((i < asciiEnd) && ((c = str.charAt(i)) < 0x80)) {
+                buffer[outPtr++] = (byte) c;
+                ++i;
+            }
+            if (outPtr > (bufLen - 4)) { // need room for longest sequence
+                digester.update(buffer, 0, outPtr);
+                outPtr = 0;
+            }
+            if ((i == len) || ((c = str.charAt(i)) < 0x80)) {
+                continue;
+            }
+            ++i;
+            if (c < 0x800) {
+                buffer[outPtr++] = (byte) (0xc0 | (c >> 6));
+            } else if (!Character.isSurrogate(c)) {
+                buffer[outPtr++] = (byte) (0xe0 | (c >> 12));
+                buffer[outPtr++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+            } else {
+                final char d;
+                if (Character.isHighSurrogate(c) && (i < len)
+                        && Character.isLowSurrogate(d = str.charAt(i))) {
+                    ++i;
+                    final int cp = Character.toCodePoint(c, d);
+                    buffer[outPtr++] = (byte) (0xf0 | (cp >> 18));
+                    buffer[outPtr++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                    buffer[outPtr++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                    buffer[outPtr++] = (byte) (0x80 | (cp & 0x3f));
+                } else { // malformed; same replacement as JDK encoder uses
+                    buffer[outPtr++] = (byte) '?';
+                }
+                continue;
+            }
+            buffer[outPtr++] = (byte) (0x80 | (c & 0x3f));
+        }
+        if (outPtr > 0) {
+            digester.update(buffer, 0, outPtr);
+        }
+    }
+
+    /**
+     * Fork-join task for generating UUIDs for a range of names (given either as
+     * {@code String}s or {@code byte[]}s) into either {@link UUID}s or {@code long}
+     * pairs.
+     */
+    @SuppressWarnings("serial")
+    private final class BulkTask extends RecursiveAction
+    {
+        private final DigesterPool _pool;
+        private final String[] _strings;
+        private final List<byte[]> _bytes;
+        private final UUID[] _uuids;
+        private final long[] _longs;
+        private final int _offset, _from, _to;
+
+        BulkTask(DigesterPool pool, String[] strings, List<byte[]> bytes,
+                UUID[] uuids, long[] longs, int offset, int from, int to)
+        {
+            _pool = pool;
+            _strings = strings;
+            _bytes = bytes;
+            _uuids = uuids;
+            _longs = longs;
+            _offset = offset;
+            _from = from;
+            _to = to;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if ((_to - _from) >= (BULK_SPLIT_THRESHOLD << 1)) {
+                final int mid = (_from + _to) >>> 1;
+                invokeAll(new BulkTask(_pool, _strings, _bytes, _uuids, _longs, _offset, _from, mid),
+                        new BulkTask(_pool, _strings, _bytes, _uuids, _longs, _offset, mid, _to));
+                return;
+            }
+            final DigesterPool.Entry entry = _pool.acquire();
+            try {
+                final MessageDigest digester = entry.digester;
+                final byte[] buffer = entry.buffer;
+                for (int i = _from; i < _to; ++i) {
+                    if (_namespaceBytes != null) {
+                        digester.update(_namespaceBytes);
+                    }
+                    if (_strings != null) {
+                        updateUTF8(digester, _strings[i], buffer);
+                    } else {
+                        digester.update(_bytes.get(i));
+                    }
+                    _digest(digester, buffer);
+                    final long l1 = UUIDUtil.initUUIDFirstLong(UUIDUtil.gatherLong(buffer, 0), _type);
+                    final long l2 = UUIDUtil.initUUIDSecondLong(UUIDUtil.gatherLong(buffer, 8));
+                    if (_uuids != null) {
+                        _uuids[_offset + i] = new UUID(l1, l2);
+                    } else {
+                        final int ix = _offset + i + i;
+                        _longs[ix] = l1;
+                        _longs[ix+1] = l2;
+                    }
+                }
+            } finally {
+                _pool.release(entry);
+            }
         }
-        return UUIDUtil.constructUUID(_type, digest);
     }
 }
@@ -0,0 +1,362 @@
+package com.fasterxml.uuid.impl;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded concurrent cache of name-to-UUID mappings used by
+ * {@link CachingNameBasedGenerator}. Entries are split into segments
+ * (each guarded by its own lock), each with its share of total capacity
+ * and its own eviction state; so eviction order is only approximate
+ * across the whole cache.
+ *
+ * @since 5.3
+ */
+abstract class NameCache
+{
+    protected final Segment[] _segments;
+
+    protected final int _segmentMask;
+
+    protected final LongAdder _evictions = new LongAdder();
+
+    protected NameCache(int maxSize)
+    {
+        // Keep at least 64 entries per segment, but use enough segments to
+        // avoid much contention
+        final int maxSegments = Math.max(1, maxSize >> 6);
+        int count = 1;
+        while ((count < maxSegments) && (count < 64)) {
+            count <<= 1;
+        }
+        if (count > maxSegments) {
+            count >>= 1;
+        }
+        _segments = new Segment[count];
+        final int segmentSize = maxSize / count;
+        for (int i = 0; i < count; ++i) {
+            _segments[i] = _createSegment(segmentSize);
+        }
+        _segmentMask = count - 1;
+    }
+
+    public static NameCache construct(CachingNameBasedGenerator.EvictionPolicy policy, int maxSize)
+    {
+        switch (policy) {
+        case LRU:
+            return new LRU(maxSize);
+        case TINY_LFU:
+            return new TinyLFU(maxSize);
+        }
+        throw new IllegalArgumentException("Unrecognized eviction policy: "+policy);
+    }
+
+    protected abstract Segment _createSegment(int capacity);
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    public UUID get(Object key)
+    {
+        final int hash = _hash(key);
+        return _segments[(hash >>> 16) & _segmentMask].get(key, hash);
+    }
+
+    public void put(Object key, UUID value)
+    {
+        final int hash = _hash(key);
+        _segments[(hash >>> 16) & _segmentMask].put(key, hash, value);
+    }
+
+    public int size()
+    {
+        int size = 0;
+        for (Segment segment : _segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public void clear()
+    {
+        for (Segment segment : _segments) {
+            segment.clear();
+        }
+    }
+
+    public long getEvictionCount() {
+        return _evictions.sum();
+    }
+
+    private static int _hash(Object key)
+    {
+        final int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 15);
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper types
+    /**********************************************************************
+     */
+
+    /**
+     * Key used for {@code byte[]} names; lookups may wrap caller's array, but
+     * keys that are stored must wrap a private copy.
+     */
+    final static class BytesKey
+    {
+        final byte[] bytes;
+        private final int _hashCode;
+
+        BytesKey(byte[] bytes) {
+            this.bytes = bytes;
+            _hashCode = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public int hashCode() { return _hashCode; }
+
+        @Override
+        public boolean equals(Object o) {
+            return (o == this) || ((o instanceof BytesKey)
+                    && Arrays.equals(bytes, ((BytesKey) o).bytes));
+        }
+    }
+
+    abstract static class Segment
+    {
+        abstract UUID get(Object key, int hash);
+
+        abstract void put(Object key, int hash, UUID value);
+
+        abstract int size();
+
+        abstract void clear();
+    }
+
+    /**
+     * Access-ordered map that does not evict by itself; callers check
+     * size and remove eldest entry as needed.
+     */
+    @SuppressWarnings("serial")
+    final static class AccessOrderMap extends LinkedHashMap<Object,UUID>
+    {
+        AccessOrderMap(int capacity) {
+            super(Math.min(capacity, 1024), 0.75f, true);
+        }
+
+        Map.Entry<Object,UUID> eldest() {
+            Iterator<Map.Entry<Object,UUID>> it = entrySet().iterator();
+            return it.hasNext() ? it.next() : null;
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Implementation: LRU
+    /**********************************************************************
+     */
+
+    final static class LRU extends NameCache
+    {
+        LRU(int maxSize) { super(maxSize); }
+
+        @Override
+        protected Segment _createSegment(final int capacity)
+        {
+            return new Segment() {
+                private final AccessOrderMap _map = new AccessOrderMap(capacity);
+
+                @Override
+                synchronized UUID get(Object key, int hash) {
+                    return _map.get(key);
+                }
+
+                @Override
+                synchronized void put(Object key, int hash, UUID value) {
+                    if ((_map.put(key, value) == null) && (_map.size() > capacity)) {
+                        _map.remove(_map.eldest().getKey());
+                        _evictions.increment();
+                    }
+                }
+
+                @Override
+                synchronized int size() { return _map.size(); }
+
+                @Override
+                synchronized void clear() { _map.clear(); }
+            };
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Implementation: W-TinyLFU
+    /**********************************************************************
+     */
+
+    /**
+     * Simplified W-TinyLFU: new entries go to a small LRU "window"; entries
+     * evicted from window are only admitted to the main LRU area if they have
+     * been requested more often (according to frequency sketch) than the
+     * entry main area would evict. This keeps one-off names from flushing
+     * frequently used ones.
+     */
+    final static class TinyLFU extends NameCache
+    {
+        TinyLFU(int maxSize) { super(maxSize); }
+
+        @Override
+        protected Segment _createSegment(int capacity) {
+            return new TinyLFUSegment(capacity);
+        }
+
+        final class TinyLFUSegment extends Segment
+        {
+            private final int _windowCapacity, _mainCapacity;
+
+            private final AccessOrderMap _window, _main;
+
+            private final FrequencySketch _sketch;
+
+            TinyLFUSegment(int capacity)
+            {
+                _windowCapacity = Math.max(1, capacity / 100);
+                _mainCapacity = capacity - _windowCapacity;
+                _window = new AccessOrderMap(_windowCapacity);
+                _main = new AccessOrderMap(_mainCapacity);
+                _sketch = new FrequencySketch(capacity);
+            }
+
+            @Override
+            synchronized UUID get(Object key, int hash)
+            {
+                _sketch.increment(hash);
+                UUID value = _window.get(key);
+                return (value == null) ? _main.get(key) : value;
+            }
+
+            @Override
+            synchronized void put(Object key, int hash, UUID value)
+            {
+                if (_main.containsKey(key)) {
+                    _main.put(key, value);
+                    return;
+                }
+                if ((_window.put(key, value) != null) || (_window.size() <= _windowCapacity)) {
+                    return;
+                }
+                final Map.Entry<Object,UUID> candidate = _window.eldest();
+                _window.remove(candidate.getKey());
+                if (_main.size() < _mainCapacity) {
+                    _main.put(candidate.getKey(), candidate.getValue());
+                    return;
+                }
+                final Map.Entry<Object,UUID> victim = _main.eldest();
+                if ((victim != null) && _sketch.frequency(_hash(candidate.getKey()))
+                        > _sketch.frequency(_hash(victim.getKey()))) {
+                    _main.remove(victim.getKey());
+                    _main.put(candidate.getKey(), candidate.getValue());
+                }
+                _evictions.increment();
+            }
+
+            @Override
+            synchronized int size() {
+                return _window.size() + _main.size();
+            }
+
+            @Override
+            synchronized void clear() {
+                _window.clear();
+                _main.clear();
+                _sketch.clear();
+            }
+        }
+    }
+
+    /**
+     * Count-min sketch with 4 rows of 4-bit counters, all of which are halved
+     * periodically so that frequencies reflect recent history.
+     */
+    final static class FrequencySketch
+    {
+        private final static long[] SEEDS = new long[] {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+        };
+
+        private final static long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] _table;
+
+        private final int _tableMask;
+
+        private final int _sampleSize;
+
+        private int _additions;
+
+        FrequencySketch(int capacity)
+        {
+            int size = 8;
+            while (size < capacity) {
+                size <<= 1;
+            }
+            _table = new long[size];
+            _tableMask = size - 1;
+            _sampleSize = 10 * Math.max(capacity, 8);
+        }
+
+        int frequency(int hash)
+        {
+            int freq = 15;
+            for (int i = 0; i < 4; ++i) {
+                freq = Math.min(freq, (int) ((_table[_index(hash, i)] >>> _shift(hash, i)) & 0xF));
+            }
+            return freq;
+        }
+
+        void increment(int hash)
+        {
+            boolean added = false;
+            for (int i = 0; i < 4; ++i) {
+                final int index = _index(hash, i);
+                final int shift = _shift(hash, i);
+                if (((_table[index] >>> shift) & 0xF) != 0xF) {
+                    _table[index] += (1L << shift);
+                    added = true;
+                }
+            }
+            if (added && (++_additions >= _sampleSize)) {
+                for (int i = 0; i < _table.length; ++i) {
+                    _table[i] = (_table[i] >>> 1) & RESET_MASK;
+                }
+                _additions >>>= 1;
+            }
+        }
+
+        void clear()
+        {
+            Arrays.fill(_table, 0L);
+            _additions = 0;
+        }
+
+        private int _index(int hash, int row)
+        {
+            long h = (hash + SEEDS[row]) * SEEDS[row];
+            return (int) (h ^ (h >>> 32)) & _tableMask;
+        }
+
+        // each row uses its own quarter of 16 counters in a long
+        private static int _shift(int hash, int row) {
+            return ((row << 2) + ((hash >>> (row << 3)) & 3)) << 2;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.fasterxml.uuid.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.SecureRandom;
+import java.util.Objects;
+import java.util.Random;
+import java.util.UUID;
+
+import com.fasterxml.uuid.EthernetAddress;
+import com.fasterxml.uuid.NoArgGenerator;
+import com.fasterxml.uuid.UUIDClock;
+import com.fasterxml.uuid.UUIDTimer;
+import com.fasterxml.uuid.UUIDType;
+
+/**
+ * Time/location based UUID generator (version 1 or 6) that splits generation
+ * into a number of "partitions", each with a {@link UUIDTimer} of its own and
+ * a distinct clock sequence; calls are directed to partitions based on the
+ * calling thread (or, alternatively, workers may each use a partition
+ * directly, see {@link #getPartition}).
+ *<p>
+ * Since no two partitions use the same clock sequence, UUIDs they generate
+ * are unique even if timestamps are the same, so partitions do not need to
+ * share any state; this avoids the contention that sharing a single timer
+ * (as generators constructed by {@link com.fasterxml.uuid.Generators#timeBasedGenerator()}
+ * do) causes when many threads generate UUIDs concurrently.
+ * The trade-off is that values generated by different partitions are only
+ * ordered by timestamp, not strictly monotonic across partitions.
+ *<p>
+ * NOTE: uniqueness is only guaranteed between partitions of this generator;
+ * other generators (or other instances of this generator) with the same
+ * Ethernet address may produce duplicates if they happen to use the same clock
+ * sequences. Clock sequences of partitions are consecutive, starting from a
+ * random base value by default, which makes this unlikely but not impossible.
+ *<p>
+ * As all JUG provided implementations, this generator is fully thread-safe.
+ *
+ * @since 5.3
+ */
+public class PartitionedTimeBasedGenerator extends NoArgGenerator
+{
+    /**
+     * Maximum number of partitions: one for each 14-bit clock sequence value
+     */
+    public final static int MAX_PARTITIONS = 1 << 14;
+
+    /*
+    /**********************************************************************
+    /* Configuration
+    /**********************************************************************
+     */
+
+    protected final UUIDType _type;
+
+    protected final EthernetAddress _ethernetAddress;
+
+    private final NoArgGenerator[] _partitions;
+
+    private final int _partitionMask;
+
+    /*
+    /**********************************************************************
+    /* Construction
+    /**********************************************************************
+     */
+
+    /**
+     * @param ethAddr Hardware address (802.1) to use for generating spatially unique
+     *    part of UUID; if null, a random multicast address is constructed
+     * @param type Type of UUIDs to generate: either {@link UUIDType#TIME_BASED} or
+     *    {@link UUIDType#TIME_BASED_REORDERED}
+     * @param partitions Number of partitions to use; rounded up to the next power of two
+     * @param clock Clock to use for timestamps of all partitions
+     */
+    public PartitionedTimeBasedGenerator(EthernetAddress ethAddr, UUIDType type,
+            int partitions, UUIDClock clock)
+    {
+        // Use a different random source than shared timers do, so that base clock
+        // sequence is unlikely to match theirs
+        this(ethAddr, type, partitions, clock, new SecureRandom().nextInt());
+    }
+
+    /**
+     * @param ethAddr Hardware address (802.1) to use for generating spatially unique
+     *    part of UUID; if null, a random multicast address is constructed
+     * @param type Type of UUIDs to generate: either {@link UUIDType#TIME_BASED} or
+     *    {@link UUIDType#TIME_BASED_REORDERED}
+     * @param partitions Number of partitions to use; rounded up to the next power of two
+     * @param clock Clock to use for timestamps of all partitions
+     * @param baseClockSeq Clock sequence of the first partition; others use following
+     *    values (wrapping around within 14 bits)
+     */
+    public PartitionedTimeBasedGenerator(EthernetAddress ethAddr, UUIDType type,
+            int partitions, UUIDClock clock, int baseClockSeq)
+    {
+        if (type != UUIDType.TIME_BASED && type != UUIDType.TIME_BASED_REORDERED) {
+            throw new IllegalArgumentException("Invalid UUID type ("+type
+                    +"): must be TIME_BASED or TIME_BASED_REORDERED");
+        }
+        if (partitions < 1 || partitions > MAX_PARTITIONS) {
+            throw new IllegalArgumentException("Invalid number of partitions ("+partitions
+                    +"): must be between 1 and "+MAX_PARTITIONS);
+        }
+        Objects.requireNonNull(clock);
+        partitions = Striping.roundToPowerOfTwo(partitions);
+        if (ethAddr == null) {
+            ethAddr = EthernetAddress.constructMulticastAddress();
+        }
+        _type = type;
+        _ethernetAddress = ethAddr;
+        _partitions = new NoArgGenerator[partitions];
+        final Random rnd = new Random(System.nanoTime() ^ baseClockSeq);
+        for (int i = 0; i < partitions; ++i) {
+            final UUIDTimer timer;
+            try {
+                timer = new UUIDTimer(new Random(rnd.nextLong()), null, clock);
+            } catch (IOException e) { // cannot occur without synchronizer
+                throw new UncheckedIOException(e);
+            }
+            final int clockSeq = (baseClockSeq + i) & (MAX_PARTITIONS - 1);
+            _partitions[i] = (type == UUIDType.TIME_BASED)
+                    ? new TimeBasedGenerator(ethAddr, timer, clockSeq)
+                    : new TimeBasedReorderedGenerator(ethAddr, timer, clockSeq);
+        }
+        _partitionMask = partitions - 1;
+    }
+
+    /*
+    /**********************************************************************
+    /* Access to config
+    /**********************************************************************
+     */
+
+    @Override
+    public UUIDType getType() { return _type; }
+
+    public EthernetAddress getEthernetAddress() { return _ethernetAddress; }
+
+    public int getPartitionCount() { return _partitions.length; }
+
+    /**
+     * Accessor for generator of specified partition, for use by callers that
+     * assign partitions to workers explicitly (instead of letting this generator
+     * choose one based on calling thread).
+     *
+     * @param index Index of partition, between 0 and {@code getPartitionCount() - 1}
+     *
+     * @return Generator for the partition: either {@link TimeBasedGenerator} or
+     *    {@link TimeBasedReorderedGenerator}, depending on type of UUIDs generated
+     */
+    public NoArgGenerator getPartition(int index) {
+        return _partitions[index];
+    }
+
+    /*
+    /**********************************************************************
+    /* UUID generation
+    /**********************************************************************
+     */
+
+    @Override
+    public UUID generate() {
+        return _partitions[_partitionIndex()].generate();
+    }
+
+    @Override
+    public void generate(UUID[] buffer, int offset, int count) {
+        _partitions[_partitionIndex()].generate(buffer, offset, count);
+    }
+
+    @Override
+    public void generate(long[] buffer, int offset, int count) {
+        _partitions[_partitionIndex()].generate(buffer, offset, count);
+    }
+
+    private int _partitionIndex() {
+        return Striping.threadIndex(_partitionMask);
+    }
+}
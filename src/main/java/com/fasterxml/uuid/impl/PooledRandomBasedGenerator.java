@@ -0,0 +1,70 @@
+package com.fasterxml.uuid.impl;
+
+import java.util.Objects;
+import java.util.UUID;
+
+import com.fasterxml.uuid.NoArgGenerator;
+import com.fasterxml.uuid.UUIDType;
+
+/**
+ * Alternative to {@link RandomBasedGenerator} (UUID "Version 4") that takes random
+ * bits from an {@link EntropyPool}, instead of calling random number generator
+ * for every UUID. This reduces both overhead of each call and contention
+ * between threads when using {@link java.security.SecureRandom}.
+ *
+ * @since 5.3
+ */
+public class PooledRandomBasedGenerator extends NoArgGenerator
+{
+    protected final EntropyPool _entropyPool;
+
+    /**
+     * @param pool Pool of random bytes to use for generating UUIDs
+     */
+    public PooledRandomBasedGenerator(EntropyPool pool)
+    {
+        _entropyPool = Objects.requireNonNull(pool);
+    }
+
+    /*
+    /**********************************************************************
+    /* Access to config
+    /**********************************************************************
+     */
+
+    @Override
+    public UUIDType getType() { return UUIDType.RANDOM_BASED; }
+
+    public EntropyPool getEntropyPool() { return _entropyPool; }
+
+    /*
+    /**********************************************************************
+    /* UUID generation
+    /**********************************************************************
+     */
+
+    @Override
+    public UUID generate()
+    {
+        final long r1 = _entropyPool.nextLong();
+        final long r2 = _entropyPool.nextLong();
+        return UUIDUtil.constructUUID(UUIDType.RANDOM_BASED, r1, r2);
+    }
+
+    @Override
+    public void generate(UUID[] buffer, int offset, int count)
+    {
+        _generateUsingPairs(buffer, offset, count);
+    }
+
+    @Override
+    public void generate(long[] buffer, int offset, int count)
+    {
+        _checkBulkArguments(buffer.length, offset, count, 2);
+        _entropyPool.nextLongs(buffer, offset, count << 1);
+        for (final int end = offset + (count << 1); offset < end; offset += 2) {
+            buffer[offset] = UUIDUtil.initUUIDFirstLong(buffer[offset], UUIDType.RANDOM_BASED);
+            buffer[offset+1] = UUIDUtil.initUUIDSecondLong(buffer[offset+1]);
+        }
+    }
+}
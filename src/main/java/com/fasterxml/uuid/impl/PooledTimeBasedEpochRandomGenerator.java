@@ -0,0 +1,103 @@
+package com.fasterxml.uuid.impl;
+
+import java.util.Objects;
+import java.util.UUID;
+
+import com.fasterxml.uuid.NoArgGenerator;
+import com.fasterxml.uuid.UUIDClock;
+import com.fasterxml.uuid.UUIDType;
+
+/**
+ * Alternative to {@link TimeBasedEpochRandomGenerator} (UUID "Version 7") that takes
+ * random bits from an {@link EntropyPool}, instead of calling random number
+ * generator (while holding a lock) for every UUID. Generator keeps no mutable
+ * state of its own, so concurrent calls do not contend with each other,
+ * except for occasional refills of the pool.
+ *<p>
+ * As with {@link TimeBasedEpochRandomGenerator}, all 74 non-timestamp,
+ * non-type bits are random for every call, and values generated within
+ * same millisecond are not ordered.
+ *
+ * @since 5.3
+ */
+public class PooledTimeBasedEpochRandomGenerator extends NoArgGenerator
+{
+    protected final EntropyPool _entropyPool;
+
+    /**
+     * Underlying {@link UUIDClock} used for accessing current time, to use for
+     * generation.
+     */
+    protected final UUIDClock _clock;
+
+    /**
+     * @param pool Pool of random bytes to use for generating UUIDs
+     * @param clock Object used for accessing current time to use for generation
+     */
+    public PooledTimeBasedEpochRandomGenerator(EntropyPool pool, UUIDClock clock)
+    {
+        _entropyPool = Objects.requireNonNull(pool);
+        _clock = Objects.requireNonNull(clock);
+    }
+
+    /*
+    /**********************************************************************
+    /* Access to config
+    /**********************************************************************
+     */
+
+    @Override
+    public UUIDType getType() { return UUIDType.TIME_BASED_EPOCH; }
+
+    public EntropyPool getEntropyPool() { return _entropyPool; }
+
+    /*
+    /**********************************************************************
+    /* UUID generation
+    /**********************************************************************
+     */
+
+    @Override
+    public UUID generate()
+    {
+        return construct(_clock.currentTimeMillis());
+    }
+
+    /**
+     * Method that will construct actual {@link UUID} instance for given
+     * unix epoch timestamp, with random bits from pool.
+     *
+     * @param rawTimestamp unix epoch millis
+     *
+     * @return unix epoch time based UUID
+     */
+    public UUID construct(long rawTimestamp)
+    {
+        final long r1 = _entropyPool.nextLong();
+        final long r2 = _entropyPool.nextLong();
+        return new UUID(UUIDUtil.epochFirstLong(rawTimestamp, r1),
+                UUIDUtil.initUUIDSecondLong(r2));
+    }
+
+    @Override
+    public void generate(UUID[] buffer, int offset, int count)
+    {
+        _generateUsingPairs(buffer, offset, count);
+    }
+
+    /**
+     * Bulk generation method that reads clock once per call, and fetches
+     * random bits for all UUIDs from pool at once.
+     */
+    @Override
+    public void generate(long[] buffer, int offset, int count)
+    {
+        _checkBulkArguments(buffer.length, offset, count, 2);
+        final long timestamp = _clock.currentTimeMillis();
+        _entropyPool.nextLongs(buffer, offset, count << 1);
+        for (final int end = offset + (count << 1); offset < end; offset += 2) {
+            buffer[offset] = UUIDUtil.epochFirstLong(timestamp, buffer[offset]);
+            buffer[offset+1] = UUIDUtil.initUUIDSecondLong(buffer[offset+1]);
+        }
+    }
+}
@@ -84,4 +84,49 @@ public class RandomBasedGenerator extends NoArgGenerator
         }
         return UUIDUtil.constructUUID(UUIDType.RANDOM_BASED, r1, r2);
     }
+
+    /**
+     * Bulk generation method that, when using {@link SecureRandom}, fetches random
+     * bytes for a batch of UUIDs with a single call.
+     *
+     * @since 5.3
+     */
+    @Override
+    public void generate(UUID[] buffer, int offset, int count)
+    {
+        _generateUsingPairs(buffer, offset, count);
+    }
+
+    /**
+     * Bulk generation method that, when using {@link SecureRandom}, fetches random
+     * bytes for a batch of UUIDs with a single call, and does not allocate
+     * {@link UUID} instances.
+     *
+     * @since 5.3
+     */
+    @Override
+    public void generate(long[] buffer, int offset, int count)
+    {
+        _checkBulkArguments(buffer.length, offset, count, 2);
+        if (_secureRandom) {
+            byte[] bytes = null;
+            while (count > 0) {
+                final int chunk = Math.min(count, BULK_CHUNK_SIZE);
+                if (bytes == null || bytes.length != (chunk << 4)) {
+                    bytes = new byte[chunk << 4];
+                }
+                _random.nextBytes(bytes);
+                for (int i = 0; i < bytes.length; i += 16) {
+                    buffer[offset++] = UUIDUtil.initUUIDFirstLong(_toLong(bytes, i), UUIDType.RANDOM_BASED);
+                    buffer[offset++] = UUIDUtil.initUUIDSecondLong(_toLong(bytes, i+8));
+                }
+                count -= chunk;
+            }
+        } else {
+            for (int i = 0; i < count; ++i) {
+                buffer[offset++] = UUIDUtil.initUUIDFirstLong(_random.nextLong(), UUIDType.RANDOM_BASED);
+                buffer[offset++] = UUIDUtil.initUUIDSecondLong(_random.nextLong());
+            }
+        }
+    }
 }
@@ -0,0 +1,32 @@
+package com.fasterxml.uuid.impl;
+
+/**
+ * Helper methods shared by generators and pools that spread their state
+ * over a power-of-two number of "stripes" (or partitions, or slots) and
+ * pick one based on calling thread, to reduce contention.
+ *
+ * @since 5.3
+ */
+final class Striping
+{
+    private Striping() { }
+
+    /**
+     * @return Smallest power of two that is equal to or greater than given
+     *    (positive) count
+     */
+    static int roundToPowerOfTwo(int count) {
+        return (count <= 1) ? 1 : Integer.highestOneBit(count - 1) << 1;
+    }
+
+    /**
+     * Method for choosing index for calling thread: thread id is scrambled
+     * (Fibonacci hashing) so that consecutive ids are spread over all stripes.
+     *
+     * @param mask Number of stripes minus one (number must be a power of two)
+     */
+    static int threadIndex(int mask) {
+        final long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+}
@@ -0,0 +1,252 @@
+package com.fasterxml.uuid.impl;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+import com.fasterxml.uuid.NoArgGenerator;
+import com.fasterxml.uuid.UUIDClock;
+import com.fasterxml.uuid.UUIDType;
+
+/**
+ * Implementation of UUID generator that uses Unix Epoch timestamp ("Version 7")
+ * followed by a dedicated counter of configurable width (12 - 42 bits;
+ * RFC 9562, section 6.2, "Method 1"), with the rest of bits random for every call.
+ * Counter uses all 12 "rand_a" bits and, if wider than 12 bits, highest bits
+ * of "rand_b".
+ *<p>
+ * Counter is seeded with a random value at the start of every millisecond, with
+ * its highest bit cleared, so that at least half of the counter range is available
+ * for each millisecond; and incremented either by one, or by a random value
+ * between 1 and configured maximum, for each UUID generated within same millisecond.
+ * If counter would overflow, generator moves on to the next millisecond (even if
+ * clock has not yet advanced) instead of failing; this (as well as clock moving
+ * backwards) means that timestamp may temporarily run ahead of the clock.
+ * As a result, all values generated by an instance are monotonically increasing,
+ * and per-millisecond capacity is predictable: at least {@code 2^(counterBits-1)}
+ * UUIDs (divided by average increment, if random increments are used).
+ *<p>
+ * As all JUG provided implementations, this generator is fully thread-safe.
+ *
+ * @since 5.3
+ */
+public class TimeBasedEpochCounterGenerator extends NoArgGenerator
+{
+    public final static int MIN_COUNTER_BITS = 12;
+
+    public final static int MAX_COUNTER_BITS = 42;
+
+    private final static int RAND_A_BITS = 12;
+
+    private final static int RAND_B_BITS = 62;
+
+    /*
+    /**********************************************************************
+    /* Configuration
+    /**********************************************************************
+     */
+
+    /**
+     * Thread-safe source of random bits.
+     */
+    protected final LongSupplier _random;
+
+    /**
+     * Underlying {@link UUIDClock} used for accessing current time, to use for
+     * generation.
+     */
+    protected final UUIDClock _clock;
+
+    protected final int _counterBits;
+
+    /**
+     * Maximum value counter is incremented by; 1 for fixed increment.
+     */
+    protected final long _maxIncrement;
+
+    /**
+     * Number of counter bits stored in "rand_b" (after 12 bits in "rand_a")
+     */
+    private final int _counterBitsInRandB;
+
+    private final long _counterMask;
+
+    private final long _randomTailMask;
+
+    /*
+    /**********************************************************************
+    /* State
+    /**********************************************************************
+     */
+
+    private long _lastTimestamp = Long.MIN_VALUE;
+
+    private long _counter;
+
+    /*
+    /**********************************************************************
+    /* Construction
+    /**********************************************************************
+     */
+
+    /**
+     * @param counterBits Number of bits to use for counter: between
+     *    {@link #MIN_COUNTER_BITS} and {@link #MAX_COUNTER_BITS} (inclusive)
+     * @param maxIncrement Maximum value to increment counter by, between calls within
+     *    same millisecond: if 1, counter is always incremented by one; otherwise by
+     *    a random value between 1 and {@code maxIncrement} (inclusive)
+     * @param random Thread-safe source of random bits (like
+     *    {@code EntropyPool.secureRandomPool()::nextLong})
+     * @param clock Object used for accessing current time to use for generation
+     */
+    public TimeBasedEpochCounterGenerator(int counterBits, long maxIncrement,
+            LongSupplier random, UUIDClock clock)
+    {
+        if (counterBits < MIN_COUNTER_BITS || counterBits > MAX_COUNTER_BITS) {
+            throw new IllegalArgumentException("Invalid counter bits ("+counterBits
+                    +"): must be between "+MIN_COUNTER_BITS+" and "+MAX_COUNTER_BITS);
+        }
+        // Need to be able to increment at least once from the highest seed value
+        if (maxIncrement < 1L || maxIncrement > (1L << (counterBits - 1))) {
+            throw new IllegalArgumentException("Invalid maximum increment ("+maxIncrement
+                    +"): must be between 1 and "+(1L << (counterBits - 1))+" for "
+                    +counterBits+"-bit counter");
+        }
+        _random = Objects.requireNonNull(random);
+        _clock = Objects.requireNonNull(clock);
+        _counterBits = counterBits;
+        _maxIncrement = maxIncrement;
+        _counterBitsInRandB = counterBits - RAND_A_BITS;
+        _counterMask = (1L << counterBits) - 1;
+        _randomTailMask = (1L << (RAND_B_BITS - _counterBitsInRandB)) - 1;
+    }
+
+    /*
+    /**********************************************************************
+    /* Access to config
+    /**********************************************************************
+     */
+
+    @Override
+    public UUIDType getType() { return UUIDType.TIME_BASED_EPOCH; }
+
+    public int getCounterBits() { return _counterBits; }
+
+    public long getMaxIncrement() { return _maxIncrement; }
+
+    /*
+    /**********************************************************************
+    /* UUID generation
+    /**********************************************************************
+     */
+
+    @Override
+    public UUID generate()
+    {
+        return construct(_clock.currentTimeMillis());
+    }
+
+    /**
+     * Method that will construct actual {@link UUID} instance for given
+     * unix epoch timestamp: called by {@link #generate()} but may alternatively be
+     * called directly to construct an instance with known timestamp.
+     * NOTE: timestamp of the resulting {@link UUID} may be higher than one
+     * passed, if needed to keep values monotonic.
+     *
+     * @param rawTimestamp unix epoch millis
+     *
+     * @return unix epoch time based UUID
+     */
+    public UUID construct(long rawTimestamp)
+    {
+        final long tail = _random.getAsLong();
+        final long timestamp, counter;
+        synchronized (this) {
+            _next(rawTimestamp);
+            timestamp = _lastTimestamp;
+            counter = _counter;
+        }
+        return new UUID(_constructFirstLong(timestamp, counter),
+                _constructSecondLong(counter, tail));
+    }
+
+    @Override
+    public void generate(UUID[] buffer, int offset, int count)
+    {
+        _generateUsingPairs(buffer, offset, count);
+    }
+
+    /**
+     * Bulk generation method that reads clock and acquires lock once per batch.
+     */
+    @Override
+    public void generate(long[] buffer, int offset, int count)
+    {
+        _checkBulkArguments(buffer.length, offset, count, 2);
+        final long rawTimestamp = _clock.currentTimeMillis();
+        // Fetch random bits first, outside of lock
+        for (int i = 0; i < count; ++i) {
+            buffer[offset + i + i + 1] = _random.getAsLong();
+        }
+        synchronized (this) {
+            for (final int end = offset + (count << 1); offset < end; offset += 2) {
+                _next(rawTimestamp);
+                buffer[offset] = _constructFirstLong(_lastTimestamp, _counter);
+                buffer[offset+1] = _constructSecondLong(_counter, buffer[offset+1]);
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    /**
+     * Method for advancing timestamp and counter; must be called while holding
+     * lock on this generator.
+     */
+    private void _next(long rawTimestamp)
+    {
+        if (rawTimestamp > _lastTimestamp) {
+            _lastTimestamp = rawTimestamp;
+            _counter = _seed();
+            return;
+        }
+        final long next = _counter + _increment();
+        if (next > _counterMask) { // exhausted: roll over to the next millisecond
+            ++_lastTimestamp;
+            _counter = _seed();
+        } else {
+            _counter = next;
+        }
+    }
+
+    private long _seed() {
+        // highest bit cleared, to leave room for incrementing
+        return _random.getAsLong() & (_counterMask >>> 1);
+    }
+
+    private long _increment() {
+        if (_maxIncrement == 1L) {
+            return 1L;
+        }
+        return 1L + Long.remainderUnsigned(_random.getAsLong(), _maxIncrement);
+    }
+
+    private long _constructFirstLong(long timestamp, long counter)
+    {
+        return (timestamp << 16)
+                | ((long) UUIDType.TIME_BASED_EPOCH.raw() << 12)
+                | (counter >>> _counterBitsInRandB);
+    }
+
+    private long _constructSecondLong(long counter, long tail)
+    {
+        final long counterLow = counter & ((1L << _counterBitsInRandB) - 1);
+        return (2L << 62)
+                | (counterLow << (RAND_B_BITS - _counterBitsInRandB))
+                | (tail & _randomTailMask);
+    }
+}
@@ -0,0 +1,180 @@
+package com.fasterxml.uuid.impl;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.fasterxml.uuid.NoArgGenerator;
+import com.fasterxml.uuid.UUIDClock;
+import com.fasterxml.uuid.UUIDType;
+
+/**
+ * Implementation of UUID generator that uses Unix Epoch timestamp ("Version 7")
+ * with 12 bits of sub-millisecond timestamp fraction in place of "rand_a"
+ * bits (RFC 9562, section 6.2, "Method 3"), with rest ("rand_b") random for
+ * every call.
+ *<p>
+ * Millisecond timestamp and fraction together form a 60-bit timestamp that is
+ * strictly increasing for all UUIDs generated by an instance: if clock has not
+ * advanced since the previous call (or has moved backwards), the previous value
+ * plus one is used instead. This means that generator can produce up to 4096
+ * UUIDs per millisecond (about 4 million per second) while staying in sync
+ * with the clock; at higher rates, values "borrow" from the following
+ * millisecond(s) (instead of failing) and catch up with the clock once rate drops.
+ * Updates are done using compare-and-set, without locking.
+ *<p>
+ * Clock with sub-millisecond resolution (like {@link UUIDClock#nanoTimeClock()})
+ * should be used, since otherwise fraction only acts as a counter within
+ * each millisecond.
+ *<p>
+ * As all JUG provided implementations, this generator is fully thread-safe.
+ *
+ * @since 5.3
+ */
+public class TimeBasedEpochFractionGenerator extends NoArgGenerator
+{
+    private final static long NANOS_PER_MILLI = 1_000_000L;
+
+    private final static int FRACTION_BITS = 12;
+
+    private final static long MASK_FRACTION = (1L << FRACTION_BITS) - 1;
+
+    /*
+    /**********************************************************************
+    /* Configuration
+    /**********************************************************************
+     */
+
+    /**
+     * Thread-safe source of random bits.
+     */
+    protected final LongSupplier _random;
+
+    /**
+     * Underlying {@link UUIDClock} used for accessing current time, to use for
+     * generation.
+     */
+    protected final UUIDClock _clock;
+
+    /**
+     * Last 60-bit timestamp (milliseconds shifted left by 12 bits, plus
+     * fraction) used.
+     */
+    private final AtomicLong _lastTimestamp = new AtomicLong();
+
+    /*
+    /**********************************************************************
+    /* Construction
+    /**********************************************************************
+     */
+
+    /**
+     * @param random Thread-safe source of random bits (like
+     *    {@code EntropyPool.secureRandomPool()::nextLong})
+     * @param clock Object used for accessing current time to use for generation;
+     *    should have sub-millisecond resolution
+     */
+    public TimeBasedEpochFractionGenerator(LongSupplier random, UUIDClock clock)
+    {
+        _random = Objects.requireNonNull(random);
+        _clock = Objects.requireNonNull(clock);
+    }
+
+    /*
+    /**********************************************************************
+    /* Access to config
+    /**********************************************************************
+     */
+
+    @Override
+    public UUIDType getType() { return UUIDType.TIME_BASED_EPOCH; }
+
+    /*
+    /**********************************************************************
+    /* UUID generation
+    /**********************************************************************
+     */
+
+    @Override
+    public UUID generate()
+    {
+        final long timestamp = _reserve(_clock.currentTimeNanos(), 1);
+        return new UUID(_constructFirstLong(timestamp),
+                UUIDUtil.initUUIDSecondLong(_random.getAsLong()));
+    }
+
+    /**
+     * Method that will construct {@link UUID} instance for given unix epoch timestamp
+     * (in nanoseconds): called by {@link #generate()} but may alternatively be
+     * called directly to construct an instance with known timestamp.
+     * NOTE: timestamp of the resulting {@link UUID} may be higher than one
+     * passed, if needed to keep values monotonic.
+     *
+     * @param epochNanos Unix epoch timestamp in nanoseconds
+     *
+     * @return unix epoch time based UUID
+     */
+    public UUID construct(long epochNanos)
+    {
+        final long timestamp = _reserve(epochNanos, 1);
+        return new UUID(_constructFirstLong(timestamp),
+                UUIDUtil.initUUIDSecondLong(_random.getAsLong()));
+    }
+
+    @Override
+    public void generate(UUID[] buffer, int offset, int count)
+    {
+        _generateUsingPairs(buffer, offset, count);
+    }
+
+    /**
+     * Bulk generation method that reads clock and reserves timestamps
+     * for all UUIDs of the batch at once.
+     */
+    @Override
+    public void generate(long[] buffer, int offset, int count)
+    {
+        _checkBulkArguments(buffer.length, offset, count, 2);
+        if (count == 0) {
+            return;
+        }
+        long timestamp = _reserve(_clock.currentTimeNanos(), count);
+        for (int i = 0; i < count; ++i) {
+            buffer[offset++] = _constructFirstLong(timestamp++);
+            buffer[offset++] = UUIDUtil.initUUIDSecondLong(_random.getAsLong());
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    /**
+     * @return First of {@code count} consecutive 60-bit timestamps reserved
+     */
+    private long _reserve(long epochNanos, int count)
+    {
+        final long millis = Math.floorDiv(epochNanos, NANOS_PER_MILLI);
+        // RFC 9562: fraction of millisecond, scaled to 12 bits
+        final long fraction = (Math.floorMod(epochNanos, NANOS_PER_MILLI) << FRACTION_BITS)
+                / NANOS_PER_MILLI;
+        final long timestamp = (millis << FRACTION_BITS) | fraction;
+        while (true) {
+            final long last = _lastTimestamp.get();
+            final long first = (timestamp > last) ? timestamp : (last + 1);
+            if (_lastTimestamp.compareAndSet(last, first + count - 1)) {
+                return first;
+            }
+        }
+    }
+
+    private static long _constructFirstLong(long timestamp)
+    {
+        return ((timestamp >>> FRACTION_BITS) << 16)
+                | ((long) UUIDType.TIME_BASED_EPOCH.raw() << 12)
+                | (timestamp & MASK_FRACTION);
+    }
+}
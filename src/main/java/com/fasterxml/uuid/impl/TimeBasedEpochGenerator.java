@@ -134,37 +134,93 @@ public class TimeBasedEpochGenerator extends NoArgGenerator
     {
         final long mostSigBits, leastSigBits;
         synchronized (_lastEntropy) {
-            if (rawTimestamp == _lastTimestamp) {
-                carry:
-                {
-                    for (int i = ENTROPY_BYTE_LENGTH - 1; i > 0; i--) {
-                        _lastEntropy[i] = (byte) (_lastEntropy[i] + 1);
-                        if (_lastEntropy[i] != 0x00) {
-                            break carry;
-                        }
-                    }
-                    _lastEntropy[0] = (byte) (_lastEntropy[0] + 1);
-                    if (_lastEntropy[0] >= 0x04) {
-                        throw new IllegalStateException("overflow on same millisecond");
+            _advanceEntropy(rawTimestamp);
+            mostSigBits = _constructFirstLong(rawTimestamp);
+            leastSigBits = _constructSecondLong();
+        }
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Bulk generation method that only needs to access clock and acquire
+     * lock once per batch.
+     *
+     * @since 5.3
+     */
+    @Override
+    public void generate(UUID[] buffer, int offset, int count)
+    {
+        _generateUsingPairs(buffer, offset, count);
+    }
+
+    /**
+     * Bulk generation method that only needs to access clock and acquire
+     * lock once per batch, and does not allocate any objects.
+     *
+     * @since 5.3
+     */
+    @Override
+    public void generate(long[] buffer, int offset, int count)
+    {
+        _checkBulkArguments(buffer.length, offset, count, 2);
+        final long rawTimestamp = _clock.currentTimeMillis();
+        synchronized (_lastEntropy) {
+            for (int i = 0; i < count; ++i) {
+                _advanceEntropy(rawTimestamp);
+                buffer[offset++] = _constructFirstLong(rawTimestamp);
+                buffer[offset++] = _constructSecondLong();
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    // NOTE: caller must hold lock on `_lastEntropy`
+    private void _advanceEntropy(long rawTimestamp)
+    {
+        if (rawTimestamp == _lastTimestamp) {
+            carry:
+            {
+                for (int i = ENTROPY_BYTE_LENGTH - 1; i > 0; i--) {
+                    _lastEntropy[i] = (byte) (_lastEntropy[i] + 1);
+                    if (_lastEntropy[i] != 0x00) {
+                        break carry;
                     }
                 }
-            } else {
-                _lastTimestamp = rawTimestamp;
-                _randomNextBytes.accept(_lastEntropy);
-                // In the most significant byte, only 2 bits will fit in the UUID, and one of those should be cleared
-                // to guard against overflow.
-                _lastEntropy[0] &= 0x01;
+                _lastEntropy[0] = (byte) (_lastEntropy[0] + 1);
+                if (_lastEntropy[0] >= 0x04) {
+                    throw new IllegalStateException("overflow on same millisecond");
+                }
             }
-            mostSigBits = rawTimestamp << 16 |
-                    (long) UUIDType.TIME_BASED_EPOCH.raw() << 12 |
-                    Byte.toUnsignedLong(_lastEntropy[0]) << 10 |
-                    Byte.toUnsignedLong(_lastEntropy[1]) << 2 |
-                    Byte.toUnsignedLong(_lastEntropy[2]) >>> 6;
-            long right62Mask = (1L << 62) - 1;
-            long variant = 0x02;
-            leastSigBits = variant << 62 |
-                    _toLong(_lastEntropy, 2) & right62Mask;
+        } else {
+            _lastTimestamp = rawTimestamp;
+            _randomNextBytes.accept(_lastEntropy);
+            // In the most significant byte, only 2 bits will fit in the UUID, and one of those should be cleared
+            // to guard against overflow.
+            _lastEntropy[0] &= 0x01;
         }
-        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    // NOTE: caller must hold lock on `_lastEntropy`
+    private long _constructFirstLong(long rawTimestamp)
+    {
+        return rawTimestamp << 16 |
+                (long) UUIDType.TIME_BASED_EPOCH.raw() << 12 |
+                Byte.toUnsignedLong(_lastEntropy[0]) << 10 |
+                Byte.toUnsignedLong(_lastEntropy[1]) << 2 |
+                Byte.toUnsignedLong(_lastEntropy[2]) >>> 6;
+    }
+
+    // NOTE: caller must hold lock on `_lastEntropy`
+    private long _constructSecondLong()
+    {
+        long right62Mask = (1L << 62) - 1;
+        long variant = 0x02;
+        return variant << 62 |
+                _toLong(_lastEntropy, 2) & right62Mask;
     }
 }
@@ -0,0 +1,233 @@
+package com.fasterxml.uuid.impl;
+
+import java.security.SecureRandom;
+import java.util.Objects;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.fasterxml.uuid.NoArgGenerator;
+import com.fasterxml.uuid.UUIDClock;
+import com.fasterxml.uuid.UUIDType;
+
+/**
+ * Variant of {@link TimeBasedEpochGenerator} (UUID "Version 7") that splits
+ * generation state into a number of "stripes", each with its own entropy
+ * counter (and random number source, unless one is explicitly passed),
+ * and selects stripe to use based on the calling thread.
+ * This reduces lock contention when many threads generate UUIDs concurrently.
+ *<p>
+ * Within each stripe, values are strictly monotonic: calls within same
+ * millisecond increment the entropy part (as with {@link TimeBasedEpochGenerator}),
+ * and if that overflows, timestamp is moved to the next millisecond instead
+ * of failing. In addition, a shared "high-water" timestamp ensures that no stripe
+ * uses a timestamp lower than the highest one used by any stripe so far,
+ * so that values across stripes remain sortable to the millisecond
+ * (even if the system clock moves backwards).
+ *<p>
+ * As all JUG provided implementations, this generator is fully thread-safe.
+ *
+ * @since 5.3
+ */
+public class TimeBasedEpochStripedGenerator extends NoArgGenerator
+{
+    private static final int ENTROPY_BYTE_LENGTH = 10;
+
+    private static final long MASK_RAND_A = 0xFFFL;
+
+    private static final long MASK_RAND_B = (1L << 62) - 1;
+
+    /*
+    /**********************************************************************
+    /* Configuration
+    /**********************************************************************
+     */
+
+    /**
+     * Underlying {@link UUIDClock} used for accessing current time, to use for
+     * generation.
+     */
+    protected final UUIDClock _clock;
+
+    private final Stripe[] _stripes;
+
+    private final int _stripeMask;
+
+    /**
+     * Highest timestamp used by any of stripes so far.
+     */
+    private final AtomicLong _highWater = new AtomicLong(Long.MIN_VALUE);
+
+    /*
+    /**********************************************************************
+    /* Construction
+    /**********************************************************************
+     */
+
+    /**
+     * @param stripes Number of stripes to use; rounded up to the next power of two
+     * @param rnd Random number generator to use for generating UUIDs; if null,
+     *   a new {@link SecureRandom} is created for each stripe.
+     * @param clock clock Object used for accessing current time to use for generation
+     */
+    public TimeBasedEpochStripedGenerator(int stripes, Random rnd, UUIDClock clock)
+    {
+        this(stripes, (rnd == null) ? null : rnd::nextBytes, clock);
+    }
+
+    /**
+     * @param stripes Number of stripes to use; rounded up to the next power of two
+     * @param randomNextBytes Source for random numbers to use for all stripes;
+     *   if null, a new {@link SecureRandom} is created for each stripe.
+     * @param clock clock Object used for accessing current time to use for generation
+     */
+    protected TimeBasedEpochStripedGenerator(int stripes, Consumer<byte[]> randomNextBytes,
+            UUIDClock clock)
+    {
+        stripes = _stripeCount(stripes);
+        _clock = Objects.requireNonNull(clock);
+        _stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; ++i) {
+            _stripes[i] = new Stripe((randomNextBytes == null)
+                    ? new SecureRandom()::nextBytes : randomNextBytes);
+        }
+        _stripeMask = stripes - 1;
+    }
+
+    private static int _stripeCount(int stripes) {
+        if (stripes < 1 || stripes > (1 << 16)) {
+            throw new IllegalArgumentException("Invalid number of stripes ("+stripes
+                    +"): must be between 1 and 65536");
+        }
+        return Striping.roundToPowerOfTwo(stripes);
+    }
+
+    /*
+    /**********************************************************************
+    /* Access to config
+    /**********************************************************************
+     */
+
+    @Override
+    public UUIDType getType() { return UUIDType.TIME_BASED_EPOCH; }
+
+    public int getStripeCount() { return _stripes.length; }
+
+    /*
+    /**********************************************************************
+    /* UUID generation
+    /**********************************************************************
+     */
+
+    @Override
+    public UUID generate()
+    {
+        return construct(_clock.currentTimeMillis());
+    }
+
+    /**
+     * Method that will construct actual {@link UUID} instance for given
+     * unix epoch timestamp: called by {@link #generate()} but may alternatively be
+     * called directly to construct an instance with known timestamp.
+     * NOTE: timestamp of the resulting {@link UUID} may be higher than one
+     * passed, if needed to keep values monotonic.
+     *
+     * @param rawTimestamp unix epoch millis
+     *
+     * @return unix epoch time based UUID
+     */
+    public UUID construct(long rawTimestamp)
+    {
+        final Stripe stripe = _stripes[_stripeIndex()];
+        final long mostSigBits, leastSigBits;
+        synchronized (stripe) {
+            long timestamp = Math.max(rawTimestamp, _highWater.get());
+            if (timestamp <= stripe.lastTimestamp) {
+                timestamp = stripe.lastTimestamp;
+                if (!stripe.increment()) { // overflow: move on to the next millisecond
+                    ++timestamp;
+                    stripe.reseed();
+                }
+            } else {
+                stripe.reseed();
+            }
+            if (timestamp != stripe.lastTimestamp) {
+                stripe.lastTimestamp = timestamp;
+                _advanceHighWater(timestamp);
+            }
+            mostSigBits = (timestamp << 16)
+                    | ((long) UUIDType.TIME_BASED_EPOCH.raw() << 12)
+                    | stripe.randA;
+            leastSigBits = (2L << 62) | stripe.randB;
+        }
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    private int _stripeIndex() {
+        return Striping.threadIndex(_stripeMask);
+    }
+
+    private void _advanceHighWater(long timestamp) {
+        long current;
+        while (timestamp > (current = _highWater.get())) {
+            if (_highWater.compareAndSet(current, timestamp)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Per-stripe generation state; accessed while holding lock on the instance.
+     */
+    private final static class Stripe
+    {
+        private final Consumer<byte[]> _randomNextBytes;
+
+        private final byte[] _entropy = new byte[ENTROPY_BYTE_LENGTH];
+
+        long lastTimestamp = Long.MIN_VALUE;
+
+        // 12 bits of "rand_a"
+        long randA;
+
+        // 62 bits of "rand_b"
+        long randB;
+
+        Stripe(Consumer<byte[]> randomNextBytes) {
+            _randomNextBytes = randomNextBytes;
+        }
+
+        void reseed() {
+            _randomNextBytes.accept(_entropy);
+            // As with TimeBasedEpochGenerator, clear most significant bit
+            // to guard against overflow
+            randA = ((_entropy[0] & 0x01L) << 10)
+                    | ((_entropy[1] & 0xFFL) << 2)
+                    | ((_entropy[2] & 0xFFL) >>> 6);
+            randB = _toLong(_entropy, 2) & MASK_RAND_B;
+        }
+
+        /**
+         * @return True if increment succeeded; false if entropy overflowed
+         */
+        boolean increment() {
+            if (randB != MASK_RAND_B) {
+                ++randB;
+                return true;
+            }
+            randB = 0L;
+            if (randA != MASK_RAND_A) {
+                ++randA;
+                return true;
+            }
+            return false;
+        }
+    }
+}
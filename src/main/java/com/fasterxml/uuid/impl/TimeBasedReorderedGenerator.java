@@ -57,6 +57,24 @@ public class TimeBasedReorderedGenerator extends NoArgGenerator
      */
     
     public TimeBasedReorderedGenerator(EthernetAddress ethAddr, UUIDTimer timer)
+    {
+        this(ethAddr, timer, timer.getClockSequence());
+    }
+
+    /**
+     * Constructor for generator that uses specified clock sequence, instead of
+     * one {@link UUIDTimer} has. This allows multiple generators, each with
+     * a timer of its own, to produce unique UUIDs (even with same Ethernet address)
+     * as long as each uses a different clock sequence.
+     *
+     * @param ethAddr Hardware address (802.1) to use for generating
+     *   spatially unique part of UUID
+     * @param timer Timer to use for timestamps
+     * @param clockSeq Clock sequence to use; only lowest 14 bits are used
+     *
+     * @since 5.3
+     */
+    public TimeBasedReorderedGenerator(EthernetAddress ethAddr, UUIDTimer timer, int clockSeq)
     {
         byte[] uuidBytes = new byte[16];
         if (ethAddr == null) {
@@ -66,7 +84,6 @@ public class TimeBasedReorderedGenerator extends NoArgGenerator
         _ethernetAddress = ethAddr;
         _ethernetAddress.toByteArray(uuidBytes, 10);
         // and add clock sequence
-        int clockSeq = timer.getClockSequence();
         uuidBytes[UUIDUtil.BYTE_OFFSET_CLOCK_SEQUENCE] = (byte) (clockSeq >> 8);
         uuidBytes[UUIDUtil.BYTE_OFFSET_CLOCK_SEQUENCE+1] = (byte) clockSeq;
         long l2 = UUIDUtil.gatherLong(uuidBytes, 8);
@@ -84,6 +101,15 @@ public class TimeBasedReorderedGenerator extends NoArgGenerator
     public UUIDType getType() { return UUIDType.TIME_BASED_REORDERED; }
 
     public EthernetAddress getEthernetAddress() { return _ethernetAddress; }
+
+    /**
+     * @return Clock sequence (14 bits) used for UUIDs generated
+     *
+     * @since 5.3
+     */
+    public int getClockSequence() {
+        return (int) (_uuidL2 >>> 48) & 0x3FFF;
+    }
     
     /*
     /**********************************************************************
@@ -98,6 +124,38 @@ public class TimeBasedReorderedGenerator extends NoArgGenerator
         return construct(_timer.getTimestamp());
     }
 
+    /**
+     * Bulk generation method that only needs to access {@link UUIDTimer} once
+     * per batch of timestamps.
+     *
+     * @since 5.3
+     */
+    @Override
+    public void generate(UUID[] buffer, int offset, int count)
+    {
+        _generateUsingPairs(buffer, offset, count);
+    }
+
+    /**
+     * Bulk generation method that only needs to access {@link UUIDTimer} once
+     * per batch of timestamps, and does not allocate any objects.
+     *
+     * @since 5.3
+     */
+    @Override
+    public void generate(long[] buffer, int offset, int count)
+    {
+        _checkBulkArguments(buffer.length, offset, count, 2);
+        // Get timestamps into the second half first; then expand in place
+        final int tsOffset = offset + count;
+        _timer.getTimestamps(buffer, tsOffset, count);
+        for (int i = 0; i < count; ++i) {
+            final long rawTimestamp = buffer[tsOffset + i];
+            buffer[offset++] = _constructFirstLong(rawTimestamp);
+            buffer[offset++] = _uuidL2;
+        }
+    }
+
     /**
      * Method that will construct actual {@link UUID} instance for given
      * timestamp: called by {@link #generate()} but may alternatively be
@@ -113,6 +171,11 @@ public class TimeBasedReorderedGenerator extends NoArgGenerator
      * @since 4.3
      */
     public UUID construct(long rawTimestamp)
+    {
+        return new UUID(_constructFirstLong(rawTimestamp), _uuidL2);
+    }
+
+    private static long _constructFirstLong(long rawTimestamp)
     {
         // First: discard 4 MSB, next 32 bits (top of 60-bit timestamp) form the
         // highest 32-bit segments
@@ -127,7 +190,6 @@ public class TimeBasedReorderedGenerator extends NoArgGenerator
         timeBottomL = ((timeBottomL << 32) >>> 32); // to get rid of sign extension
 
         // and reconstruct
-        long l1 = timestampHigh | timeBottomL;
-        return new UUID(l1, _uuidL2);
+        return timestampHigh | timeBottomL;
     }
 }
@@ -0,0 +1,474 @@
+package com.fasterxml.uuid.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Base class for encoders/decoders of compact (shorter than the standard 36-character
+ * hex representation) textual representations of UUIDs. Three codecs are available:
+ *<ul>
+ * <li>{@link #base32Crockford()}: 26 characters, using
+ *   <a href="https://www.crockford.com/base32.html">Crockford's Base32</a> alphabet;
+ *   case-insensitive
+ *  </li>
+ * <li>{@link #base62()}: 22 characters, using alphabet of digits, upper- and lower-case
+ *   letters ({@code [0-9A-Za-z]})
+ *  </li>
+ * <li>{@link #base64Url()}: 22 characters, using URL- and filename-safe Base64 alphabet
+ *   (see <a href="https://datatracker.ietf.org/doc/html/rfc4648#section-5">RFC 4648, #5</a>),
+ *   without padding: same as {@code java.util.Base64.getUrlEncoder().withoutPadding()}
+ *   for the 16 bytes of UUID
+ *  </li>
+ *</ul>
+ * All codecs produce fixed-length output. Base32 and Base62 representations
+ * retain the ordering of UUIDs: lexical (ASCII) ordering of encoded values is the
+ * same as unsigned ordering of 128-bit UUID values (which for UUIDs of version 6 or 7
+ * is also the ordering {@link com.fasterxml.uuid.UUIDComparator} uses),
+ * so that time-based UUIDs remain sortable after encoding.
+ *<p>
+ * Encoding into caller-provided buffers does not allocate; decoding is strict
+ * (only exact length and canonical representation accepted) and reports problems
+ * with {@link NumberFormatException}, similar to {@link UUIDUtil#uuid(String)}.
+ * Instances are immutable and thread-safe.
+ *
+ * @since 5.3
+ */
+public abstract class UUIDCodec
+{
+    private final static UUIDCodec BASE32_CROCKFORD;
+    static {
+        final String alphabet = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+        byte[] decoding = _decodingTable(alphabet);
+        // Crockford's Base32 is case-insensitive and has aliases for easily confused letters
+        for (int i = 0; i < alphabet.length(); ++i) {
+            decoding[Character.toLowerCase(alphabet.charAt(i))] = (byte) i;
+        }
+        decoding['I'] = decoding['i'] = decoding['L'] = decoding['l'] = 1;
+        decoding['O'] = decoding['o'] = 0;
+        BASE32_CROCKFORD = new PowerOf2Codec("Base32 (Crockford)", alphabet, decoding, 5, false);
+    }
+
+    private final static UUIDCodec BASE62 = new Base62Codec();
+
+    private final static UUIDCodec BASE64_URL = new PowerOf2Codec("Base64 (URL-safe)",
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_",
+            _decodingTable("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"),
+            6, true);
+
+    protected final String _name;
+
+    /**
+     * Characters used for encoding, indexed by digit value
+     */
+    protected final byte[] _alphabet;
+
+    /**
+     * Digit values of 8-bit characters, or -1 for characters not valid for the encoding
+     */
+    protected final byte[] _digitValues;
+
+    protected final int _length;
+
+    protected UUIDCodec(String name, String alphabet, byte[] digitValues, int length)
+    {
+        _name = name;
+        _alphabet = alphabet.getBytes(StandardCharsets.US_ASCII);
+        _digitValues = digitValues;
+        _length = length;
+    }
+
+    /*
+    /**********************************************************************
+    /* Factory methods
+    /**********************************************************************
+     */
+
+    /**
+     * @return Codec for 26-character Crockford's Base32 representation (order-preserving)
+     */
+    public static UUIDCodec base32Crockford() {
+        return BASE32_CROCKFORD;
+    }
+
+    /**
+     * @return Codec for 22-character Base62 representation (order-preserving)
+     */
+    public static UUIDCodec base62() {
+        return BASE62;
+    }
+
+    /**
+     * @return Codec for 22-character URL-safe Base64 representation (not order-preserving)
+     */
+    public static UUIDCodec base64Url() {
+        return BASE64_URL;
+    }
+
+    /*
+    /**********************************************************************
+    /* Accessors
+    /**********************************************************************
+     */
+
+    public String getName() { return _name; }
+
+    /**
+     * @return Length of encoded representation, in characters
+     */
+    public int encodedLength() { return _length; }
+
+    /**
+     * @return Whether lexical ordering of encoded values is the same as the
+     *    unsigned ordering of 128-bit UUID values
+     */
+    public abstract boolean isOrderPreserving();
+
+    @Override
+    public String toString() { return _name; }
+
+    /*
+    /**********************************************************************
+    /* Encoding
+    /**********************************************************************
+     */
+
+    public String encode(UUID uuid)
+    {
+        byte[] ascii = new byte[_length];
+        encode(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), ascii, 0);
+        return new String(ascii, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * @return Offset after the last character written
+     */
+    public int encode(UUID uuid, char[] buffer, int offset) {
+        return encode(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), buffer, offset);
+    }
+
+    /**
+     * @return Offset after the last byte written
+     */
+    public int encode(UUID uuid, byte[] buffer, int offset) {
+        return encode(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), buffer, offset);
+    }
+
+    /**
+     * Method for encoding UUID, given as its most and least significant 64 bits,
+     * into given {@code char[]}.
+     *
+     * @return Offset after the last character written
+     */
+    public abstract int encode(long msb, long lsb, char[] buffer, int offset);
+
+    /**
+     * Method for encoding UUID, given as its most and least significant 64 bits,
+     * into given {@code byte[]} as ASCII.
+     *
+     * @return Offset after the last byte written
+     */
+    public abstract int encode(long msb, long lsb, byte[] buffer, int offset);
+
+    /*
+    /**********************************************************************
+    /* Decoding
+    /**********************************************************************
+     */
+
+    public UUID decode(CharSequence encoded)
+    {
+        long[] result = new long[2];
+        decode(encoded, result, 0);
+        return new UUID(result[0], result[1]);
+    }
+
+    /**
+     * Method for decoding encoded representation into two {@code long}s (most
+     * significant bits first), stored in given array.
+     *
+     * @param encoded Encoded representation: must be exactly {@link #encodedLength()}
+     *    characters long
+     * @param result Array to store the two {@code long}s in
+     * @param resultOffset Index of {@code result} to store most significant bits at
+     */
+    public void decode(CharSequence encoded, long[] result, int resultOffset)
+    {
+        if (encoded.length() != _length) {
+            throw new NumberFormatException("Invalid "+_name+" UUID representation: has to be "+_length
+                    +" characters long (got "+encoded.length()+")");
+        }
+        if (resultOffset < 0 || (resultOffset + 2) > result.length) {
+            throw new IllegalArgumentException("Invalid offset ("+resultOffset
+                    +") passed: not enough room in long array (need 2 entries)");
+        }
+        _decode(encoded, result, resultOffset);
+    }
+
+    protected abstract void _decode(CharSequence encoded, long[] result, int resultOffset);
+
+    /*
+    /**********************************************************************
+    /* Helper methods for sub-classes
+    /**********************************************************************
+     */
+
+    protected final int _digit(CharSequence encoded, int index)
+    {
+        final char c = encoded.charAt(index);
+        final int value = (c > 0xFF) ? -1 : _digitValues[c];
+        if (value < 0) {
+            throw new NumberFormatException("Invalid "+_name+" character at #"+index+": '"+c
+                    +"' (value 0x"+Integer.toHexString(c)+")");
+        }
+        return value;
+    }
+
+    protected final NumberFormatException _overflow(CharSequence encoded)
+    {
+        return new NumberFormatException("Invalid "+_name+" UUID representation '"+encoded
+                +"': value out of range");
+    }
+
+    protected final void _checkOutputRoom(int length, int offset)
+    {
+        if (offset < 0 || (offset + _length) > length) {
+            throw new IllegalArgumentException("Invalid offset ("+offset
+                    +") passed: not enough room in buffer (need "+_length+")");
+        }
+    }
+
+    protected final static byte[] _decodingTable(String alphabet)
+    {
+        byte[] table = new byte[256];
+        Arrays.fill(table, (byte) -1);
+        for (int i = 0; i < alphabet.length(); ++i) {
+            table[alphabet.charAt(i)] = (byte) i;
+        }
+        return table;
+    }
+
+    /*
+    /**********************************************************************
+    /* Implementations
+    /**********************************************************************
+     */
+
+    /**
+     * Codec for encodings where each character represents fixed number of bits:
+     * 128 bits of UUID need to be padded with zero bits either before
+     * (to retain ordering) or after (to keep byte alignment, like Base64) the value.
+     */
+    private final static class PowerOf2Codec extends UUIDCodec
+    {
+        private final int _bitsPerChar;
+
+        private final int _mask;
+
+        private final int _leadingPadding, _trailingPadding;
+
+        PowerOf2Codec(String name, String alphabet, byte[] digitValues, int bitsPerChar,
+                boolean padAtEnd)
+        {
+            super(name, alphabet, digitValues, (128 + bitsPerChar - 1) / bitsPerChar);
+            _bitsPerChar = bitsPerChar;
+            _mask = (1 << bitsPerChar) - 1;
+            final int padding = _length * bitsPerChar - 128;
+            _leadingPadding = padAtEnd ? 0 : padding;
+            _trailingPadding = padAtEnd ? padding : 0;
+        }
+
+        @Override
+        public boolean isOrderPreserving() {
+            // only if alphabet is in ascending order, and value not shifted
+            return _trailingPadding == 0;
+        }
+
+        @Override
+        public int encode(long msb, long lsb, char[] buffer, int offset)
+        {
+            _checkOutputRoom(buffer.length, offset);
+            int shift = _bitsPerChar * (_length - 1) - _trailingPadding;
+            for (final int end = offset + _length; offset < end; ++offset, shift -= _bitsPerChar) {
+                buffer[offset] = (char) _alphabet[_bits(msb, lsb, shift)];
+            }
+            return offset;
+        }
+
+        @Override
+        public int encode(long msb, long lsb, byte[] buffer, int offset)
+        {
+            _checkOutputRoom(buffer.length, offset);
+            int shift = _bitsPerChar * (_length - 1) - _trailingPadding;
+            for (final int end = offset + _length; offset < end; ++offset, shift -= _bitsPerChar) {
+                buffer[offset] = _alphabet[_bits(msb, lsb, shift)];
+            }
+            return offset;
+        }
+
+        /**
+         * @param shift Number of bits to shift 128-bit value right (or, if negative, left)
+         *    to get the digit as lowest bits
+         */
+        private int _bits(long msb, long lsb, int shift)
+        {
+            final long bits;
+            if (shift <= 0) {
+                bits = lsb << -shift;
+            } else if (shift < 64) {
+                bits = (lsb >>> shift) | (msb << (64 - shift));
+            } else {
+                bits = msb >>> (shift - 64);
+            }
+            return (int) bits & _mask;
+        }
+
+        @Override
+        protected void _decode(CharSequence encoded, long[] result, int resultOffset)
+        {
+            long msb = 0L, lsb = 0L;
+            final int last = _length - 1;
+            for (int i = 0; i <= last; ++i) {
+                int digit = _digit(encoded, i);
+                int bits = _bitsPerChar;
+                if (i == 0) {
+                    // leading padding bits must be zeroes
+                    if ((digit >>> (bits - _leadingPadding)) != 0) {
+                        throw _overflow(encoded);
+                    }
+                } else if (i == last && _trailingPadding > 0) {
+                    // as must trailing padding bits, for representation to be canonical
+                    if ((digit & ((1 << _trailingPadding) - 1)) != 0) {
+                        throw _overflow(encoded);
+                    }
+                    digit >>>= _trailingPadding;
+                    bits -= _trailingPadding;
+                }
+                msb = (msb << bits) | (lsb >>> (64 - bits));
+                lsb = (lsb << bits) | digit;
+            }
+            result[resultOffset] = msb;
+            result[resultOffset+1] = lsb;
+        }
+    }
+
+    /**
+     * Codec for Base62 encoding: since 62 is not a power of two, encoding requires
+     * division of 128-bit values. This is done in steps of 5 digits (62^5 is below 2^30),
+     * using 32-bit "limbs" to avoid overflow.
+     */
+    private final static class Base62Codec extends UUIDCodec
+    {
+        private final static String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+        private final static long DIVISOR = 62L * 62L * 62L * 62L * 62L;
+
+        private final static long MASK_32 = 0xFFFFFFFFL;
+
+        Base62Codec() {
+            super("Base62", ALPHABET, _decodingTable(ALPHABET), 22);
+        }
+
+        @Override
+        public boolean isOrderPreserving() {
+            return true;
+        }
+
+        // 2^128 needs 22 digits: 4 groups of 5 digits (lowest), and 2 leading digits
+
+        @Override
+        public int encode(long msb, long lsb, char[] buffer, int offset)
+        {
+            _checkOutputRoom(buffer.length, offset);
+            int pos = offset + 22;
+            for (int group = 0; group < 4; ++group) {
+                // Divide 128-bit value by 62^5, one 32-bit limb at a time
+                long t = msb >>> 32;
+                long q = t / DIVISOR;
+                long r = t - q * DIVISOR;
+                t = (r << 32) | (msb & MASK_32);
+                long q2 = t / DIVISOR;
+                r = t - q2 * DIVISOR;
+                msb = (q << 32) | q2;
+                t = (r << 32) | (lsb >>> 32);
+                q = t / DIVISOR;
+                r = t - q * DIVISOR;
+                t = (r << 32) | (lsb & MASK_32);
+                q2 = t / DIVISOR;
+                r = t - q2 * DIVISOR;
+                lsb = (q << 32) | q2;
+
+                int rem = (int) r;
+                for (int i = 0; i < 5; ++i) {
+                    final int digit = rem % 62;
+                    rem /= 62;
+                    buffer[--pos] = (char) _alphabet[digit];
+                }
+            }
+            // remaining value is less than 62^2
+            final int rem = (int) lsb;
+            buffer[--pos] = (char) _alphabet[rem % 62];
+            buffer[--pos] = (char) _alphabet[rem / 62];
+            return offset + 22;
+        }
+
+        @Override
+        public int encode(long msb, long lsb, byte[] buffer, int offset)
+        {
+            _checkOutputRoom(buffer.length, offset);
+            int pos = offset + 22;
+            for (int group = 0; group < 4; ++group) {
+                long t = msb >>> 32;
+                long q = t / DIVISOR;
+                long r = t - q * DIVISOR;
+                t = (r << 32) | (msb & MASK_32);
+                long q2 = t / DIVISOR;
+                r = t - q2 * DIVISOR;
+                msb = (q << 32) | q2;
+                t = (r << 32) | (lsb >>> 32);
+                q = t / DIVISOR;
+                r = t - q * DIVISOR;
+                t = (r << 32) | (lsb & MASK_32);
+                q2 = t / DIVISOR;
+                r = t - q2 * DIVISOR;
+                lsb = (q << 32) | q2;
+
+                int rem = (int) r;
+                for (int i = 0; i < 5; ++i) {
+                    final int digit = rem % 62;
+                    rem /= 62;
+                    buffer[--pos] = _alphabet[digit];
+                }
+            }
+            final int rem = (int) lsb;
+            buffer[--pos] = _alphabet[rem % 62];
+            buffer[--pos] = _alphabet[rem / 62];
+            return offset + 22;
+        }
+
+        @Override
+        protected void _decode(CharSequence encoded, long[] result, int resultOffset)
+        {
+            long msb = 0L;
+            long lsb = _digit(encoded, 0) * 62 + _digit(encoded, 1);
+            for (int i = 2; i < 22; i += 5) {
+                long group = 0L;
+                for (int j = i; j < i + 5; ++j) {
+                    group = group * 62 + _digit(encoded, j);
+                }
+                // Multiply 128-bit value by 62^5 and add group, one 32-bit limb at a time
+                final long p0 = (lsb & MASK_32) * DIVISOR + group;
+                final long p1 = (lsb >>> 32) * DIVISOR + (p0 >>> 32);
+                final long p2 = (msb & MASK_32) * DIVISOR + (p1 >>> 32);
+                final long p3 = (msb >>> 32) * DIVISOR + (p2 >>> 32);
+                if ((p3 >>> 32) != 0L) {
+                    throw _overflow(encoded);
+                }
+                lsb = (p1 << 32) | (p0 & MASK_32);
+                msb = (p3 << 32) | (p2 & MASK_32);
+            }
+            result[resultOffset] = msb;
+            result[resultOffset+1] = lsb;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.fasterxml.uuid.impl;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.UUID;
 
 import com.fasterxml.uuid.UUIDTimer;
@@ -28,6 +31,79 @@ public class UUIDUtil
      */
     private final static UUID MAX_UUID = new UUID(-1L, -1L);
 
+    /**
+     * Lookup table for decoding hex digits: value of each 8-bit character
+     * as hex digit, or -1 if not a valid hex digit.
+     *
+     * @since 5.3
+     */
+    private final static byte[] HEX_VALUES = new byte[256];
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 10; ++i) {
+            HEX_VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; ++i) {
+            HEX_VALUES['a' + i] = (byte) (10 + i);
+            HEX_VALUES['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    /**
+     * Lookup tables for encoding bytes as hex: two ASCII characters for
+     * each byte value, at index {@code 2 * value}.
+     *
+     * @since 5.3
+     */
+    private final static byte[] HEX_PAIRS_LOWER = _hexPairs("0123456789abcdef");
+    private final static byte[] HEX_PAIRS_UPPER = _hexPairs("0123456789ABCDEF");
+
+    /**
+     * Enumeration of supported textual representations of UUIDs, for
+     * encoding methods like {@link UUIDUtil#toChars(UUID, TextFormat, char[], int)}.
+     *
+     * @since 5.3
+     */
+    public enum TextFormat
+    {
+        /**
+         * Canonical 36-character representation with lower-case hex digits
+         * (same as {@link UUID#toString()})
+         */
+        LOWER_CASE(false, true),
+
+        /**
+         * 36-character representation with upper-case hex digits
+         */
+        UPPER_CASE(true, true),
+
+        /**
+         * 32-character representation with lower-case hex digits and no hyphens
+         */
+        LOWER_CASE_NO_HYPHENS(false, false),
+
+        /**
+         * 32-character representation with upper-case hex digits and no hyphens
+         */
+        UPPER_CASE_NO_HYPHENS(true, false);
+
+        final byte[] _hexPairs;
+
+        final boolean _hyphens;
+
+        private TextFormat(boolean upperCase, boolean hyphens) {
+            _hexPairs = upperCase ? HEX_PAIRS_UPPER : HEX_PAIRS_LOWER;
+            _hyphens = hyphens;
+        }
+
+        /**
+         * @return Number of characters in UUID representation
+         */
+        public int length() {
+            return _hyphens ? 36 : 32;
+        }
+    }
+
     /*
     /**********************************************************************
     /* Construction (can instantiate, although usually not necessary)
@@ -87,64 +163,139 @@ public class UUIDUtil
      */
     public static UUID uuid(String id)
     {
-        if (id == null) {
-            throw new NullPointerException();
-        }
-        if (id.length() != 36) {
-            throw new NumberFormatException("UUID has to be represented by the standard 36-char representation");
-        }
+        return uuid((CharSequence) id);
+    }
 
-        long lo, hi;
-        lo = hi = 0;
-        
-        for (int i = 0, j = 0; i < 36; ++j) {
-        	
-            // Need to bypass hyphens:
-            switch (i) {
-            case 8:
-            case 13:
-            case 18:
-            case 23:
-                if (id.charAt(i) != '-') {
-                    throw new NumberFormatException("UUID has to be represented by the standard 36-char representation");
-                }
-                ++i;
-            }
-            int curr;
-            char c = id.charAt(i);
-
-            if (c >= '0' && c <= '9') {
-                curr = (c - '0');
-            } else if (c >= 'a' && c <= 'f') {
-                curr = (c - 'a' + 10);
-            } else if (c >= 'A' && c <= 'F') {
-                curr = (c - 'A' + 10);
-            } else {
-                throw new NumberFormatException("Non-hex character at #"+i+": '"+c
-                        +"' (value 0x"+Integer.toHexString(c)+")");
-            }
-            curr = (curr << 4);
-
-            c = id.charAt(++i);
-
-            if (c >= '0' && c <= '9') {
-                curr |= (c - '0');
-            } else if (c >= 'a' && c <= 'f') {
-                curr |= (c - 'a' + 10);
-            } else if (c >= 'A' && c <= 'F') {
-                curr |= (c - 'A' + 10);
-            } else {
-                throw new NumberFormatException("Non-hex character at #"+i+": '"+c
-                        +"' (value 0x"+Integer.toHexString(c)+")");
-            }
-            if (j < 8) {
-            	hi = (hi << 8) | curr;
-            } else {
-            	lo = (lo << 8) | curr;
-            }
-            ++i;
-        }		
-        return new UUID(hi, lo);
+    /**
+     * Factory method for creating UUIDs from the canonical textual
+     * representation contained in given {@link CharSequence}
+     * (like {@link StringBuilder} or {@link java.nio.CharBuffer}).
+     *
+     * @param id Character sequence that contains the canonical representation
+     *   of the UUID to build; must be exactly 36 characters long
+     *
+     * @since 5.3
+     */
+    public static UUID uuid(CharSequence id)
+    {
+        _checkUUIDText(id);
+        return new UUID(_parseFirstLong(id, 0), _parseSecondLong(id, 0));
+    }
+
+    /**
+     * Factory method for creating UUIDs from the canonical textual
+     * representation contained in given {@code char[]}, starting at given offset.
+     * Characters after the 36 characters of the UUID are ignored.
+     *
+     * @param chars Array that contains the canonical representation of the UUID
+     * @param offset Offset of the first character of the UUID
+     *
+     * @since 5.3
+     */
+    public static UUID uuid(char[] chars, int offset)
+    {
+        _checkUUIDText(chars, offset);
+        return new UUID(_parseFirstLong(chars, offset), _parseSecondLong(chars, offset));
+    }
+
+    /**
+     * Factory method for creating UUIDs from the canonical textual
+     * representation contained in given {@code byte[]} as ASCII (or UTF-8,
+     * since all valid characters are 7-bit), starting at given offset.
+     * Bytes after the 36 bytes of the UUID are ignored.
+     *<p>
+     * Note that {@link #uuid(byte[], int)} is different: it constructs
+     * UUID from its 16-byte binary representation.
+     *
+     * @param bytes Array that contains the canonical representation of the UUID
+     * @param offset Offset of the first byte of the UUID
+     *
+     * @since 5.3
+     */
+    public static UUID uuidFromAscii(byte[] bytes, int offset)
+    {
+        _checkUUIDText(bytes, offset);
+        return new UUID(_parseFirstLong(bytes, offset), _parseSecondLong(bytes, offset));
+    }
+
+    /**
+     * Factory method for creating UUIDs from the canonical textual
+     * representation contained in given {@link ByteBuffer} as ASCII (or UTF-8),
+     * starting at given absolute index. Position and limit of the buffer
+     * are not modified.
+     *
+     * @param buffer Buffer that contains the canonical representation of the UUID
+     * @param offset Absolute index of the first byte of the UUID
+     *
+     * @since 5.3
+     */
+    public static UUID uuidFromAscii(ByteBuffer buffer, int offset)
+    {
+        _checkUUIDText(buffer, offset);
+        return new UUID(_parseFirstLong(buffer, offset), _parseSecondLong(buffer, offset));
+    }
+
+    /**
+     * Method for parsing canonical textual representation of a UUID into
+     * two {@code long}s (most significant bits first), stored in given array;
+     * can be used to avoid constructing {@link UUID} instances.
+     *
+     * @param id Character sequence that contains the canonical representation
+     *   of the UUID; must be exactly 36 characters long
+     * @param result Array to store the two {@code long}s in
+     * @param resultOffset Index of {@code result} to store most significant bits at
+     *
+     * @since 5.3
+     */
+    public static void parseUUID(CharSequence id, long[] result, int resultOffset)
+    {
+        _checkUUIDText(id);
+        _checkResultArray(result, resultOffset);
+        result[resultOffset] = _parseFirstLong(id, 0);
+        result[resultOffset+1] = _parseSecondLong(id, 0);
+    }
+
+    /**
+     * Same as {@link #parseUUID(CharSequence, long[], int)} but reading
+     * the textual representation from given {@code char[]}.
+     *
+     * @since 5.3
+     */
+    public static void parseUUID(char[] chars, int offset, long[] result, int resultOffset)
+    {
+        _checkUUIDText(chars, offset);
+        _checkResultArray(result, resultOffset);
+        result[resultOffset] = _parseFirstLong(chars, offset);
+        result[resultOffset+1] = _parseSecondLong(chars, offset);
+    }
+
+    /**
+     * Same as {@link #parseUUID(CharSequence, long[], int)} but reading
+     * the textual representation from given {@code byte[]} as ASCII.
+     *
+     * @since 5.3
+     */
+    public static void parseAsciiUUID(byte[] bytes, int offset, long[] result, int resultOffset)
+    {
+        _checkUUIDText(bytes, offset);
+        _checkResultArray(result, resultOffset);
+        result[resultOffset] = _parseFirstLong(bytes, offset);
+        result[resultOffset+1] = _parseSecondLong(bytes, offset);
+    }
+
+    /**
+     * Same as {@link #parseUUID(CharSequence, long[], int)} but reading
+     * the textual representation from given {@link ByteBuffer} as ASCII,
+     * starting at given absolute index.
+     *
+     * @since 5.3
+     */
+    public static void parseAsciiUUID(ByteBuffer buffer, int offset, long[] result, int resultOffset)
+    {
+        _checkUUIDText(buffer, offset);
+        _checkResultArray(result, resultOffset);
+        result[resultOffset] = _parseFirstLong(buffer, offset);
+        result[resultOffset+1] = _parseSecondLong(buffer, offset);
     }
 
     /**
@@ -222,6 +373,26 @@ public class UUIDUtil
         return l2;
     }
     
+    /**
+     * Helper method used by bulk generation methods for verifying that
+     * {@code count} UUIDs, each taking {@code entriesPerUUID} entries, fit
+     * in a buffer of given length starting at given offset.
+     *
+     * @throws IllegalArgumentException if offset or count is negative, or
+     *    buffer is not long enough
+     *
+     * @since 5.3
+     */
+    public static void checkBulkArguments(int bufferLength, int offset, int count,
+            int entriesPerUUID)
+    {
+        if (offset < 0 || count < 0
+                || ((long) offset + (long) count * entriesPerUUID) > bufferLength) {
+            throw new IllegalArgumentException("Invalid offset ("+offset+") and/or count ("+count
+                    +") for buffer of length "+bufferLength);
+        }
+    }
+
     /*
     /***********************************************************************
     /* Type introspection
@@ -306,6 +477,159 @@ public class UUIDUtil
         _appendInt((int) lo, buffer, offset+12);
     }
 
+    /**
+     * Method for encoding given UUID as text, using specified format.
+     *
+     * @param uuid UUID to encode
+     * @param format Textual format to use
+     *
+     * @return String representation of the UUID
+     *
+     * @since 5.3
+     */
+    public static String toString(UUID uuid, TextFormat format)
+    {
+        byte[] ascii = new byte[format.length()];
+        toAscii(uuid, format, ascii, 0);
+        return new String(ascii, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Method for encoding given UUID in canonical (lower-case, hyphenated)
+     * 36-character representation into given {@code char[]}.
+     *
+     * @return Offset after the last character written
+     *
+     * @since 5.3
+     */
+    public static int toChars(UUID uuid, char[] buffer, int offset) {
+        return toChars(uuid, TextFormat.LOWER_CASE, buffer, offset);
+    }
+
+    /**
+     * Method for encoding given UUID using specified textual format into
+     * given {@code char[]}.
+     *
+     * @param uuid UUID to encode
+     * @param format Textual format to use
+     * @param buffer Buffer to write characters to
+     * @param offset Offset of the first character to write
+     *
+     * @return Offset after the last character written
+     *
+     * @since 5.3
+     */
+    public static int toChars(UUID uuid, TextFormat format, char[] buffer, int offset)
+    {
+        _checkOutputRoom(buffer.length, offset, format.length());
+        final long hi = uuid.getMostSignificantBits();
+        final long lo = uuid.getLeastSignificantBits();
+        final byte[] hex = format._hexPairs;
+        if (format._hyphens) {
+            offset = _appendHex4(hex, (int) (hi >>> 32), buffer, offset);
+            buffer[offset++] = '-';
+            offset = _appendHex2(hex, (int) (hi >>> 16), buffer, offset);
+            buffer[offset++] = '-';
+            offset = _appendHex2(hex, (int) hi, buffer, offset);
+            buffer[offset++] = '-';
+            offset = _appendHex2(hex, (int) (lo >>> 48), buffer, offset);
+            buffer[offset++] = '-';
+            offset = _appendHex2(hex, (int) (lo >>> 32), buffer, offset);
+            return _appendHex4(hex, (int) lo, buffer, offset);
+        }
+        offset = _appendHex4(hex, (int) (hi >>> 32), buffer, offset);
+        offset = _appendHex4(hex, (int) hi, buffer, offset);
+        offset = _appendHex4(hex, (int) (lo >>> 32), buffer, offset);
+        return _appendHex4(hex, (int) lo, buffer, offset);
+    }
+
+    /**
+     * Method for encoding given UUID in canonical (lower-case, hyphenated)
+     * 36-character representation into given {@code byte[]} as ASCII.
+     *
+     * @return Offset after the last byte written
+     *
+     * @since 5.3
+     */
+    public static int toAscii(UUID uuid, byte[] buffer, int offset) {
+        return toAscii(uuid, TextFormat.LOWER_CASE, buffer, offset);
+    }
+
+    /**
+     * Method for encoding given UUID using specified textual format into
+     * given {@code byte[]} as ASCII (which is also valid UTF-8).
+     *
+     * @param uuid UUID to encode
+     * @param format Textual format to use
+     * @param buffer Buffer to write bytes to
+     * @param offset Offset of the first byte to write
+     *
+     * @return Offset after the last byte written
+     *
+     * @since 5.3
+     */
+    public static int toAscii(UUID uuid, TextFormat format, byte[] buffer, int offset)
+    {
+        _checkOutputRoom(buffer.length, offset, format.length());
+        final long hi = uuid.getMostSignificantBits();
+        final long lo = uuid.getLeastSignificantBits();
+        final byte[] hex = format._hexPairs;
+        if (format._hyphens) {
+            offset = _appendHex4(hex, (int) (hi >>> 32), buffer, offset);
+            buffer[offset++] = '-';
+            offset = _appendHex2(hex, (int) (hi >>> 16), buffer, offset);
+            buffer[offset++] = '-';
+            offset = _appendHex2(hex, (int) hi, buffer, offset);
+            buffer[offset++] = '-';
+            offset = _appendHex2(hex, (int) (lo >>> 48), buffer, offset);
+            buffer[offset++] = '-';
+            offset = _appendHex2(hex, (int) (lo >>> 32), buffer, offset);
+            return _appendHex4(hex, (int) lo, buffer, offset);
+        }
+        offset = _appendHex4(hex, (int) (hi >>> 32), buffer, offset);
+        offset = _appendHex4(hex, (int) hi, buffer, offset);
+        offset = _appendHex4(hex, (int) (lo >>> 32), buffer, offset);
+        return _appendHex4(hex, (int) lo, buffer, offset);
+    }
+
+    /**
+     * Method for encoding given UUID using specified textual format into
+     * given {@link ByteBuffer} as ASCII, starting at given absolute index.
+     * Position and limit of the buffer are not modified.
+     *
+     * @param uuid UUID to encode
+     * @param format Textual format to use
+     * @param buffer Buffer to write bytes to
+     * @param offset Absolute index of the first byte to write
+     *
+     * @return Index after the last byte written
+     *
+     * @since 5.3
+     */
+    public static int toAscii(UUID uuid, TextFormat format, ByteBuffer buffer, int offset)
+    {
+        _checkOutputRoom(buffer.limit(), offset, format.length());
+        final long hi = uuid.getMostSignificantBits();
+        final long lo = uuid.getLeastSignificantBits();
+        final byte[] hex = format._hexPairs;
+        if (format._hyphens) {
+            offset = _appendHex4(hex, (int) (hi >>> 32), buffer, offset);
+            buffer.put(offset++, (byte) '-');
+            offset = _appendHex2(hex, (int) (hi >>> 16), buffer, offset);
+            buffer.put(offset++, (byte) '-');
+            offset = _appendHex2(hex, (int) hi, buffer, offset);
+            buffer.put(offset++, (byte) '-');
+            offset = _appendHex2(hex, (int) (lo >>> 48), buffer, offset);
+            buffer.put(offset++, (byte) '-');
+            offset = _appendHex2(hex, (int) (lo >>> 32), buffer, offset);
+            return _appendHex4(hex, (int) lo, buffer, offset);
+        }
+        offset = _appendHex4(hex, (int) (hi >>> 32), buffer, offset);
+        offset = _appendHex4(hex, (int) hi, buffer, offset);
+        offset = _appendHex4(hex, (int) (lo >>> 32), buffer, offset);
+        return _appendHex4(hex, (int) lo, buffer, offset);
+    }
+
     /*
     /******************************************************************************** 
     /* Package helper methods
@@ -321,6 +645,20 @@ public class UUIDUtil
         long lo = (((long) _gatherInt(buffer, offset+4)) << 32) >>> 32;
         return hi | lo;
     }
+
+    /**
+     * Helper method for constructing the first (most-significant) long of a
+     * "Version 7" UUID, from Unix Epoch timestamp (in milliseconds) and
+     * the lowest 12 bits of given value (as "rand_a").
+     *
+     * @since 5.3
+     */
+    protected final static long epochFirstLong(long timestamp, long randA)
+    {
+        return (timestamp << 16)
+                | ((long) UUIDType.TIME_BASED_EPOCH.raw() << 12)
+                | (randA & 0xFFFL);
+    }
     
     /*
     /******************************************************************************** 
@@ -336,6 +674,112 @@ public class UUIDUtil
         buffer[offset] = (byte) value;
     }
 	
+    private final static byte[] _hexPairs(String digits)
+    {
+        final byte[] pairs = new byte[512];
+        for (int i = 0; i < 256; ++i) {
+            pairs[i+i] = (byte) digits.charAt(i >> 4);
+            pairs[i+i+1] = (byte) digits.charAt(i & 0xF);
+        }
+        return pairs;
+    }
+
+    private final static void _checkOutputRoom(int length, int offset, int needed)
+    {
+        if (offset < 0 || (offset + needed) > length) {
+            throw new IllegalArgumentException("Invalid offset ("+offset
+                    +") passed: not enough room in buffer (need "+needed+")");
+        }
+    }
+
+    // Helper methods for appending hex representation of 4 (or lowest 2) bytes
+    // of given value: unrolled, as straight-line code allows JIT to combine
+    // bounds checks; "ixN" are indexes into hex-pair table (2 * byte value).
+
+    private final static int _appendHex4(byte[] hex, int value, char[] buffer, int offset)
+    {
+        final int ix1 = (value >>> 23) & 0x1FE;
+        final int ix2 = (value >>> 15) & 0x1FE;
+        final int ix3 = (value >>> 7) & 0x1FE;
+        final int ix4 = (value << 1) & 0x1FE;
+        buffer[offset] = (char) hex[ix1];
+        buffer[offset+1] = (char) hex[ix1+1];
+        buffer[offset+2] = (char) hex[ix2];
+        buffer[offset+3] = (char) hex[ix2+1];
+        buffer[offset+4] = (char) hex[ix3];
+        buffer[offset+5] = (char) hex[ix3+1];
+        buffer[offset+6] = (char) hex[ix4];
+        buffer[offset+7] = (char) hex[ix4+1];
+        return offset+8;
+    }
+
+    private final static int _appendHex2(byte[] hex, int value, char[] buffer, int offset)
+    {
+        final int ix1 = (value >>> 7) & 0x1FE;
+        final int ix2 = (value << 1) & 0x1FE;
+        buffer[offset] = (char) hex[ix1];
+        buffer[offset+1] = (char) hex[ix1+1];
+        buffer[offset+2] = (char) hex[ix2];
+        buffer[offset+3] = (char) hex[ix2+1];
+        return offset+4;
+    }
+
+    private final static int _appendHex4(byte[] hex, int value, byte[] buffer, int offset)
+    {
+        final int ix1 = (value >>> 23) & 0x1FE;
+        final int ix2 = (value >>> 15) & 0x1FE;
+        final int ix3 = (value >>> 7) & 0x1FE;
+        final int ix4 = (value << 1) & 0x1FE;
+        buffer[offset] = hex[ix1];
+        buffer[offset+1] = hex[ix1+1];
+        buffer[offset+2] = hex[ix2];
+        buffer[offset+3] = hex[ix2+1];
+        buffer[offset+4] = hex[ix3];
+        buffer[offset+5] = hex[ix3+1];
+        buffer[offset+6] = hex[ix4];
+        buffer[offset+7] = hex[ix4+1];
+        return offset+8;
+    }
+
+    private final static int _appendHex2(byte[] hex, int value, byte[] buffer, int offset)
+    {
+        final int ix1 = (value >>> 7) & 0x1FE;
+        final int ix2 = (value << 1) & 0x1FE;
+        buffer[offset] = hex[ix1];
+        buffer[offset+1] = hex[ix1+1];
+        buffer[offset+2] = hex[ix2];
+        buffer[offset+3] = hex[ix2+1];
+        return offset+4;
+    }
+
+    private final static int _appendHex4(byte[] hex, int value, ByteBuffer buffer, int offset)
+    {
+        final int ix1 = (value >>> 23) & 0x1FE;
+        final int ix2 = (value >>> 15) & 0x1FE;
+        final int ix3 = (value >>> 7) & 0x1FE;
+        final int ix4 = (value << 1) & 0x1FE;
+        buffer.put(offset, hex[ix1]);
+        buffer.put(offset+1, hex[ix1+1]);
+        buffer.put(offset+2, hex[ix2]);
+        buffer.put(offset+3, hex[ix2+1]);
+        buffer.put(offset+4, hex[ix3]);
+        buffer.put(offset+5, hex[ix3+1]);
+        buffer.put(offset+6, hex[ix4]);
+        buffer.put(offset+7, hex[ix4+1]);
+        return offset+8;
+    }
+
+    private final static int _appendHex2(byte[] hex, int value, ByteBuffer buffer, int offset)
+    {
+        final int ix1 = (value >>> 7) & 0x1FE;
+        final int ix2 = (value << 1) & 0x1FE;
+        buffer.put(offset, hex[ix1]);
+        buffer.put(offset+1, hex[ix1+1]);
+        buffer.put(offset+2, hex[ix2]);
+        buffer.put(offset+3, hex[ix2+1]);
+        return offset+4;
+    }
+
     private final static int _gatherInt(byte[] buffer, int offset)
     {
         return (buffer[offset] << 24) | ((buffer[offset+1] & 0xFF) << 16)
@@ -355,6 +799,242 @@ public class UUIDUtil
         }
     }
 
+    /*
+    /********************************************************************************
+    /* Internal helper methods, parsing
+    /********************************************************************************
+     */
+
+    // Textual representation is "xxxxxxxx-xxxx-xxxx-xxxx-xxxxxxxxxxxx": first long
+    // is decoded from hex digits at [0, 18), second from [19, 36); each in groups of
+    // 4 hex digits, using lookup table. Invalid characters make group negative so
+    // there is just one check per long; actual problem is located only if one is found.
+
+    private final static void _checkUUIDText(CharSequence id)
+    {
+        if (id == null) {
+            throw new NullPointerException();
+        }
+        if (id.length() != 36) {
+            throw new NumberFormatException("UUID has to be represented by the standard 36-char representation");
+        }
+    }
+
+    private final static void _checkUUIDText(char[] chars, int offset)
+    {
+        if (chars == null) {
+            throw new NullPointerException();
+        }
+        _checkTextOffset(chars.length, offset);
+    }
+
+    private final static void _checkUUIDText(byte[] bytes, int offset)
+    {
+        if (bytes == null) {
+            throw new NullPointerException();
+        }
+        _checkTextOffset(bytes.length, offset);
+    }
+
+    private final static void _checkUUIDText(ByteBuffer buffer, int offset)
+    {
+        if (buffer == null) {
+            throw new NullPointerException();
+        }
+        _checkTextOffset(buffer.limit(), offset);
+    }
+
+    private final static void _checkTextOffset(int length, int offset)
+    {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Invalid offset ("+offset+") passed: can not be negative");
+        }
+        if ((offset + 36) > length) {
+            throw new NumberFormatException("UUID has to be represented by the standard 36-char representation");
+        }
+    }
+
+    private final static void _checkResultArray(long[] result, int offset)
+    {
+        if (offset < 0 || (offset + 2) > result.length) {
+            throw new IllegalArgumentException("Invalid offset ("+offset
+                    +") passed: not enough room in long array (need 2 entries)");
+        }
+    }
+
+    /**
+     * Combines 4 decoded 16-bit groups into a long
+     */
+    private final static long _combine(int g1, int g2, int g3, int g4)
+    {
+        return ((long) g1 << 48) | ((long) g2 << 32) | ((long) g3 << 16) | g4;
+    }
+
+    /**
+     * Helper method called to construct exception that indicates the first invalid
+     * character, once it is known that there is one (not performance-sensitive).
+     */
+    private final static NumberFormatException _parseError(CharSequence id)
+    {
+        for (int i = 0; i < 36; ++i) {
+            final char c = id.charAt(i);
+            switch (i) {
+            case 8:
+            case 13:
+            case 18:
+            case 23:
+                if (c != '-') {
+                    return new NumberFormatException("UUID has to be represented by the standard 36-char representation");
+                }
+                break;
+            default:
+                if ((c > 0xFF) || (HEX_VALUES[c] < 0)) {
+                    return new NumberFormatException("Non-hex character at #"+i+": '"+c
+                            +"' (value 0x"+Integer.toHexString(c)+")");
+                }
+            }
+        }
+        // should never get here
+        return new NumberFormatException("Invalid UUID representation: '"+id+"'");
+    }
+
+    // // CharSequence
+
+    private final static int _hex4(CharSequence src, int offset)
+    {
+        final int c1 = src.charAt(offset), c2 = src.charAt(offset+1);
+        final int c3 = src.charAt(offset+2), c4 = src.charAt(offset+3);
+        if ((c1 | c2 | c3 | c4) > 0xFF) {
+            return -1;
+        }
+        final byte[] hex = HEX_VALUES;
+        // -1 for any of the values makes result negative
+        return (hex[c1] << 12) | (hex[c2] << 8) | (hex[c3] << 4) | hex[c4];
+    }
+
+    private final static long _parseFirstLong(CharSequence src, int o)
+    {
+        final int g1 = _hex4(src, o), g2 = _hex4(src, o+4);
+        final int g3 = _hex4(src, o+9), g4 = _hex4(src, o+14);
+        if (((g1 | g2 | g3 | g4) < 0) || (src.charAt(o+8) != '-') || (src.charAt(o+13) != '-')) {
+            throw _parseError(src);
+        }
+        return _combine(g1, g2, g3, g4);
+    }
+
+    private final static long _parseSecondLong(CharSequence src, int o)
+    {
+        final int g1 = _hex4(src, o+19), g2 = _hex4(src, o+24);
+        final int g3 = _hex4(src, o+28), g4 = _hex4(src, o+32);
+        if (((g1 | g2 | g3 | g4) < 0) || (src.charAt(o+18) != '-') || (src.charAt(o+23) != '-')) {
+            throw _parseError(src);
+        }
+        return _combine(g1, g2, g3, g4);
+    }
+
+    // // char[]
+
+    private final static int _hex4(char[] src, int offset)
+    {
+        final int c1 = src[offset], c2 = src[offset+1];
+        final int c3 = src[offset+2], c4 = src[offset+3];
+        if ((c1 | c2 | c3 | c4) > 0xFF) {
+            return -1;
+        }
+        final byte[] hex = HEX_VALUES;
+        // -1 for any of the values makes result negative
+        return (hex[c1] << 12) | (hex[c2] << 8) | (hex[c3] << 4) | hex[c4];
+    }
+
+    private final static long _parseFirstLong(char[] src, int o)
+    {
+        final int g1 = _hex4(src, o), g2 = _hex4(src, o+4);
+        final int g3 = _hex4(src, o+9), g4 = _hex4(src, o+14);
+        if (((g1 | g2 | g3 | g4) < 0) || (src[o+8] != '-') || (src[o+13] != '-')) {
+            throw _parseError(new String(src, o, 36));
+        }
+        return _combine(g1, g2, g3, g4);
+    }
+
+    private final static long _parseSecondLong(char[] src, int o)
+    {
+        final int g1 = _hex4(src, o+19), g2 = _hex4(src, o+24);
+        final int g3 = _hex4(src, o+28), g4 = _hex4(src, o+32);
+        if (((g1 | g2 | g3 | g4) < 0) || (src[o+18] != '-') || (src[o+23] != '-')) {
+            throw _parseError(new String(src, o, 36));
+        }
+        return _combine(g1, g2, g3, g4);
+    }
+
+    // // byte[] (ASCII)
+
+    private final static int _hex4(byte[] src, int offset)
+    {
+        final byte[] hex = HEX_VALUES;
+        // -1 for any of the values makes result negative
+        return (hex[src[offset] & 0xFF] << 12) | (hex[src[offset+1] & 0xFF] << 8)
+                | (hex[src[offset+2] & 0xFF] << 4) | hex[src[offset+3] & 0xFF];
+    }
+
+    private final static long _parseFirstLong(byte[] src, int o)
+    {
+        final int g1 = _hex4(src, o), g2 = _hex4(src, o+4);
+        final int g3 = _hex4(src, o+9), g4 = _hex4(src, o+14);
+        if (((g1 | g2 | g3 | g4) < 0) || (src[o+8] != '-') || (src[o+13] != '-')) {
+            throw _parseError(new String(src, o, 36, StandardCharsets.ISO_8859_1));
+        }
+        return _combine(g1, g2, g3, g4);
+    }
+
+    private final static long _parseSecondLong(byte[] src, int o)
+    {
+        final int g1 = _hex4(src, o+19), g2 = _hex4(src, o+24);
+        final int g3 = _hex4(src, o+28), g4 = _hex4(src, o+32);
+        if (((g1 | g2 | g3 | g4) < 0) || (src[o+18] != '-') || (src[o+23] != '-')) {
+            throw _parseError(new String(src, o, 36, StandardCharsets.ISO_8859_1));
+        }
+        return _combine(g1, g2, g3, g4);
+    }
+
+    // // ByteBuffer (ASCII)
+
+    private final static int _hex4(ByteBuffer src, int offset)
+    {
+        final byte[] hex = HEX_VALUES;
+        // -1 for any of the values makes result negative
+        return (hex[src.get(offset) & 0xFF] << 12) | (hex[src.get(offset+1) & 0xFF] << 8)
+                | (hex[src.get(offset+2) & 0xFF] << 4) | hex[src.get(offset+3) & 0xFF];
+    }
+
+    private final static long _parseFirstLong(ByteBuffer src, int o)
+    {
+        final int g1 = _hex4(src, o), g2 = _hex4(src, o+4);
+        final int g3 = _hex4(src, o+9), g4 = _hex4(src, o+14);
+        if (((g1 | g2 | g3 | g4) < 0) || (src.get(o+8) != '-') || (src.get(o+13) != '-')) {
+            throw _parseError(_asString(src, o));
+        }
+        return _combine(g1, g2, g3, g4);
+    }
+
+    private final static long _parseSecondLong(ByteBuffer src, int o)
+    {
+        final int g1 = _hex4(src, o+19), g2 = _hex4(src, o+24);
+        final int g3 = _hex4(src, o+28), g4 = _hex4(src, o+32);
+        if (((g1 | g2 | g3 | g4) < 0) || (src.get(o+18) != '-') || (src.get(o+23) != '-')) {
+            throw _parseError(_asString(src, o));
+        }
+        return _combine(g1, g2, g3, g4);
+    }
+
+    private final static String _asString(ByteBuffer buffer, int offset)
+    {
+        final char[] chars = new char[36];
+        for (int i = 0; i < 36; ++i) {
+            chars[i] = (char) (buffer.get(offset+i) & 0xFF);
+        }
+        return new String(chars);
+    }
+
     /**
      * Extract 64-bit timestamp from time-based UUIDs (if time-based type);
      * returns 0 for other types.
@@ -5,6 +5,7 @@ module com.fasterxml.uuid {
     exports com.fasterxml.uuid;
     // despite name, contains classes users may want to use directly so:
     exports com.fasterxml.uuid.impl;
+    exports com.fasterxml.uuid.collections;
     // but no user-serviceable parts here, I think
 //    exports com.fasterxml.uuid.ext;
 }
@@ -0,0 +1,174 @@
+package com.fasterxml.uuid;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.uuid.impl.TimeBasedGenerator;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since 5.3
+ */
+public class LeaseAheadTimestampSynchronizerTest
+{
+    /**
+     * Synchronizer that reserves fixed intervals, optionally waiting for
+     * a latch (to simulate slow I/O)
+     */
+    static class TestSynchronizer extends TimestampSynchronizer
+    {
+        final long interval;
+
+        volatile CountDownLatch gate;
+
+        volatile int updates;
+
+        volatile boolean fail, deactivated;
+
+        TestSynchronizer(long interval) {
+            this.interval = interval;
+        }
+
+        @Override
+        protected long initialize() {
+            return 0L;
+        }
+
+        @Override
+        protected void deactivate() {
+            deactivated = true;
+        }
+
+        @Override
+        protected long update(long now) throws IOException {
+            CountDownLatch g = gate;
+            if (g != null) {
+                try {
+                    g.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            if (fail) {
+                throw new IOException("Test failure");
+            }
+            ++updates;
+            return now + interval;
+        }
+    }
+
+    @Test
+    public void testSoftAndHardHorizons() throws Exception
+    {
+        TestSynchronizer delegate = new TestSynchronizer(100L);
+        LeaseAheadTimestampSynchronizer sync = new LeaseAheadTimestampSynchronizer(delegate);
+        assertEquals(0L, sync.initialize());
+
+        // Initial lease [1000, 1100), soft horizon half-way; not counted as stall
+        assertEquals(1050L, sync.update(1000L));
+        assertEquals(1, delegate.updates);
+        assertEquals(0L, sync.getStallCount());
+
+        // Renewal blocked: caller still gets the hard horizon without waiting
+        delegate.gate = new CountDownLatch(1);
+        assertEquals(1100L, sync.update(1050L));
+        assertEquals(1, delegate.updates);
+        delegate.gate.countDown();
+        _waitForRenewals(sync, 1L);
+        assertEquals(2, delegate.updates);
+
+        // new lease [1050, 1150): soft horizon at 1100
+        assertEquals(1150L, sync.update(1100L));
+        _waitForRenewals(sync, 2L);
+        assertEquals(0L, sync.getStallCount());
+
+        // Clock jump past the hard horizon: stall
+        assertEquals(1550L, sync.update(1500L));
+        assertEquals(1L, sync.getStallCount());
+
+        sync.deactivate();
+        assertTrue(delegate.deactivated);
+    }
+
+    @Test
+    public void testStallWaitsForRenewal() throws Exception
+    {
+        TestSynchronizer delegate = new TestSynchronizer(100L);
+        LeaseAheadTimestampSynchronizer sync = new LeaseAheadTimestampSynchronizer(delegate, 0.25);
+        sync.initialize();
+        assertEquals(1025L, sync.update(1000L));
+        delegate.gate = new CountDownLatch(1);
+        assertEquals(1100L, sync.update(1025L));
+
+        // Caller past horizon must wait for the pending renewal
+        final CountDownLatch gate = delegate.gate;
+        new Thread(() -> {
+            try {
+                Thread.sleep(50L);
+            } catch (InterruptedException e) { }
+            gate.countDown();
+        }).start();
+        // renewal from 1025 gives [1025, 1125), of which 1100 is past soft horizon
+        assertEquals(1125L, sync.update(1100L));
+        assertEquals(1L, sync.getStallCount());
+        sync.deactivate();
+    }
+
+    @Test
+    public void testFailedRenewal() throws Exception
+    {
+        TestSynchronizer delegate = new TestSynchronizer(100L);
+        LeaseAheadTimestampSynchronizer sync = new LeaseAheadTimestampSynchronizer(delegate);
+        sync.initialize();
+        sync.update(1000L);
+        delegate.fail = true;
+        assertEquals(1100L, sync.update(1060L));
+        // Background failure is only reported once lease actually runs out
+        Thread.sleep(50L);
+        assertThrows(IOException.class, () -> sync.update(1100L));
+        delegate.fail = false;
+        assertEquals(1150L, sync.update(1100L));
+        sync.deactivate();
+    }
+
+    @Test
+    public void testWithTimer() throws Exception
+    {
+        TestSynchronizer delegate = new TestSynchronizer(2L);
+        LeaseAheadTimestampSynchronizer sync = new LeaseAheadTimestampSynchronizer(delegate);
+        TimeBasedGenerator gen = Generators.timeBasedGenerator(null, new UUIDTimer(new Random(1L), sync));
+        UUID prev = gen.generate();
+        for (int i = 0; i < 50000; ++i) {
+            UUID uuid = gen.generate();
+            assertTrue(uuid.timestamp() > prev.timestamp());
+            prev = uuid;
+        }
+        sync.deactivate();
+        assertTrue(delegate.updates > 0);
+    }
+
+    @Test
+    public void testInvalidRatio()
+    {
+        assertThrows(IllegalArgumentException.class,
+                () -> new LeaseAheadTimestampSynchronizer(new TestSynchronizer(1L), 1.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LeaseAheadTimestampSynchronizer(new TestSynchronizer(1L), 0.0));
+    }
+
+    private static void _waitForRenewals(LeaseAheadTimestampSynchronizer sync, long expected)
+        throws InterruptedException
+    {
+        final long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5L);
+        while (sync.getRenewalCount() < expected && System.nanoTime() < end) {
+            Thread.sleep(5L);
+        }
+        assertEquals(expected, sync.getRenewalCount());
+    }
+}
@@ -0,0 +1,72 @@
+package com.fasterxml.uuid;
+
+/**
+ * {@link UUIDClock} for tests: returns time explicitly set (or advanced)
+ * by test code, either with millisecond or with nanosecond resolution.
+ *
+ * @since 5.3
+ */
+public class ManualClock extends UUIDClock
+{
+    private final boolean _subMillisecond;
+
+    private long _nanos;
+
+    private ManualClock(long nanos, boolean subMillisecond) {
+        _nanos = nanos;
+        _subMillisecond = subMillisecond;
+    }
+
+    /**
+     * @return Clock with millisecond resolution that stays at current system time
+     *    unless moved
+     */
+    public static ManualClock stopped() {
+        return ofMillis(System.currentTimeMillis());
+    }
+
+    /**
+     * @return Clock with millisecond resolution set to given time
+     */
+    public static ManualClock ofMillis(long millis) {
+        return new ManualClock(millis * 1_000_000L, false);
+    }
+
+    /**
+     * @return Clock with sub-millisecond resolution set to given time
+     */
+    public static ManualClock ofNanos(long nanos) {
+        return new ManualClock(nanos, true);
+    }
+
+    public void setMillis(long millis) {
+        _nanos = millis * 1_000_000L;
+    }
+
+    public void setNanos(long nanos) {
+        _nanos = nanos;
+    }
+
+    public void advanceMillis(long millis) {
+        _nanos += millis * 1_000_000L;
+    }
+
+    public void advanceNanos(long nanos) {
+        _nanos += nanos;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return Math.floorDiv(_nanos, 1_000_000L);
+    }
+
+    @Override
+    public long currentTimeNanos() {
+        return _subMillisecond ? _nanos : currentTimeMillis() * 1_000_000L;
+    }
+
+    @Override
+    public boolean hasSubMillisecondResolution() {
+        return _subMillisecond;
+    }
+}
@@ -0,0 +1,142 @@
+package com.fasterxml.uuid;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import com.fasterxml.uuid.impl.TimeBasedGenerator;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since 5.3
+ */
+public class UUIDClockTest
+{
+    @Test
+    public void testDefaultClock()
+    {
+        UUIDClock clock = UUIDClock.systemTimeClock();
+        assertFalse(clock.hasSubMillisecondResolution());
+        assertEquals(0L, clock.currentTimeNanos() % 1_000_000L);
+    }
+
+    @Test
+    public void testNanoTimeClock()
+    {
+        UUIDClock clock = UUIDClock.nanoTimeClock();
+        assertTrue(clock.hasSubMillisecondResolution());
+        final long start = System.currentTimeMillis();
+        long prev = clock.currentTimeNanos();
+        assertTrue(Math.abs(prev / 1_000_000L - start) < 1000L);
+        for (int i = 0; i < 100000; ++i) {
+            final long now = clock.currentTimeNanos();
+            assertTrue(now >= prev);
+            prev = now;
+        }
+        assertTrue(Math.abs(clock.currentTimeMillis() - System.currentTimeMillis()) < 1000L);
+    }
+
+    @Test
+    public void testInstantClock()
+    {
+        UUIDClock clock = UUIDClock.instantClock();
+        assertTrue(Math.abs(clock.currentTimeNanos() / 1_000_000L - System.currentTimeMillis()) < 1000L);
+    }
+
+    @Test
+    public void testCachedClock() throws Exception
+    {
+        try (CachedUUIDClock clock = new CachedUUIDClock(1)) {
+            assertFalse(clock.hasSubMillisecondResolution());
+            for (int i = 0; i < 5; ++i) {
+                assertTrue(Math.abs(clock.currentTimeMillis() - System.currentTimeMillis()) <= 10L);
+                Thread.sleep(3L);
+            }
+        }
+        CachedUUIDClock clock = new CachedUUIDClock();
+        // Values cached by ticker should advance
+        final long start = clock.currentTimeMillis();
+        Thread.sleep(20L);
+        assertTrue(clock.currentTimeMillis() > start);
+        clock.close();
+        assertTrue(clock.isClosed());
+        // and after closing, system clock is used directly
+        Thread.sleep(20L);
+        assertTrue(Math.abs(clock.currentTimeMillis() - System.currentTimeMillis()) <= 1L);
+
+        assertThrows(IllegalArgumentException.class, () -> new CachedUUIDClock(0));
+    }
+
+    @Test
+    public void testCachedClockMonotonic() throws Exception
+    {
+        // frequent checks against system clock must not make time go backwards
+        try (CachedUUIDClock clock = new CachedUUIDClock(16)) {
+            final long end = System.currentTimeMillis() + 200L;
+            long prev = clock.currentTimeMillis();
+            long now;
+            do {
+                now = clock.currentTimeMillis();
+                assertTrue(now >= prev, "Time went backwards: "+prev+" -> "+now);
+                prev = now;
+            } while (now < end);
+            clock.close();
+            // nor does closing
+            assertTrue(clock.currentTimeMillis() >= prev);
+        }
+    }
+
+    @Test
+    public void testTimerUsesSubMillisecondTime() throws Exception
+    {
+        // 1.2345 ms past some millisecond
+        ManualClock clock = ManualClock.ofNanos(1_600_000_000_001_234_500L);
+        for (UUIDTimer timer : new UUIDTimer[] {
+                new UUIDTimer(new Random(1L), null, clock),
+                new LockFreeUUIDTimer(new Random(1L), null, clock) }) {
+            clock.setNanos(1_600_000_000_001_234_500L);
+            final long base = (1_600_000_000_001L * UUIDTimer.kClockMultiplierL) + UUIDTimer.kClockOffset;
+            assertEquals(base + 2345L, timer.getTimestamp());
+            // Same time: next counter value
+            assertEquals(base + 2346L, timer.getTimestamp());
+            // Time advancing within the millisecond skips ahead
+            clock.advanceNanos(50_000L);
+            assertEquals(base + 2845L, timer.getTimestamp());
+            // But not backwards
+            clock.advanceNanos(-10_000L);
+            assertEquals(base + 2846L, timer.getTimestamp());
+            // And next millisecond starts from actual time
+            clock.setNanos(1_600_000_000_002_000_700L);
+            assertEquals(base + 10007L, timer.getTimestamp());
+        }
+    }
+
+    @Test
+    public void testGeneratorsWithClock()
+    {
+        TimeBasedGenerator gen = Generators.timeBasedGenerator(null, UUIDClock.nanoTimeClock());
+        Set<UUID> uuids = new HashSet<>();
+        long prev = 0L;
+        for (int i = 0; i < 10000; ++i) {
+            UUID uuid = gen.generate();
+            assertTrue(uuids.add(uuid));
+            assertTrue(uuid.timestamp() > prev);
+            prev = uuid.timestamp();
+        }
+        UUID v6 = Generators.timeBasedReorderedGenerator(null, UUIDClock.instantClock()).generate();
+        assertEquals(6, v6.version());
+
+        // Generators with separate timers, for same address, must get different clock sequences
+        final EthernetAddress addr = EthernetAddress.constructMulticastAddress();
+        Set<Integer> clockSeqs = new HashSet<>();
+        for (int i = 0; i < 100; ++i) {
+            clockSeqs.add(Generators.timeBasedGenerator(addr, UUIDClock.systemTimeClock())
+                    .generate().clockSequence());
+        }
+        assertTrue(clockSeqs.size() > 90, "Only "+clockSeqs.size()+" distinct clock sequences");
+    }
+}
@@ -827,6 +827,55 @@ public class UUIDGeneratorTest
         checkUUIDArrayForCorrectEthernetAddress(uuid_array, ethernet_address);
     }
     
+    /**
+     * Test of bulk generation methods of {@link NoArgGenerator}, for
+     * implementations that override them.
+     */
+    @Test
+    public void testBulkGeneration()
+    {
+        final EthernetAddress ethernet_address =
+            new EthernetAddress("87:F5:93:06:D3:0C");
+        _testBulkGeneration(Generators.randomBasedGenerator(), UUIDType.RANDOM_BASED, false);
+        _testBulkGeneration(Generators.randomBasedGenerator(new Random(123)), UUIDType.RANDOM_BASED, false);
+        _testBulkGeneration(Generators.timeBasedGenerator(ethernet_address), UUIDType.TIME_BASED, false);
+        _testBulkGeneration(Generators.timeBasedReorderedGenerator(ethernet_address),
+                UUIDType.TIME_BASED_REORDERED, true);
+        _testBulkGeneration(Generators.timeBasedEpochGenerator(), UUIDType.TIME_BASED_EPOCH, true);
+    }
+
+    private void _testBulkGeneration(NoArgGenerator uuid_gen, UUIDType type, boolean ordered)
+    {
+        UUID[] uuid_array = uuid_gen.generate(SIZE_OF_TEST_ARRAY);
+        checkUUIDArrayForNonNullUUIDs(uuid_array);
+        checkUUIDArrayForCorrectVariantAndVersion(uuid_array, type);
+        checkUUIDArrayForUniqueness(uuid_array);
+        if (ordered) {
+            checkUUIDArrayForCorrectOrdering(uuid_array);
+        }
+
+        // and then variant that produces `long`s, with an offset
+        final int offset = 3;
+        long[] pairs = new long[offset + 2 * SIZE_OF_TEST_ARRAY];
+        uuid_gen.generate(pairs, offset, SIZE_OF_TEST_ARRAY);
+        for (int i = 0; i < SIZE_OF_TEST_ARRAY; ++i) {
+            uuid_array[i] = new UUID(pairs[offset + 2*i], pairs[offset + 2*i + 1]);
+        }
+        checkUUIDArrayForCorrectVariantAndVersion(uuid_array, type);
+        checkUUIDArrayForUniqueness(uuid_array);
+        if (ordered) {
+            checkUUIDArrayForCorrectOrdering(uuid_array);
+        }
+
+        // and finally, error handling
+        try {
+            uuid_gen.generate(pairs, offset + 1, SIZE_OF_TEST_ARRAY);
+            fail("Expected exception for too small buffer");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Invalid offset"));
+        }
+    }
+
     /**************************************************************************
      * Begin Private Helper Methods for use in tests 
      *************************************************************************/
@@ -0,0 +1,107 @@
+package com.fasterxml.uuid;
+
+import java.util.Random;
+
+import com.fasterxml.uuid.UUIDTimer.OverflowPolicy;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for handling of virtual clock getting too far ahead of the system clock
+ * (see {@link OverflowPolicy}).
+ *
+ * @since 5.3
+ */
+public class UUIDTimerOverflowTest
+{
+    // Enough to get well past the limit of virtual clock advance
+    private final static int MAX_CALLS = 2_000_000;
+
+    @Test
+    public void testFailFast() throws Exception
+    {
+        for (UUIDTimer timer : _timers()) {
+            timer.setOverflowPolicy(OverflowPolicy.FAIL_FAST);
+            long prev = 0L;
+            IllegalStateException fail = null;
+            for (int i = 0; i < MAX_CALLS && fail == null; ++i) {
+                try {
+                    final long ts = timer.getTimestamp();
+                    assertTrue(ts > prev);
+                    prev = ts;
+                } catch (IllegalStateException e) {
+                    fail = e;
+                }
+            }
+            assertNotNull(fail);
+            assertEquals(1L, timer.getOverflowCount(OverflowPolicy.FAIL_FAST));
+            assertThrows(IllegalStateException.class, timer::getTimestamp);
+            assertEquals(2L, timer.getOverflowCount(OverflowPolicy.FAIL_FAST));
+
+            // but no harm done: can continue with different policy
+            timer.setOverflowPolicy(OverflowPolicy.BORROW);
+            assertTrue(timer.getTimestamp() > prev);
+            assertEquals(1L, timer.getOverflowCount(OverflowPolicy.BORROW));
+        }
+    }
+
+    @Test
+    public void testBorrow() throws Exception
+    {
+        for (UUIDTimer timer : _timers()) {
+            timer.setOverflowPolicy(OverflowPolicy.BORROW);
+            timer.setBorrowBudget(20L);
+            _advanceUntil(timer, OverflowPolicy.PARK, 1L);
+            // Each overrun beyond limit borrows one more millisecond
+            assertEquals(20L, timer.getOverflowCount(OverflowPolicy.BORROW));
+            assertEquals(0L, timer.getOverflowCount(OverflowPolicy.SLEEP));
+        }
+    }
+
+    @Test
+    public void testParkAndSleep() throws Exception
+    {
+        for (UUIDTimer timer : _timers()) {
+            assertEquals(OverflowPolicy.SLEEP, timer.getOverflowPolicy());
+            _advanceUntil(timer, OverflowPolicy.SLEEP, 2L);
+
+            timer.setOverflowPolicy(OverflowPolicy.PARK);
+            long[] buffer = new long[3 * UUIDTimer.kClockMultiplier];
+            timer.getTimestamps(buffer, 0, buffer.length);
+            for (int i = 1; i < buffer.length; ++i) {
+                assertTrue(buffer[i] > buffer[i-1]);
+            }
+            assertTrue(timer.getOverflowCount(OverflowPolicy.PARK) >= 2L);
+            assertEquals(2L, timer.getOverflowCount(OverflowPolicy.SLEEP));
+        }
+    }
+
+    @Test
+    public void testInvalidSettings() throws Exception
+    {
+        UUIDTimer timer = new UUIDTimer(new Random(1L), null);
+        assertThrows(NullPointerException.class, () -> timer.setOverflowPolicy(null));
+        assertThrows(IllegalArgumentException.class, () -> timer.setBorrowBudget(-1L));
+    }
+
+    private static UUIDTimer[] _timers() throws Exception
+    {
+        return new UUIDTimer[] {
+                new UUIDTimer(new Random(1L), null, ManualClock.stopped()),
+                new LockFreeUUIDTimer(new Random(1L), null, ManualClock.stopped())
+        };
+    }
+
+    private static void _advanceUntil(UUIDTimer timer, OverflowPolicy policy, long count)
+    {
+        long prev = 0L;
+        for (int i = 0; i < MAX_CALLS && timer.getOverflowCount(policy) < count; ++i) {
+            final long ts = timer.getTimestamp();
+            assertTrue(ts > prev);
+            prev = ts;
+        }
+        assertEquals(count, timer.getOverflowCount(policy));
+    }
+}
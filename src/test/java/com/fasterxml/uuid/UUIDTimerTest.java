@@ -191,6 +191,97 @@ public class UUIDTimerTest
         assertEquals(timer1.getTimestamp(), timer2.getTimestamp());
     }
     
+    /**
+     * Test to verify that {@link LockFreeUUIDTimer} produces exactly same
+     * sequence as the default (synchronized) implementation, including
+     * handling of clock counter over-run.
+     */
+    @Test
+    public void testLockFreeTimestampsMatchDefault() throws IOException
+    {
+        final long seed = new Random().nextLong();
+        final UUIDClock clock = new UUIDClock() {
+            @Override
+            public long currentTimeMillis() {
+                return 1700000000000L;
+            }
+        };
+        final UUIDTimer timer1 = new UUIDTimer(new Random(seed), null, clock);
+        final UUIDTimer timer2 = new LockFreeUUIDTimer(new Random(seed), null, clock);
+
+        // enough to overflow clock counter couple of times
+        for (int i = 0; i < 25000; ++i) {
+            assertEquals(timer1.getTimestamp(), timer2.getTimestamp(), "Mismatch at #"+i);
+        }
+    }
+
+    /**
+     * Test to verify that bulk access via {@link UUIDTimer#getTimestamps} produces
+     * same values as individual calls, for both implementations.
+     */
+    @Test
+    public void testGetTimestampsMatchesIndividualCalls() throws IOException
+    {
+        final long seed = new Random().nextLong();
+        final UUIDClock clock = new UUIDClock() {
+            @Override
+            public long currentTimeMillis() {
+                return 1700000000000L;
+            }
+        };
+        final int COUNT = 25000;
+        long[] expected = new long[COUNT];
+        UUIDTimer timer = new UUIDTimer(new Random(seed), null, clock);
+        for (int i = 0; i < COUNT; ++i) {
+            expected[i] = timer.getTimestamp();
+        }
+
+        long[] actual = new long[COUNT + 1];
+        timer = new UUIDTimer(new Random(seed), null, clock);
+        timer.getTimestamps(actual, 1, COUNT);
+        assertArrayEquals(expected, Arrays.copyOfRange(actual, 1, COUNT + 1));
+
+        Arrays.fill(actual, 0L);
+        timer = new LockFreeUUIDTimer(new Random(seed), null, clock);
+        timer.getTimestamps(actual, 1, COUNT);
+        assertArrayEquals(expected, Arrays.copyOfRange(actual, 1, COUNT + 1));
+    }
+
+    /**
+     * Test to verify that concurrent callers of {@link LockFreeUUIDTimer} get
+     * unique timestamps, increasing for each caller.
+     */
+    @Test
+    public void testLockFreeTimestampsConcurrent() throws Exception
+    {
+        final int THREADS = 8;
+        final int PER_THREAD = 20000;
+        final UUIDTimer timer = new LockFreeUUIDTimer(new Random(123L), null);
+        final long[][] results = new long[THREADS][PER_THREAD];
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; ++t) {
+            final long[] result = results[t];
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < PER_THREAD; ++i) {
+                    result[i] = timer.getTimestamp();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Set<Long> all = new HashSet<Long>();
+        for (long[] result : results) {
+            for (int i = 0; i < PER_THREAD; ++i) {
+                if (i > 0) {
+                    assertTrue(result[i-1] < result[i], "Timestamps not increasing at #"+i);
+                }
+                assertTrue(all.add(result[i]), "Duplicate timestamp at #"+i);
+            }
+        }
+    }
+
     /**************************************************************************
      * Begin private helper functions for use in tests
      *************************************************************************/
@@ -0,0 +1,136 @@
+package com.fasterxml.uuid.collections;
+
+import java.io.File;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since 5.3
+ */
+public class MappedUUIDHashSetTest
+{
+    @TempDir
+    File tempDir;
+
+    @Test
+    public void testAddContainsAndResize() throws Exception
+    {
+        try (MappedUUIDHashSet set = MappedUUIDHashSet.open(tempDir, 4, 8)) {
+            assertEquals(4, set.getSegmentCount());
+            assertEquals(32L, set.capacity());
+            Random r = new Random(1L);
+            List<UUID> uuids = new ArrayList<>();
+            for (int i = 0; i < 5000; ++i) {
+                UUID uuid = new UUID(r.nextLong(), r.nextLong());
+                uuids.add(uuid);
+                assertFalse(set.contains(uuid));
+                assertTrue(set.add(uuid));
+                assertFalse(set.add(uuid));
+                assertTrue(set.contains(uuid));
+            }
+            assertEquals(5000L, set.size());
+            assertTrue(set.capacity() >= 5000L);
+            for (UUID uuid : uuids) {
+                assertTrue(set.contains(uuid));
+            }
+
+            // Nil UUID handled separately
+            UUID nil = new UUID(0L, 0L);
+            assertFalse(set.contains(nil));
+            assertTrue(set.add(nil));
+            assertFalse(set.add(nil));
+            assertTrue(set.contains(nil));
+            assertEquals(5001L, set.size());
+        }
+        // Older generations should have been removed when resizing
+        assertEquals(4, tempDir.list((dir, name) -> name.startsWith("segment-")).length);
+    }
+
+    @Test
+    public void testReopen() throws Exception
+    {
+        Random r = new Random(2L);
+        List<UUID> uuids = new ArrayList<>();
+        try (MappedUUIDHashSet set = MappedUUIDHashSet.open(tempDir, 2, 16)) {
+            for (int i = 0; i < 1000; ++i) {
+                UUID uuid = new UUID(r.nextLong(), r.nextLong());
+                uuids.add(uuid);
+                set.add(uuid);
+            }
+            set.add(new UUID(0L, 0L));
+        }
+        // Settings only used when creating
+        try (MappedUUIDHashSet set = MappedUUIDHashSet.open(tempDir, 64, 1024)) {
+            assertEquals(2, set.getSegmentCount());
+            assertEquals(1001L, set.size());
+            for (UUID uuid : uuids) {
+                assertTrue(set.contains(uuid));
+                assertFalse(set.add(uuid));
+            }
+            assertTrue(set.contains(new UUID(0L, 0L)));
+            assertFalse(set.contains(new UUID(r.nextLong(), r.nextLong())));
+        }
+    }
+
+    @Test
+    public void testExclusiveAccess() throws Exception
+    {
+        try (MappedUUIDHashSet set = MappedUUIDHashSet.open(tempDir)) {
+            assertThrows(OverlappingFileLockException.class, () -> MappedUUIDHashSet.open(tempDir));
+        }
+        // but fine once closed
+        MappedUUIDHashSet.open(tempDir).close();
+    }
+
+    @Test
+    public void testInvalidSettings()
+    {
+        assertThrows(IllegalArgumentException.class, () -> MappedUUIDHashSet.open(tempDir, 0, 16));
+        assertThrows(IllegalArgumentException.class, () -> MappedUUIDHashSet.open(tempDir, 4, 0));
+    }
+
+    @Test
+    public void testConcurrentAdds() throws Exception
+    {
+        final int THREADS = 4;
+        final int PER_THREAD = 5000;
+        try (MappedUUIDHashSet set = MappedUUIDHashSet.open(tempDir, 4, 8)) {
+            final AtomicInteger added = new AtomicInteger();
+            final AtomicInteger missing = new AtomicInteger();
+            Thread[] threads = new Thread[THREADS];
+            for (int t = 0; t < THREADS; ++t) {
+                threads[t] = new Thread(() -> {
+                    // All threads add same UUIDs; each must be added exactly once
+                    Random r = new Random(3L);
+                    for (int i = 0; i < PER_THREAD; ++i) {
+                        UUID uuid = new UUID(r.nextLong(), r.nextLong());
+                        if (set.add(uuid)) {
+                            added.incrementAndGet();
+                        }
+                        if (!set.contains(uuid)) {
+                            missing.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals(0, missing.get());
+            assertEquals(PER_THREAD, added.get());
+            assertEquals(PER_THREAD, set.size());
+        }
+    }
+}
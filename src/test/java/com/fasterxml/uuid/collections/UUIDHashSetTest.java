@@ -0,0 +1,115 @@
+package com.fasterxml.uuid.collections;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.impl.UUIDUtil;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since 5.3
+ */
+public class UUIDHashSetTest
+{
+    @Test
+    public void testBasicOperations() {
+        UUIDHashSet set = new UUIDHashSet();
+        assertTrue(set.isEmpty());
+        UUID uuid = Generators.timeBasedEpochGenerator().generate();
+        assertFalse(set.contains(uuid));
+        assertTrue(set.add(uuid));
+        assertFalse(set.add(uuid));
+        assertTrue(set.contains(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()));
+        assertEquals(1, set.size());
+
+        // Nil UUID handled separately from empty slots
+        assertFalse(set.contains(UUIDUtil.nilUUID()));
+        assertTrue(set.add(0L, 0L));
+        assertTrue(set.contains(UUIDUtil.nilUUID()));
+        assertEquals(2, set.size());
+
+        Set<UUID> seen = new HashSet<>();
+        set.forEach((UUID u) -> seen.add(u));
+        assertEquals(2, seen.size());
+        assertTrue(seen.contains(uuid));
+        assertTrue(seen.contains(UUIDUtil.nilUUID()));
+
+        assertTrue(set.remove(UUIDUtil.nilUUID()));
+        assertFalse(set.remove(UUIDUtil.nilUUID()));
+        assertTrue(set.remove(uuid));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void testRandomOperationsAgainstHashSet() {
+        final Random rnd = new Random(17);
+        // Use time-based UUIDs mostly, plus some with similar bits to force collisions
+        UUID[] pool = Generators.timeBasedGenerator().generate(5000);
+        UUIDHashSet set = new UUIDHashSet(4, 0.6f);
+        Set<UUID> exp = new HashSet<>();
+
+        for (int round = 0; round < 200_000; ++round) {
+            final UUID uuid = pool[rnd.nextInt(pool.length)];
+            switch (rnd.nextInt(3)) {
+            case 0:
+            case 1:
+                assertEquals(exp.add(uuid), set.add(uuid));
+                break;
+            default:
+                assertEquals(exp.remove(uuid), set.remove(uuid));
+            }
+            assertEquals(exp.size(), set.size());
+        }
+        for (UUID uuid : pool) {
+            assertEquals(exp.contains(uuid), set.contains(uuid));
+        }
+        final Set<UUID> actual = new HashSet<>();
+        set.forEach((long msb, long lsb) -> assertTrue(actual.add(new UUID(msb, lsb))));
+        assertEquals(exp, actual);
+
+        set.clear();
+        assertEquals(0, set.size());
+        for (UUID uuid : pool) {
+            assertFalse(set.contains(uuid));
+        }
+    }
+
+    @Test
+    public void testSizing() {
+        UUIDHashSet set = new UUIDHashSet(1000);
+        final int capacity = set.capacity();
+        assertTrue(capacity >= 1000 / UUIDHashBase.DEFAULT_LOAD_FACTOR);
+        for (int i = 1; i <= 1000; ++i) {
+            set.add(0L, i);
+        }
+        assertEquals(capacity, set.capacity());
+        for (int i = 1001; i <= 10000; ++i) {
+            set.add(i, 0L);
+        }
+        assertEquals(10000, set.size());
+        assertTrue(set.capacity() > capacity);
+
+        assertThrows(IllegalArgumentException.class, () -> new UUIDHashSet(10, 1.0f));
+        assertThrows(IllegalArgumentException.class, () -> new UUIDHashSet(-1));
+    }
+
+    @Test
+    public void testHashMixing() {
+        // Sequential timestamps should spread over buckets about evenly
+        final int buckets = 1024;
+        int[] counts = new int[buckets];
+        final long base = 0x0187_5A3B_4000_7000L;
+        for (int i = 0; i < buckets * 16; ++i) {
+            counts[(int) UUIDHashBase.hash(base + ((long) i << 16), 0x8000_0000_0000_0001L) & (buckets - 1)]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 0 && count < 48, "Bucket count "+count);
+        }
+    }
+}
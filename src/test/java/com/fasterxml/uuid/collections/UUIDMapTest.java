@@ -0,0 +1,99 @@
+package com.fasterxml.uuid.collections;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.impl.UUIDUtil;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link UUIDObjectMap} and {@link UUIDLongMap}.
+ *
+ * @since 5.3
+ */
+public class UUIDMapTest
+{
+    @Test
+    public void testObjectMapAgainstHashMap() {
+        final Random rnd = new Random(23);
+        UUID[] pool = Generators.timeBasedEpochGenerator().generate(3000);
+        UUIDObjectMap<String> map = new UUIDObjectMap<>(2);
+        Map<UUID, String> exp = new HashMap<>();
+
+        for (int round = 0; round < 100_000; ++round) {
+            final UUID uuid = (round % 1000 == 0) ? UUIDUtil.nilUUID() : pool[rnd.nextInt(pool.length)];
+            if (rnd.nextInt(3) < 2) {
+                final String value = "v"+round;
+                assertEquals(exp.put(uuid, value), map.put(uuid, value));
+            } else {
+                assertEquals(exp.remove(uuid), map.remove(uuid));
+            }
+            assertEquals(exp.size(), map.size());
+        }
+        for (UUID uuid : pool) {
+            assertEquals(exp.get(uuid), map.get(uuid));
+            assertEquals(exp.containsKey(uuid), map.containsKey(uuid));
+        }
+        assertEquals(exp.get(UUIDUtil.nilUUID()), map.get(0L, 0L));
+
+        final Map<UUID, String> actual = new HashMap<>();
+        map.forEach((k, v) -> assertNull(actual.put(k, v)));
+        assertEquals(exp, actual);
+    }
+
+    @Test
+    public void testObjectMapNullValues() {
+        UUIDObjectMap<Object> map = new UUIDObjectMap<>();
+        map.put(1L, 2L, null);
+        assertTrue(map.containsKey(1L, 2L));
+        assertNull(map.get(1L, 2L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testLongMap() {
+        final Random rnd = new Random(29);
+        UUID[] pool = Generators.randomBasedGenerator(rnd).generate(2000);
+        UUIDLongMap map = new UUIDLongMap(16, 0.5f, -1L);
+        Map<UUID, Long> exp = new HashMap<>();
+
+        assertEquals(-1L, map.get(pool[0]));
+        for (int round = 0; round < 100_000; ++round) {
+            final UUID uuid = pool[rnd.nextInt(pool.length)];
+            switch (rnd.nextInt(4)) {
+            case 0:
+                assertEquals(exp.getOrDefault(uuid, -1L).longValue(), map.put(uuid, round));
+                exp.put(uuid, (long) round);
+                break;
+            case 1:
+                Long old = exp.remove(uuid);
+                assertEquals((old == null) ? -1L : old.longValue(), map.remove(uuid));
+                break;
+            default:
+                long value = exp.getOrDefault(uuid, -1L) + 3;
+                exp.put(uuid, value);
+                assertEquals(value, map.addTo(uuid, 3));
+            }
+            assertEquals(exp.size(), map.size());
+        }
+        for (UUID uuid : pool) {
+            assertEquals(exp.getOrDefault(uuid, -1L).longValue(), map.get(uuid));
+        }
+        final Map<UUID, Long> actual = new HashMap<>();
+        map.forEach((k, v) -> assertNull(actual.put(k, v)));
+        assertEquals(exp, actual);
+
+        // Nil key
+        assertEquals(-1L, map.get(UUIDUtil.nilUUID()));
+        assertEquals(4L, map.addTo(0L, 0L, 5L));
+        assertEquals(4L, map.get(0L, 0L));
+        assertEquals(4L, map.remove(0L, 0L));
+        assertFalse(map.containsKey(UUIDUtil.nilUUID()));
+    }
+}
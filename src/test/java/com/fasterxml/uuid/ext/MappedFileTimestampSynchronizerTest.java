@@ -0,0 +1,123 @@
+package com.fasterxml.uuid.ext;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Random;
+import java.util.UUID;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.UUIDTimer;
+import com.fasterxml.uuid.impl.TimeBasedGenerator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since 5.3
+ */
+public class MappedFileTimestampSynchronizerTest
+{
+    @TempDir
+    File tempDir;
+
+    @Test
+    public void testLeases() throws Exception
+    {
+        final long INTERVAL = 100L;
+        File file = new File(tempDir, "uuid.stamp");
+        MappedFileTimestampSynchronizer sync = new MappedFileTimestampSynchronizer(file, INTERVAL, 3);
+        assertEquals(0L, sync.initialize());
+
+        final long now = 1000000L;
+        // First call has to write synchronously
+        assertEquals(now + INTERVAL, sync.update(now));
+        assertEquals(1L, sync.getBlockingWriteCount());
+        assertEquals(now + 3 * INTERVAL, sync.getPersistedTimestamp());
+
+        // Next ones within lease, and extended in background
+        assertEquals(now + 2 * INTERVAL, sync.update(now + INTERVAL));
+        assertEquals(now + 3 * INTERVAL, sync.update(now + 2 * INTERVAL));
+        _waitForPersisted(sync, now + 5 * INTERVAL);
+        assertEquals(now + 4 * INTERVAL, sync.update(now + 3 * INTERVAL));
+        assertEquals(1L, sync.getBlockingWriteCount());
+        assertEquals(1L, sync.getBackgroundWriteCount());
+
+        // Clock jumping ahead requires blocking
+        assertEquals(now + 11 * INTERVAL, sync.update(now + 10 * INTERVAL));
+        assertEquals(2L, sync.getBlockingWriteCount());
+        sync.deactivate();
+
+        // And persisted value should be found when re-opening
+        sync = new MappedFileTimestampSynchronizer(file, INTERVAL, 3);
+        assertEquals(now + 13 * INTERVAL, sync.initialize());
+        // never going backwards, even if clock does
+        sync.update(now);
+        assertEquals(now + 13 * INTERVAL, sync.getPersistedTimestamp());
+        sync.deactivate();
+    }
+
+    @Test
+    public void testCorruptedSlot() throws Exception
+    {
+        File file = new File(tempDir, "uuid.stamp");
+        MappedFileTimestampSynchronizer sync = new MappedFileTimestampSynchronizer(file, 100L, 2);
+        sync.initialize();
+        sync.update(5000L); // persists 5200 in slot 1
+        sync.update(5200L); // persists 5400 in slot 0
+        sync.deactivate();
+
+        // Corrupt latest slot (first one): should fall back to the other one
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(16 + 8);
+            raf.writeLong(123456789L);
+        }
+        sync = new MappedFileTimestampSynchronizer(file, 100L, 2);
+        assertEquals(5200L, sync.initialize());
+        sync.deactivate();
+
+        // And if file is garbage, no timestamp
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            byte[] junk = new byte[64];
+            new Random(1L).nextBytes(junk);
+            raf.write(junk);
+        }
+        sync = new MappedFileTimestampSynchronizer(file, 100L, 2);
+        assertEquals(0L, sync.initialize());
+        sync.deactivate();
+    }
+
+    @Test
+    public void testWithGenerator() throws Exception
+    {
+        File file = new File(tempDir, "uuid.stamp");
+        MappedFileTimestampSynchronizer sync = new MappedFileTimestampSynchronizer(file, 1L, 2);
+        TimeBasedGenerator gen = Generators.timeBasedGenerator(null, new UUIDTimer(new Random(1L), sync));
+        UUID prev = gen.generate();
+        for (int i = 0; i < 10000; ++i) {
+            UUID uuid = gen.generate();
+            assertTrue(uuid.timestamp() > prev.timestamp());
+            prev = uuid;
+        }
+        sync.deactivate();
+        assertTrue(sync.getPersistedTimestamp() > 0L);
+    }
+
+    @Test
+    public void testInvalidSettings()
+    {
+        File file = new File(tempDir, "uuid.stamp");
+        assertThrows(IllegalArgumentException.class, () -> new MappedFileTimestampSynchronizer(file, 0L, 3));
+        assertThrows(IllegalArgumentException.class, () -> new MappedFileTimestampSynchronizer(file, 100L, 1));
+    }
+
+    private static void _waitForPersisted(MappedFileTimestampSynchronizer sync, long expected)
+        throws InterruptedException
+    {
+        for (int i = 0; i < 500 && sync.getPersistedTimestamp() < expected; ++i) {
+            Thread.sleep(10L);
+        }
+        assertEquals(expected, sync.getPersistedTimestamp());
+    }
+}
@@ -0,0 +1,141 @@
+package com.fasterxml.uuid.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.impl.CachingNameBasedGenerator.EvictionPolicy;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since 5.3
+ */
+public class CachingNameBasedGeneratorTest
+{
+    @Test
+    public void testSameAsUncached()
+    {
+        final NameBasedGenerator std = Generators.nameBasedGenerator(NameBasedGenerator.NAMESPACE_DNS);
+        for (EvictionPolicy policy : EvictionPolicy.values()) {
+            CachingNameBasedGenerator gen = new CachingNameBasedGenerator(
+                    Generators.nameBasedGenerator(NameBasedGenerator.NAMESPACE_DNS), policy, 100);
+            assertEquals(std.getType(), gen.getType());
+            assertEquals(NameBasedGenerator.NAMESPACE_DNS, gen.getNamespace());
+
+            Random r = new Random(1L);
+            for (int i = 0; i < 5000; ++i) {
+                String name = "host-"+r.nextInt(300)+".example.com";
+                assertEquals(std.generate(name), gen.generate(name));
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                assertEquals(std.generate(bytes), gen.generate(bytes));
+                // cached byte[] keys must not be affected by caller modifying array
+                bytes[0] = 'x';
+            }
+            assertTrue(gen.size() <= 100);
+            assertEquals(10000L, gen.getHitCount() + gen.getMissCount());
+            assertTrue(gen.getHitCount() > 0L);
+            assertTrue(gen.getEvictionCount() > 0L);
+        }
+    }
+
+    @Test
+    public void testLRU()
+    {
+        CachingNameBasedGenerator gen = Generators.cachingNameBasedGenerator(null, 64);
+        assertEquals(EvictionPolicy.LRU, gen.getEvictionPolicy());
+        for (int i = 0; i < 64; ++i) {
+            gen.generate("name"+i);
+        }
+        assertEquals(64, gen.size());
+        assertEquals(0L, gen.getEvictionCount());
+        // access first to make it most recently used; then push out one entry
+        gen.generate("name0");
+        gen.generate("other");
+        assertEquals(1L, gen.getEvictionCount());
+        assertEquals(64, gen.size());
+
+        long misses = gen.getMissCount();
+        gen.generate("name0");
+        assertEquals(misses, gen.getMissCount());
+        gen.generate("name1");
+        assertEquals(misses + 1, gen.getMissCount());
+
+        gen.clear();
+        assertEquals(0, gen.size());
+    }
+
+    @Test
+    public void testTinyLFUKeepsHotNames()
+    {
+        CachingNameBasedGenerator lru = new CachingNameBasedGenerator(
+                Generators.nameBasedGenerator(null), EvictionPolicy.LRU, 200);
+        CachingNameBasedGenerator lfu = new CachingNameBasedGenerator(
+                Generators.nameBasedGenerator(null), EvictionPolicy.TINY_LFU, 200);
+        Random r = new Random(2L);
+        int coldIndex = 0;
+        for (CachingNameBasedGenerator gen : new CachingNameBasedGenerator[] { lru, lfu }) {
+            for (int i = 0; i < 50000; ++i) {
+                // hot set of 100 names, interleaved with a scan of one-off names
+                if ((i & 1) == 0) {
+                    gen.generate("hot-"+r.nextInt(100));
+                } else {
+                    gen.generate("cold-"+(coldIndex++));
+                }
+            }
+        }
+        assertTrue(lfu.getHitCount() > lru.getHitCount(),
+                "TinyLFU hits "+lfu.getHitCount()+", LRU hits "+lru.getHitCount());
+        assertTrue(lfu.size() <= 200);
+    }
+
+    @Test
+    public void testConcurrentUse() throws Exception
+    {
+        final NameBasedGenerator std = Generators.nameBasedGenerator(NameBasedGenerator.NAMESPACE_URL);
+        final CachingNameBasedGenerator gen = new CachingNameBasedGenerator(
+                Generators.pooledNameBasedGenerator(NameBasedGenerator.NAMESPACE_URL),
+                EvictionPolicy.TINY_LFU, 500);
+        final AtomicInteger mismatches = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; ++t) {
+            final int seed = t;
+            threads[t] = new Thread(() -> {
+                Random r = new Random(seed);
+                for (int i = 0; i < 20000; ++i) {
+                    String name = "http://example.com/"+r.nextInt(1000);
+                    UUID uuid = gen.generate(name);
+                    if (!std.generate(name).equals(uuid)) {
+                        mismatches.incrementAndGet();
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, mismatches.get());
+        assertEquals(80000L, gen.getHitCount() + gen.getMissCount());
+        assertTrue(gen.size() <= 500);
+    }
+
+    @Test
+    public void testInvalidSettings()
+    {
+        NameBasedGenerator std = Generators.nameBasedGenerator(null);
+        assertThrows(IllegalArgumentException.class, () -> new CachingNameBasedGenerator(std, 0));
+        assertThrows(NullPointerException.class, () -> new CachingNameBasedGenerator(std, null, 10));
+        // tiny caches work too
+        CachingNameBasedGenerator gen = new CachingNameBasedGenerator(std, EvictionPolicy.TINY_LFU, 1);
+        assertEquals(std.generate("a"), gen.generate("a"));
+        assertEquals(std.generate("b"), gen.generate("b"));
+        assertEquals(1, gen.size());
+    }
+}
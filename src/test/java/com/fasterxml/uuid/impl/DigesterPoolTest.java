@@ -0,0 +1,96 @@
+package com.fasterxml.uuid.impl;
+
+import java.security.MessageDigest;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.UUIDType;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since 5.3
+ */
+public class DigesterPoolTest
+{
+    @Test
+    public void testAcquireAndRelease() throws Exception
+    {
+        DigesterPool pool = new DigesterPool(MessageDigest.getInstance("MD5"), 3);
+        assertEquals(4, pool.getMaxSize());
+        assertEquals("MD5", pool.getAlgorithm());
+
+        DigesterPool.Entry e1 = pool.acquire();
+        DigesterPool.Entry e2 = pool.acquire();
+        assertNotSame(e1, e2);
+        assertNotSame(e1.digester, e2.digester);
+        assertTrue(e1.buffer.length >= 16);
+
+        // released entries are reset and reused
+        e1.digester.update(new byte[] { 1, 2, 3 });
+        pool.release(e1);
+        pool.release(e2);
+        DigesterPool.Entry e3 = pool.acquire();
+        assertTrue(e3 == e1 || e3 == e2);
+        assertArrayEquals(MessageDigest.getInstance("MD5").digest(), e3.digester.digest());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new DigesterPool(MessageDigest.getInstance("MD5"), 0));
+    }
+
+    @Test
+    public void testPooledGeneratorSameAsDefault() throws Exception
+    {
+        final UUID ns = NameBasedGenerator.NAMESPACE_URL;
+        NameBasedGenerator std = Generators.nameBasedGenerator(ns);
+        NameBasedGenerator pooled = Generators.pooledNameBasedGenerator(ns);
+        assertEquals(UUIDType.NAME_BASED_SHA1, pooled.getType());
+        assertNotNull(pooled.getDigesterPool());
+        NameBasedGenerator md5 = Generators.pooledNameBasedGenerator(null,
+                DigesterPool.forAlgorithm("MD5"));
+        assertEquals(UUIDType.NAME_BASED_MD5, md5.getType());
+        NameBasedGenerator stdMd5 = Generators.nameBasedGenerator(null, MessageDigest.getInstance("MD5"));
+
+        Random r = new Random(1L);
+        for (int i = 0; i < 1000; ++i) {
+            byte[] name = new byte[r.nextInt(200)];
+            r.nextBytes(name);
+            assertEquals(std.generate(name), pooled.generate(name));
+            assertEquals(stdMd5.generate(name), md5.generate(name));
+        }
+        assertEquals(UUID.nameUUIDFromBytes("abc".getBytes("UTF-8")), md5.generate("abc"));
+    }
+
+    @Test
+    public void testConcurrentUse() throws Exception
+    {
+        final NameBasedGenerator std = Generators.nameBasedGenerator(NameBasedGenerator.NAMESPACE_DNS);
+        final NameBasedGenerator pooled = new NameBasedGenerator(NameBasedGenerator.NAMESPACE_DNS,
+                new DigesterPool(MessageDigest.getInstance("SHA-1"), 2), null);
+        final AtomicInteger mismatches = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; ++t) {
+            final int seed = t;
+            threads[t] = new Thread(() -> {
+                Random r = new Random(seed);
+                for (int i = 0; i < 5000; ++i) {
+                    String name = "host-"+r.nextInt()+".example.com";
+                    if (!std.generate(name).equals(pooled.generate(name))) {
+                        mismatches.incrementAndGet();
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, mismatches.get());
+    }
+}
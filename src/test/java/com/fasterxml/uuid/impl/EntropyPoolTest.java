@@ -0,0 +1,118 @@
+package com.fasterxml.uuid.impl;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.UUIDClock;
+import com.fasterxml.uuid.UUIDType;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since 5.3
+ */
+public class EntropyPoolTest
+{
+    @Test
+    public void testBlocksFromSource() {
+        final int BLOCK_SIZE = 64;
+        EntropyPool pool = new EntropyPool(new Random(123L), BLOCK_SIZE, 1);
+        assertEquals(0L, pool.getBytesFetched());
+
+        // Should get exactly same bytes as source produces, one block at a time
+        Random expRandom = new Random(123L);
+        byte[] block = new byte[BLOCK_SIZE];
+        for (int round = 0; round < 3; ++round) {
+            expRandom.nextBytes(block);
+            for (int i = 0; i < BLOCK_SIZE; i += 8) {
+                assertEquals(UUIDUtil.gatherLong(block, i), pool.nextLong());
+            }
+        }
+        assertEquals(3 * BLOCK_SIZE, pool.getBytesFetched());
+        assertEquals(3 * BLOCK_SIZE, pool.getBytesConsumed());
+
+        long[] longs = new long[3];
+        pool.nextLongs(longs, 1, 2);
+        assertEquals(0L, longs[0]);
+        assertEquals(4 * BLOCK_SIZE, pool.getBytesFetched());
+        assertEquals(3 * BLOCK_SIZE + 16, pool.getBytesConsumed());
+    }
+
+    @Test
+    public void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new EntropyPool(null, 100, 1));
+        assertThrows(IllegalArgumentException.class, () -> new EntropyPool(null, 8, 1));
+        assertThrows(IllegalArgumentException.class, () -> new EntropyPool(null, 4096, 0));
+        assertEquals(4, new EntropyPool(null, 4096, 3).getStripeCount());
+    }
+
+    @Test
+    public void testPooledGenerator() {
+        PooledRandomBasedGenerator gen = Generators.pooledRandomBasedGenerator();
+        assertEquals(UUIDType.RANDOM_BASED, gen.getType());
+        Set<UUID> uuids = new HashSet<>();
+        for (int i = 0; i < 10000; ++i) {
+            UUID uuid = gen.generate();
+            assertEquals(4, uuid.version());
+            assertEquals(2, uuid.variant());
+            assertTrue(uuids.add(uuid));
+        }
+        for (UUID uuid : gen.generate(10000)) {
+            assertEquals(4, uuid.version());
+            assertEquals(2, uuid.variant());
+            assertTrue(uuids.add(uuid));
+        }
+        // 20000 UUIDs, 16 bytes each
+        assertEquals(20000L * 16, gen.getEntropyPool().getBytesConsumed());
+    }
+
+    @Test
+    public void testPooledEpochRandomGenerator() throws Exception {
+        final long now = System.currentTimeMillis();
+        PooledTimeBasedEpochRandomGenerator gen = Generators.pooledTimeBasedEpochRandomGenerator(
+                new EntropyPool(new Random(1L), 4096, 2),
+                new UUIDClock() {
+                    @Override
+                    public long currentTimeMillis() { return now; }
+                });
+        assertEquals(UUIDType.TIME_BASED_EPOCH, gen.getType());
+        final Set<UUID> uuids = new HashSet<>();
+        for (int i = 0; i < 10000; ++i) {
+            UUID uuid = gen.generate();
+            assertEquals(7, uuid.version());
+            assertEquals(2, uuid.variant());
+            assertEquals(now, UUIDUtil.extractTimestamp(uuid));
+            assertTrue(uuids.add(uuid));
+        }
+        for (UUID uuid : gen.generate(10000)) {
+            assertEquals(7, uuid.version());
+            assertEquals(2, uuid.variant());
+            assertEquals(now, UUIDUtil.extractTimestamp(uuid));
+            assertTrue(uuids.add(uuid));
+        }
+        assertEquals(20000L * 16, gen.getEntropyPool().getBytesConsumed());
+
+        // and concurrent use works without locking
+        final PooledTimeBasedEpochRandomGenerator shared = Generators.pooledTimeBasedEpochRandomGenerator();
+        final Set<UUID> concurrent = ConcurrentHashMap.newKeySet();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; ++t) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10000; ++i) {
+                    concurrent.add(shared.generate());
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(40000, concurrent.size());
+    }
+}
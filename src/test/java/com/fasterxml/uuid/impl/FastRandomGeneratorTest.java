@@ -0,0 +1,124 @@
+package com.fasterxml.uuid.impl;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.NoArgGenerator;
+import com.fasterxml.uuid.UUIDClock;
+import com.fasterxml.uuid.UUIDType;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since 5.3
+ */
+public class FastRandomGeneratorTest
+{
+    @Test
+    public void testSources()
+    {
+        boolean jdk17 = true;
+        try {
+            Class.forName("java.util.random.RandomGenerator");
+        } catch (ClassNotFoundException e) {
+            jdk17 = false;
+        }
+        assertEquals(jdk17, FastRandomSources.isAvailable(FastRandomSources.DEFAULT_ALGORITHM));
+        assertFalse(FastRandomSources.isAvailable("NoSuchRandom"));
+        assertThrows(IllegalArgumentException.class,
+                () -> FastRandomSources.randomGenerator("NoSuchRandom"));
+
+        for (LongSupplier source : _sources()) {
+            // every bit should be set roughly half the time
+            final int ROUNDS = 100_000;
+            int[] bitCounts = new int[64];
+            for (int i = 0; i < ROUNDS; ++i) {
+                final long l = source.getAsLong();
+                for (int bit = 0; bit < 64; ++bit) {
+                    bitCounts[bit] += (int) ((l >>> bit) & 1L);
+                }
+            }
+            for (int bit = 0; bit < 64; ++bit) {
+                assertTrue(Math.abs(bitCounts[bit] - ROUNDS / 2) < ROUNDS / 50,
+                        "Bit "+bit+" set "+bitCounts[bit]+" times out of "+ROUNDS);
+            }
+        }
+    }
+
+    @Test
+    public void testGenerators()
+    {
+        for (LongSupplier source : _sources()) {
+            _verify(Generators.fastRandomBasedGenerator(source), UUIDType.RANDOM_BASED);
+            _verify(Generators.fastTimeBasedEpochRandomGenerator(source, UUIDClock.systemTimeClock()),
+                    UUIDType.TIME_BASED_EPOCH);
+        }
+        _verify(Generators.fastRandomBasedGenerator(), UUIDType.RANDOM_BASED);
+
+        FastTimeBasedEpochRandomGenerator gen = Generators.fastTimeBasedEpochRandomGenerator();
+        final long now = System.currentTimeMillis();
+        assertEquals(now, UUIDUtil.extractTimestamp(gen.construct(now)));
+    }
+
+    @Test
+    public void testConcurrentUse() throws Exception
+    {
+        for (LongSupplier source : _sources()) {
+            final NoArgGenerator gen = Generators.fastRandomBasedGenerator(source);
+            final Set<UUID> uuids = ConcurrentHashMap.newKeySet();
+            Thread[] threads = new Thread[4];
+            for (int t = 0; t < threads.length; ++t) {
+                threads[t] = new Thread(() -> {
+                    for (int i = 0; i < 10000; ++i) {
+                        uuids.add(gen.generate());
+                    }
+                });
+                threads[t].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals(40000, uuids.size());
+        }
+    }
+
+    private static LongSupplier[] _sources()
+    {
+        if (FastRandomSources.isAvailable(FastRandomSources.DEFAULT_ALGORITHM)) {
+            return new LongSupplier[] {
+                    FastRandomSources.threadLocalRandom(),
+                    FastRandomSources.splittableRandom(),
+                    FastRandomSources.randomGenerator(FastRandomSources.DEFAULT_ALGORITHM),
+                    FastRandomSources.bestAvailable()
+            };
+        }
+        return new LongSupplier[] {
+                FastRandomSources.threadLocalRandom(),
+                FastRandomSources.splittableRandom(),
+                FastRandomSources.bestAvailable()
+        };
+    }
+
+    private static void _verify(NoArgGenerator gen, UUIDType type)
+    {
+        assertEquals(type, gen.getType());
+        Set<UUID> uuids = new HashSet<>();
+        for (int i = 0; i < 10000; ++i) {
+            UUID uuid = gen.generate();
+            assertEquals(type.raw(), uuid.version());
+            assertEquals(2, uuid.variant());
+            assertTrue(uuids.add(uuid));
+        }
+        for (UUID uuid : gen.generate(1000)) {
+            assertEquals(type.raw(), uuid.version());
+            assertEquals(2, uuid.variant());
+            assertTrue(uuids.add(uuid));
+        }
+    }
+}
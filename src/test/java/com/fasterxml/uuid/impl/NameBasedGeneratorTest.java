@@ -0,0 +1,144 @@
+package com.fasterxml.uuid.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import com.fasterxml.uuid.Generators;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since 5.3
+ */
+public class NameBasedGeneratorTest
+{
+    @Test
+    public void testUTF8EncodingSameAsJDK() throws Exception
+    {
+        MessageDigest md = MessageDigest.getInstance("SHA-1");
+        Random r = new Random(3L);
+        // small buffer to exercise chunk boundaries, too
+        for (int bufLen : new int[] { 4, 5, 7, 256 }) {
+            byte[] buffer = new byte[bufLen];
+            for (int i = 0; i < 2000; ++i) {
+                String str = _randomString(r, r.nextInt(300));
+                md.reset();
+                NameBasedGenerator.updateUTF8(md, str, buffer);
+                byte[] actual = md.digest();
+                byte[] expected = md.digest(str.getBytes(StandardCharsets.UTF_8));
+                assertArrayEquals(expected, actual, "Mismatch for: "+_quote(str));
+            }
+        }
+    }
+
+    @Test
+    public void testStringSameAsBytes() throws Exception
+    {
+        NameBasedGenerator std = Generators.nameBasedGenerator(NameBasedGenerator.NAMESPACE_URL);
+        NameBasedGenerator pooled = Generators.pooledNameBasedGenerator(NameBasedGenerator.NAMESPACE_URL);
+        NameBasedGenerator md5 = Generators.nameBasedGenerator(null, MessageDigest.getInstance("MD5"));
+        Random r = new Random(5L);
+        for (int i = 0; i < 2000; ++i) {
+            String str = _randomString(r, r.nextInt(600));
+            byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+            assertEquals(std.generate(bytes), std.generate(str));
+            assertEquals(std.generate(bytes), pooled.generate(str));
+            assertEquals(md5.generate(bytes), md5.generate(str));
+        }
+        // unpaired surrogates, at start, middle and end
+        for (String str : new String[] { "\uD800", "a\uDC00b", "x\uD83D", "\uDE00😀", "" }) {
+            assertEquals(std.generate(str.getBytes(StandardCharsets.UTF_8)), std.generate(str));
+            assertEquals(std.generate(str.getBytes(StandardCharsets.UTF_8)), pooled.generate(str));
+        }
+    }
+
+    @Test
+    public void testBulkGeneration() throws Exception
+    {
+        final int count = 5000;
+        Random r = new Random(7L);
+        String[] names = new String[count];
+        List<byte[]> nameBytes = new ArrayList<>();
+        for (int i = 0; i < count; ++i) {
+            names[i] = _randomString(r, r.nextInt(40));
+            nameBytes.add(names[i].getBytes(StandardCharsets.UTF_8));
+        }
+        for (NameBasedGenerator gen : new NameBasedGenerator[] {
+                Generators.nameBasedGenerator(NameBasedGenerator.NAMESPACE_OID),
+                Generators.pooledNameBasedGenerator(NameBasedGenerator.NAMESPACE_OID),
+                Generators.nameBasedGenerator(null, MessageDigest.getInstance("MD5"))
+        }) {
+            UUID[] expected = new UUID[count];
+            for (int i = 0; i < count; ++i) {
+                expected[i] = gen.generate(nameBytes.get(i));
+            }
+            assertArrayEquals(expected, gen.generate(names));
+
+            UUID[] uuids = new UUID[count + 3];
+            gen.generate(nameBytes, uuids, 3);
+            assertArrayEquals(expected, Arrays.copyOfRange(uuids, 3, count + 3));
+            Arrays.fill(uuids, null);
+            gen.generate(new LinkedList<>(nameBytes), uuids, 3);
+            assertArrayEquals(expected, Arrays.copyOfRange(uuids, 3, count + 3));
+
+            long[] pairs = new long[2 * count + 1];
+            gen.generate(names, pairs, 1);
+            for (int i = 0; i < count; ++i) {
+                assertEquals(expected[i], new UUID(pairs[1 + 2*i], pairs[2 + 2*i]));
+            }
+            Arrays.fill(pairs, 0L);
+            gen.generate(nameBytes, pairs, 1);
+            for (int i = 0; i < count; ++i) {
+                assertEquals(expected[i], new UUID(pairs[1 + 2*i], pairs[2 + 2*i]));
+            }
+
+            List<UUID> fromStream = gen.generate(Arrays.stream(names).parallel())
+                    .collect(Collectors.toList());
+            assertEquals(Arrays.asList(expected), fromStream);
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> gen.generate(names, new UUID[count], 1));
+            assertThrows(IllegalArgumentException.class,
+                    () -> gen.generate(names, new long[count], 0));
+        }
+    }
+
+    private static String _randomString(Random r, int len)
+    {
+        StringBuilder sb = new StringBuilder(len);
+        for (int i = 0; i < len; ++i) {
+            switch (r.nextInt(6)) {
+            case 0: // 2-byte
+                sb.append((char) (0x80 + r.nextInt(0x800 - 0x80)));
+                break;
+            case 1: // 3-byte, may include unpaired surrogates
+                sb.append((char) (0x800 + r.nextInt(0x10000 - 0x800)));
+                break;
+            case 2: // valid surrogate pair
+                sb.appendCodePoint(0x10000 + r.nextInt(0x100000));
+                break;
+            default: // ASCII
+                sb.append((char) r.nextInt(0x80));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String _quote(String str)
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < str.length(); ++i) {
+            sb.append(String.format("\\u%04X", (int) str.charAt(i)));
+        }
+        return sb.toString();
+    }
+}
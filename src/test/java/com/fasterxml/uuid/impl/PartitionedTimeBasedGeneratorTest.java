@@ -0,0 +1,117 @@
+package com.fasterxml.uuid.impl;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.uuid.EthernetAddress;
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.ManualClock;
+import com.fasterxml.uuid.UUIDClock;
+import com.fasterxml.uuid.UUIDTimer;
+import com.fasterxml.uuid.UUIDType;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since 5.3
+ */
+public class PartitionedTimeBasedGeneratorTest
+{
+    @Test
+    public void testExplicitClockSequence() throws Exception
+    {
+        final EthernetAddress addr = EthernetAddress.constructMulticastAddress();
+        UUIDTimer timer = new UUIDTimer(new Random(1L), null);
+        TimeBasedGenerator v1 = new TimeBasedGenerator(addr, timer, 0x1234);
+        assertEquals(0x1234, v1.getClockSequence());
+        assertEquals(0x1234, v1.generate().clockSequence());
+        // only 14 bits used
+        assertEquals(0x3FFF, new TimeBasedGenerator(addr, timer, -1).generate().clockSequence());
+
+        TimeBasedReorderedGenerator v6 = new TimeBasedReorderedGenerator(addr, timer, 0x0ABC);
+        assertEquals(0x0ABC, v6.getClockSequence());
+        UUID uuid = v6.generate();
+        assertEquals(6, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(0x0ABC, (int) (uuid.getLeastSignificantBits() >>> 48) & 0x3FFF);
+
+        // default is still timer's clock sequence
+        assertEquals(timer.getClockSequence() & 0x3FFF,
+                new TimeBasedGenerator(addr, timer).getClockSequence());
+    }
+
+    @Test
+    public void testPartitionsUseDistinctClockSequences()
+    {
+        for (UUIDType type : new UUIDType[] { UUIDType.TIME_BASED, UUIDType.TIME_BASED_REORDERED }) {
+            PartitionedTimeBasedGenerator gen = new PartitionedTimeBasedGenerator(null, type, 5,
+                    ManualClock.stopped(), 0x3FFE);
+            assertEquals(type, gen.getType());
+            assertEquals(8, gen.getPartitionCount());
+            Set<UUID> uuids = new HashSet<>();
+            Set<Long> timestamps = new HashSet<>();
+            for (int p = 0; p < gen.getPartitionCount(); ++p) {
+                for (int i = 0; i < 1000; ++i) {
+                    UUID uuid = gen.getPartition(p).generate();
+                    assertEquals(type.raw(), uuid.version());
+                    assertEquals((0x3FFE + p) & 0x3FFF,
+                            (int) (uuid.getLeastSignificantBits() >>> 48) & 0x3FFF);
+                    assertTrue(uuids.add(uuid));
+                    if (p == 0) {
+                        timestamps.add(UUIDUtil.extractTimestamp(uuid));
+                    } else {
+                        // same timestamps in all partitions, so uniqueness must
+                        // come from clock sequence
+                        assertTrue(timestamps.contains(UUIDUtil.extractTimestamp(uuid)));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentGeneration() throws Exception
+    {
+        final PartitionedTimeBasedGenerator gen = Generators.partitionedTimeBasedReorderedGenerator(null, 4);
+        assertEquals(UUIDType.TIME_BASED_REORDERED, gen.getType());
+        final Set<UUID> uuids = ConcurrentHashMap.newKeySet();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; ++t) {
+            threads[t] = new Thread(() -> {
+                UUID[] buffer = new UUID[100];
+                for (int i = 0; i < 100; ++i) {
+                    uuids.add(gen.generate());
+                    gen.generate(buffer, 0, buffer.length);
+                    for (UUID uuid : buffer) {
+                        uuids.add(uuid);
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(threads.length * 100 * 101, uuids.size());
+    }
+
+    @Test
+    public void testInvalidSettings()
+    {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PartitionedTimeBasedGenerator(null, UUIDType.RANDOM_BASED, 2,
+                        UUIDClock.systemTimeClock()));
+        assertThrows(IllegalArgumentException.class,
+                () -> Generators.partitionedTimeBasedGenerator(null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> Generators.partitionedTimeBasedGenerator(null,
+                        PartitionedTimeBasedGenerator.MAX_PARTITIONS + 1));
+    }
+}
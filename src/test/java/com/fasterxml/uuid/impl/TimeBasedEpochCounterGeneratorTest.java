@@ -0,0 +1,185 @@
+package com.fasterxml.uuid.impl;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.ManualClock;
+import com.fasterxml.uuid.UUIDClock;
+import com.fasterxml.uuid.UUIDComparator;
+import com.fasterxml.uuid.UUIDType;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since 5.3
+ */
+public class TimeBasedEpochCounterGeneratorTest
+{
+    private final static long MILLIS = 1_700_000_000_123L;
+
+    @Test
+    public void testInvalidConfig()
+    {
+        final UUIDClock clock = UUIDClock.systemTimeClock();
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeBasedEpochCounterGenerator(11, 1L, new Random()::nextLong, clock));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeBasedEpochCounterGenerator(43, 1L, new Random()::nextLong, clock));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeBasedEpochCounterGenerator(12, 0L, new Random()::nextLong, clock));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeBasedEpochCounterGenerator(12, 2049L, new Random()::nextLong, clock));
+        // but limits themselves are fine
+        new TimeBasedEpochCounterGenerator(12, 2048L, new Random()::nextLong, clock);
+        new TimeBasedEpochCounterGenerator(42, 1L, new Random()::nextLong, clock);
+    }
+
+    @Test
+    public void testCounterLayout()
+    {
+        for (int bits = TimeBasedEpochCounterGenerator.MIN_COUNTER_BITS;
+                bits <= TimeBasedEpochCounterGenerator.MAX_COUNTER_BITS; ++bits) {
+            ManualClock clock = ManualClock.ofMillis(MILLIS);
+            TimeBasedEpochCounterGenerator gen = new TimeBasedEpochCounterGenerator(bits, 1L,
+                    new Random(bits)::nextLong, clock);
+            assertEquals(UUIDType.TIME_BASED_EPOCH, gen.getType());
+            assertEquals(bits, gen.getCounterBits());
+            assertEquals(1L, gen.getMaxIncrement());
+
+            UUID uuid = gen.generate();
+            assertEquals(7, uuid.version());
+            assertEquals(2, uuid.variant());
+            assertEquals(MILLIS, UUIDUtil.extractTimestamp(uuid));
+            long counter = _counter(uuid, bits);
+            // seeded with highest bit clear
+            assertEquals(0L, counter >>> (bits - 1));
+            for (int i = 0; i < 100; ++i) {
+                uuid = gen.generate();
+                assertEquals(MILLIS, UUIDUtil.extractTimestamp(uuid));
+                assertEquals(++counter, _counter(uuid, bits));
+            }
+            // new millisecond, new seed
+            clock.advanceMillis(1);
+            uuid = gen.generate();
+            assertEquals(MILLIS + 1, UUIDUtil.extractTimestamp(uuid));
+            assertEquals(0L, _counter(uuid, bits) >>> (bits - 1));
+        }
+    }
+
+    @Test
+    public void testRollover()
+    {
+        final int bits = 12;
+        ManualClock clock = ManualClock.ofMillis(MILLIS);
+        TimeBasedEpochCounterGenerator gen = new TimeBasedEpochCounterGenerator(bits, 1L,
+                new Random(3L)::nextLong, clock);
+        UUID prev = gen.generate();
+        int perMilli = 1;
+        long millis = MILLIS;
+        // Clock stopped: once counter is exhausted, moves on to next millisecond
+        for (int i = 0; i < 20_000; ++i) {
+            UUID uuid = gen.generate();
+            assertTrue(UUIDComparator.staticCompare(prev, uuid) < 0);
+            final long ts = UUIDUtil.extractTimestamp(uuid);
+            if (ts == millis) {
+                ++perMilli;
+            } else {
+                assertEquals(millis + 1, ts);
+                assertEquals((1 << bits) - 1, _counter(prev, bits));
+                // at least half of counter range available per millisecond
+                assertTrue(perMilli >= (1 << (bits - 1)), "Only "+perMilli+" UUIDs for "+millis);
+                millis = ts;
+                perMilli = 1;
+            }
+            prev = uuid;
+        }
+        assertTrue(millis > MILLIS + 4);
+
+        // Clock going backwards does not matter either
+        clock.advanceMillis(-10);
+        UUID uuid = gen.generate();
+        assertTrue(UUIDComparator.staticCompare(prev, uuid) < 0);
+        prev = uuid;
+
+        // nor does bulk generation
+        for (UUID u : gen.generate(10_000)) {
+            assertTrue(UUIDComparator.staticCompare(prev, u) < 0);
+            prev = u;
+        }
+
+        // but once clock gets ahead, its time is used again
+        clock.setMillis(UUIDUtil.extractTimestamp(prev) + 10);
+        assertEquals(clock.currentTimeMillis(), UUIDUtil.extractTimestamp(gen.generate()));
+    }
+
+    @Test
+    public void testRandomIncrement()
+    {
+        final int bits = 20;
+        final long maxIncrement = 100L;
+        ManualClock clock = ManualClock.ofMillis(MILLIS);
+        TimeBasedEpochCounterGenerator gen = Generators.timeBasedEpochCounterGenerator(bits,
+                maxIncrement, new Random(4L)::nextLong, clock);
+        assertEquals(maxIncrement, gen.getMaxIncrement());
+        UUID prev = gen.generate();
+        boolean variedSteps = false;
+        long lastStep = 0L;
+        for (int i = 0; i < 50_000; ++i) {
+            UUID uuid = gen.generate();
+            assertTrue(UUIDComparator.staticCompare(prev, uuid) < 0);
+            if (UUIDUtil.extractTimestamp(uuid) == UUIDUtil.extractTimestamp(prev)) {
+                final long step = _counter(uuid, bits) - _counter(prev, bits);
+                assertTrue(step >= 1L && step <= maxIncrement, "Invalid step: "+step);
+                variedSteps |= (lastStep != 0L) && (step != lastStep);
+                lastStep = step;
+            }
+            prev = uuid;
+        }
+        assertTrue(variedSteps);
+        // 2^19 / 50.5 is about 10k per millisecond, so must have rolled over a few times
+        assertTrue(UUIDUtil.extractTimestamp(prev) > MILLIS + 1);
+    }
+
+    @Test
+    public void testConcurrentUse() throws Exception
+    {
+        final TimeBasedEpochCounterGenerator gen = Generators.timeBasedEpochCounterGenerator(18);
+        final Set<UUID> uuids = ConcurrentHashMap.newKeySet();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; ++t) {
+            threads[t] = new Thread(() -> {
+                UUID prev = null;
+                for (int i = 0; i < 20000; ++i) {
+                    UUID uuid = gen.generate();
+                    if (prev != null) {
+                        assertTrue(UUIDComparator.staticCompare(prev, uuid) < 0);
+                    }
+                    uuids.add(uuid);
+                    prev = uuid;
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(80000, uuids.size());
+        assertTrue(Math.abs(UUIDUtil.extractTimestamp(gen.generate()) - System.currentTimeMillis()) < 1000L);
+    }
+
+    private static long _counter(UUID uuid, int bits)
+    {
+        final int bitsInRandB = bits - 12;
+        final long high = uuid.getMostSignificantBits() & 0xFFFL;
+        if (bitsInRandB == 0) {
+            return high;
+        }
+        final long low = (uuid.getLeastSignificantBits() << 2) >>> (64 - bitsInRandB);
+        return (high << bitsInRandB) | low;
+    }
+}
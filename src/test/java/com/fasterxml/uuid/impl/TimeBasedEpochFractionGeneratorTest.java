@@ -0,0 +1,119 @@
+package com.fasterxml.uuid.impl;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.ManualClock;
+import com.fasterxml.uuid.UUIDComparator;
+import com.fasterxml.uuid.UUIDType;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since 5.3
+ */
+public class TimeBasedEpochFractionGeneratorTest
+{
+    private final static long MILLIS = 1_700_000_000_123L;
+
+    @Test
+    public void testFraction()
+    {
+        ManualClock clock = ManualClock.ofNanos(MILLIS * 1_000_000L + 500_000L);
+        TimeBasedEpochFractionGenerator gen = new TimeBasedEpochFractionGenerator(
+                new Random(1L)::nextLong, clock);
+        assertEquals(UUIDType.TIME_BASED_EPOCH, gen.getType());
+        UUID uuid = gen.generate();
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(MILLIS, UUIDUtil.extractTimestamp(uuid));
+        // half a millisecond
+        assertEquals(2048, _fraction(uuid));
+
+        clock.setNanos(MILLIS * 1_000_000L + 999_999L);
+        assertEquals(4095, _fraction(gen.generate()));
+        clock.setNanos((MILLIS + 1) * 1_000_000L + 244L); // just below 1/4096 ms
+        uuid = gen.generate();
+        assertEquals(MILLIS + 1, UUIDUtil.extractTimestamp(uuid));
+        assertEquals(0, _fraction(uuid));
+        clock.advanceNanos(1L);
+        assertEquals(1, _fraction(gen.generate()));
+    }
+
+    @Test
+    public void testMonotonicAndBorrowing()
+    {
+        ManualClock clock = ManualClock.ofNanos(MILLIS * 1_000_000L);
+        TimeBasedEpochFractionGenerator gen = new TimeBasedEpochFractionGenerator(
+                new Random(2L)::nextLong, clock);
+        UUID prev = gen.generate();
+        assertEquals(0, _fraction(prev));
+        // Clock stopped: each call uses next fraction, moving on to next millisecond
+        for (int i = 1; i < 5000; ++i) {
+            UUID uuid = gen.generate();
+            assertTrue(UUIDComparator.staticCompare(prev, uuid) < 0);
+            assertEquals(MILLIS + (i >> 12), UUIDUtil.extractTimestamp(uuid));
+            assertEquals(i & 0xFFF, _fraction(uuid));
+            prev = uuid;
+        }
+        // Clock going backwards does not matter either
+        clock.advanceNanos(-10_000_000L);
+        UUID uuid = gen.generate();
+        assertTrue(UUIDComparator.staticCompare(prev, uuid) < 0);
+        prev = uuid;
+
+        // and bulk methods reserve consecutive values
+        UUID[] uuids = gen.generate(100);
+        for (UUID u : uuids) {
+            assertTrue(UUIDComparator.staticCompare(prev, u) < 0);
+            prev = u;
+        }
+        assertEquals(5100 & 0xFFF, _fraction(prev));
+
+        // but once clock gets ahead, its time is used again
+        clock.setNanos((MILLIS + 10) * 1_000_000L + 750_000L);
+        uuid = gen.generate();
+        assertEquals(MILLIS + 10, UUIDUtil.extractTimestamp(uuid));
+        assertEquals(3072, _fraction(uuid));
+    }
+
+    @Test
+    public void testConcurrentUse() throws Exception
+    {
+        final TimeBasedEpochFractionGenerator gen = Generators.timeBasedEpochFractionGenerator();
+        final Set<UUID> uuids = ConcurrentHashMap.newKeySet();
+        final Set<Long> prefixes = ConcurrentHashMap.newKeySet();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; ++t) {
+            threads[t] = new Thread(() -> {
+                UUID prev = null;
+                for (int i = 0; i < 20000; ++i) {
+                    UUID uuid = gen.generate();
+                    if (prev != null) {
+                        assertTrue(UUIDComparator.staticCompare(prev, uuid) < 0);
+                    }
+                    uuids.add(uuid);
+                    prefixes.add(uuid.getMostSignificantBits());
+                    prev = uuid;
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(80000, uuids.size());
+        // all timestamps (including fraction) unique, too
+        assertEquals(80000, prefixes.size());
+        assertTrue(Math.abs(UUIDUtil.extractTimestamp(gen.generate()) - System.currentTimeMillis()) < 1000L);
+    }
+
+    private static int _fraction(UUID uuid) {
+        return (int) uuid.getMostSignificantBits() & 0xFFF;
+    }
+}
@@ -0,0 +1,100 @@
+package com.fasterxml.uuid.impl;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.ManualClock;
+import com.fasterxml.uuid.UUIDComparator;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since 5.3
+ */
+public class TimeBasedEpochStripedGeneratorTest
+{
+    @Test
+    public void testStripeCount() {
+        assertEquals(1, Generators.timeBasedEpochStripedGenerator(1).getStripeCount());
+        assertEquals(4, Generators.timeBasedEpochStripedGenerator(3).getStripeCount());
+        assertEquals(8, Generators.timeBasedEpochStripedGenerator(8).getStripeCount());
+        assertThrows(IllegalArgumentException.class,
+                () -> Generators.timeBasedEpochStripedGenerator(0));
+    }
+
+    @Test
+    public void testFormat() {
+        TimeBasedEpochStripedGenerator gen = Generators.timeBasedEpochStripedGenerator(4);
+        long start = System.currentTimeMillis();
+        UUID uuid = gen.generate();
+        assertEquals(0x07, uuid.version());
+        assertEquals(0x02, uuid.variant());
+        assertTrue(UUIDUtil.extractTimestamp(uuid) >= start);
+    }
+
+    @Test
+    public void testIncrementWithinMillisecond() {
+        // All ones: first increment needs to carry from "rand_b" over to "rand_a"
+        Consumer<byte[]> entropyFull = bytes -> Arrays.fill(bytes, (byte) 0xFF);
+        TimeBasedEpochStripedGenerator gen = new TimeBasedEpochStripedGenerator(1, entropyFull,
+                ManualClock.ofMillis(1000L));
+        UUID first = gen.generate();
+        UUID second = gen.generate();
+        assertEquals(1000L, UUIDUtil.extractTimestamp(first));
+        assertEquals(1000L, UUIDUtil.extractTimestamp(second));
+        // guard bit cleared, so "rand_a" starts at 0x7FF
+        assertEquals(0x7FFL, first.getMostSignificantBits() & 0xFFFL);
+        assertEquals(0x800L, second.getMostSignificantBits() & 0xFFFL);
+        assertEquals(0L, second.getLeastSignificantBits() & ((1L << 62) - 1));
+        assertTrue(UUIDComparator.staticCompare(first, second) < 0);
+    }
+
+    @Test
+    public void testClockGoingBackwards() {
+        final ManualClock clock = ManualClock.ofMillis(5000L);
+        TimeBasedEpochStripedGenerator gen = new TimeBasedEpochStripedGenerator(2, (byte[] b) -> { },
+                clock);
+        UUID first = gen.generate();
+        clock.setMillis(4000L);
+        UUID second = gen.generate();
+        assertEquals(5000L, UUIDUtil.extractTimestamp(second));
+        assertTrue(UUIDComparator.staticCompare(first, second) < 0);
+    }
+
+    @Test
+    public void testConcurrentMonotonicAndUnique() throws Exception {
+        final int THREADS = 8;
+        final int PER_THREAD = 20000;
+        final TimeBasedEpochStripedGenerator gen = Generators.timeBasedEpochStripedGenerator(4);
+        final UUID[][] results = new UUID[THREADS][PER_THREAD];
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; ++t) {
+            final UUID[] result = results[t];
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < PER_THREAD; ++i) {
+                    result[i] = gen.generate();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Set<UUID> all = new HashSet<>();
+        for (UUID[] result : results) {
+            for (int i = 0; i < PER_THREAD; ++i) {
+                if (i > 0) {
+                    assertTrue(UUIDComparator.staticCompare(result[i-1], result[i]) < 0,
+                            "Not monotonic at #"+i);
+                }
+                assertTrue(all.add(result[i]), "Duplicate UUID at #"+i);
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.fasterxml.uuid.impl;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Random;
+import java.util.UUID;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.UUIDComparator;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @since 5.3
+ */
+public class UUIDCodecTest
+{
+    private final static UUIDCodec[] CODECS = new UUIDCodec[] {
+            UUIDCodec.base32Crockford(), UUIDCodec.base62(), UUIDCodec.base64Url()
+    };
+
+    @Test
+    public void testKnownValues() {
+        assertEquals("00000000000000000000000000", UUIDCodec.base32Crockford().encode(UUIDUtil.nilUUID()));
+        assertEquals("7ZZZZZZZZZZZZZZZZZZZZZZZZZ", UUIDCodec.base32Crockford().encode(UUIDUtil.maxUUID()));
+        assertEquals("0000000000000000000000", UUIDCodec.base62().encode(UUIDUtil.nilUUID()));
+        assertEquals("7n42DGM5Tflk9n8mt7Fhc7", UUIDCodec.base62().encode(UUIDUtil.maxUUID()));
+        assertEquals("AAAAAAAAAAAAAAAAAAAAAA", UUIDCodec.base64Url().encode(UUIDUtil.nilUUID()));
+        assertEquals("_____________________w", UUIDCodec.base64Url().encode(UUIDUtil.maxUUID()));
+
+        for (UUIDCodec codec : CODECS) {
+            assertEquals(UUIDUtil.nilUUID(), codec.decode(codec.encode(UUIDUtil.nilUUID())));
+            assertEquals(UUIDUtil.maxUUID(), codec.decode(codec.encode(UUIDUtil.maxUUID())));
+        }
+    }
+
+    @Test
+    public void testRoundTrip() {
+        final Random rnd = new Random(5);
+        final char[] chars = new char[30];
+        final byte[] bytes = new byte[30];
+        final long[] longs = new long[2];
+        final BigInteger base62 = BigInteger.valueOf(62);
+        for (int i = 0; i < 10000; ++i) {
+            UUID uuid = new UUID(rnd.nextLong(), rnd.nextLong());
+            byte[] raw = UUIDUtil.asByteArray(uuid);
+            assertEquals(Base64.getUrlEncoder().withoutPadding().encodeToString(raw),
+                    UUIDCodec.base64Url().encode(uuid));
+            assertEquals(_toBase62(new BigInteger(1, raw), base62), UUIDCodec.base62().encode(uuid));
+
+            for (UUIDCodec codec : CODECS) {
+                final int len = codec.encodedLength();
+                final String str = codec.encode(uuid);
+                assertEquals(len, str.length());
+                assertEquals(uuid, codec.decode(str));
+
+                assertEquals(3 + len, codec.encode(uuid, chars, 3));
+                assertEquals(str, new String(chars, 3, len));
+                assertEquals(1 + len, codec.encode(uuid, bytes, 1));
+                assertEquals(str, new String(bytes, 1, len, StandardCharsets.US_ASCII));
+                codec.decode(new StringBuilder(str), longs, 0);
+                assertEquals(uuid, new UUID(longs[0], longs[1]));
+            }
+        }
+    }
+
+    @Test
+    public void testOrderPreserving() {
+        UUID[] uuids = Generators.timeBasedEpochGenerator().generate(500);
+        UUID[] random = Generators.randomBasedGenerator().generate(500);
+        UUID[] all = Arrays.copyOf(uuids, 1000);
+        System.arraycopy(random, 0, all, 500, 500);
+        // unsigned 128-bit ordering
+        Arrays.sort(all, (u1, u2) -> {
+            int diff = Long.compareUnsigned(u1.getMostSignificantBits(), u2.getMostSignificantBits());
+            return (diff != 0) ? diff
+                    : Long.compareUnsigned(u1.getLeastSignificantBits(), u2.getLeastSignificantBits());
+        });
+
+        // which for version 7 is same as with UUIDComparator
+        UUID[] sortedV7 = uuids.clone();
+        Collections.shuffle(Arrays.asList(sortedV7), new Random(3));
+        Arrays.sort(sortedV7, new UUIDComparator());
+        assertArrayEquals(uuids, sortedV7);
+
+        for (UUIDCodec codec : CODECS) {
+            if (!codec.isOrderPreserving()) {
+                continue;
+            }
+            String[] encoded = new String[all.length];
+            for (int i = 0; i < all.length; ++i) {
+                encoded[i] = codec.encode(all[i]);
+            }
+            String[] sorted = encoded.clone();
+            Arrays.sort(sorted);
+            assertArrayEquals(sorted, encoded, codec.getName());
+        }
+        assertFalse(UUIDCodec.base64Url().isOrderPreserving());
+    }
+
+    @Test
+    public void testCrockfordAliases() {
+        UUIDCodec codec = UUIDCodec.base32Crockford();
+        UUID uuid = codec.decode("01ARZ3NDEKTSV4RRFFQ69G5FAV");
+        assertEquals(uuid, codec.decode("01arz3ndektsv4rrffq69g5fav"));
+        assertEquals(codec.decode("0100000000000000000000000"+"1"),
+                codec.decode("oI00000000000000000000000"+"l"));
+    }
+
+    @Test
+    public void testInvalid() {
+        for (UUIDCodec codec : CODECS) {
+            final String valid = codec.encode(UUIDUtil.maxUUID());
+            assertThrows(NumberFormatException.class, () -> codec.decode(valid.substring(1)));
+            assertThrows(NumberFormatException.class, () -> codec.decode(valid + "0"));
+            NumberFormatException e = assertThrows(NumberFormatException.class,
+                    () -> codec.decode(valid.substring(0, 5) + "!" + valid.substring(6)));
+            assertTrue(e.getMessage().contains("character at #5"), e.getMessage());
+            assertThrows(IllegalArgumentException.class,
+                    () -> codec.encode(UUIDUtil.maxUUID(), new byte[codec.encodedLength()], 1));
+        }
+        // values beyond 128 bits
+        assertThrows(NumberFormatException.class,
+                () -> UUIDCodec.base32Crockford().decode("80000000000000000000000000"));
+        assertThrows(NumberFormatException.class,
+                () -> UUIDCodec.base62().decode("7n42DGM5Tflk9n8mt7Fhc8"));
+        assertThrows(NumberFormatException.class,
+                () -> UUIDCodec.base62().decode("zzzzzzzzzzzzzzzzzzzzzz"));
+        // non-zero padding bits
+        assertThrows(NumberFormatException.class,
+                () -> UUIDCodec.base64Url().decode("______________________"));
+    }
+
+    private static String _toBase62(BigInteger value, BigInteger base) {
+        final String alphabet = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+        char[] result = new char[22];
+        for (int i = 21; i >= 0; --i) {
+            BigInteger[] qr = value.divideAndRemainder(base);
+            result[i] = alphabet.charAt(qr[1].intValue());
+            value = qr[0];
+        }
+        return new String(result);
+    }
+}
@@ -1,5 +1,7 @@
 package com.fasterxml.uuid.impl;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Random;
 import java.util.UUID;
 
@@ -113,4 +115,115 @@ public class UUIDUtilTest
         assertEquals(0L, UUIDUtil.extractTimestamp(UUIDUtil.nilUUID()));
         assertEquals(0L, UUIDUtil.extractTimestamp(UUIDUtil.maxUUID()));
     }
+
+    @Test
+    public void testParseFromAllSources() {
+        final Random rnd = new Random(7);
+        final long[] longs = new long[3];
+        for (int i = 0; i < 1000; i++) {
+            UUID uuid = new UUID(rnd.nextLong(), rnd.nextLong());
+            String str = (i & 1) == 0 ? uuid.toString() : uuid.toString().toUpperCase();
+            final String padded = "xx"+str+"yy";
+
+            assertEquals(uuid, UUIDUtil.uuid(str));
+            assertEquals(uuid, UUIDUtil.uuid(new StringBuilder(str)));
+            assertEquals(uuid, UUIDUtil.uuid(padded.toCharArray(), 2));
+            byte[] ascii = padded.getBytes(StandardCharsets.US_ASCII);
+            assertEquals(uuid, UUIDUtil.uuidFromAscii(ascii, 2));
+            ByteBuffer bb = ByteBuffer.allocateDirect(ascii.length);
+            bb.put(ascii).flip();
+            assertEquals(uuid, UUIDUtil.uuidFromAscii(bb, 2));
+            assertEquals(0, bb.position());
+
+            UUIDUtil.parseUUID(str, longs, 1);
+            assertEquals(uuid.getMostSignificantBits(), longs[1]);
+            assertEquals(uuid.getLeastSignificantBits(), longs[2]);
+            UUIDUtil.parseUUID(padded.toCharArray(), 2, longs, 0);
+            assertEquals(uuid, new UUID(longs[0], longs[1]));
+            UUIDUtil.parseAsciiUUID(ascii, 2, longs, 1);
+            assertEquals(uuid, new UUID(longs[1], longs[2]));
+            UUIDUtil.parseAsciiUUID(bb, 2, longs, 0);
+            assertEquals(uuid, new UUID(longs[0], longs[1]));
+        }
+    }
+
+    @Test
+    public void testParseInvalid() {
+        final String valid = "ebb8e8fe-b1b1-11d7-8adb-00b0d078fa18";
+        NumberFormatException e = assertThrows(NumberFormatException.class,
+                () -> UUIDUtil.uuid(valid.replace('8', 'g')));
+        assertEquals("Non-hex character at #3: 'g' (value 0x67)", e.getMessage());
+        // non-ASCII characters must not alias to valid hex digits
+        e = assertThrows(NumberFormatException.class,
+                () -> UUIDUtil.uuid(valid.substring(0, 35) + (char) ('a' + 0x80)));
+        assertTrue(e.getMessage().startsWith("Non-hex character at #35"), e.getMessage());
+        e = assertThrows(NumberFormatException.class,
+                () -> UUIDUtil.uuidFromAscii(valid.replace("-11d7", "_11d7").getBytes(StandardCharsets.US_ASCII), 0));
+        assertEquals("UUID has to be represented by the standard 36-char representation", e.getMessage());
+        byte[] bytes = valid.getBytes(StandardCharsets.US_ASCII);
+        bytes[30] = (byte) ('0' | 0x80);
+        e = assertThrows(NumberFormatException.class, () -> UUIDUtil.uuidFromAscii(bytes, 0));
+        assertTrue(e.getMessage().startsWith("Non-hex character at #30"), e.getMessage());
+
+        // too short, or not enough content after offset
+        assertThrows(NumberFormatException.class, () -> UUIDUtil.uuid(valid.substring(1)));
+        assertThrows(NumberFormatException.class, () -> UUIDUtil.uuid(valid.toCharArray(), 1));
+        assertThrows(IllegalArgumentException.class, () -> UUIDUtil.uuid(valid.toCharArray(), -1));
+        assertThrows(NumberFormatException.class,
+                () -> UUIDUtil.uuidFromAscii(ByteBuffer.wrap(bytes, 0, 35), 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> UUIDUtil.parseUUID(valid, new long[2], 1));
+    }
+
+    @Test
+    public void testEncodeToAllTargets() {
+        final Random rnd = new Random(11);
+        final char[] chars = new char[40];
+        final byte[] bytes = new byte[40];
+        final ByteBuffer bb = ByteBuffer.allocate(40);
+        for (int i = 0; i < 1000; i++) {
+            UUID uuid = new UUID(rnd.nextLong(), rnd.nextLong());
+            final String exp = uuid.toString();
+
+            assertEquals(38, UUIDUtil.toChars(uuid, chars, 2));
+            assertEquals(exp, new String(chars, 2, 36));
+            assertEquals(37, UUIDUtil.toAscii(uuid, bytes, 1));
+            assertEquals(exp, new String(bytes, 1, 36, StandardCharsets.US_ASCII));
+            assertEquals(40, UUIDUtil.toAscii(uuid, UUIDUtil.TextFormat.UPPER_CASE, bb, 4));
+            assertEquals(0, bb.position());
+            assertEquals(exp.toUpperCase(), new String(bb.array(), 4, 36, StandardCharsets.US_ASCII));
+
+            for (UUIDUtil.TextFormat format : UUIDUtil.TextFormat.values()) {
+                String str = UUIDUtil.toString(uuid, format);
+                assertEquals(format.length(), str.length());
+                assertEquals(uuid, UUIDUtil.uuid(_withHyphens(str)));
+                if (format.length() == 32) {
+                    assertEquals(exp.replace("-", ""), str.toLowerCase());
+                }
+                assertEquals(format.length(), UUIDUtil.toChars(uuid, format, chars, 0));
+                assertEquals(str, new String(chars, 0, format.length()));
+            }
+        }
+    }
+
+    @Test
+    public void testEncodeInvalidOffsets() {
+        final UUID uuid = UUIDUtil.maxUUID();
+        assertThrows(IllegalArgumentException.class, () -> UUIDUtil.toChars(uuid, new char[36], 1));
+        assertThrows(IllegalArgumentException.class, () -> UUIDUtil.toAscii(uuid, new byte[36], -1));
+        assertEquals(32, UUIDUtil.toAscii(uuid, UUIDUtil.TextFormat.LOWER_CASE_NO_HYPHENS,
+                ByteBuffer.allocate(32), 0));
+        final ByteBuffer tooShort = ByteBuffer.allocate(40);
+        tooShort.limit(35);
+        assertThrows(IllegalArgumentException.class, () -> UUIDUtil.toAscii(uuid,
+                UUIDUtil.TextFormat.LOWER_CASE, tooShort, 0));
+    }
+
+    private static String _withHyphens(String str) {
+        if (str.length() == 36) {
+            return str;
+        }
+        return str.substring(0, 8)+"-"+str.substring(8, 12)+"-"+str.substring(12, 16)
+            +"-"+str.substring(16, 20)+"-"+str.substring(20);
+    }
 }